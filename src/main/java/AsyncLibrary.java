@@ -0,0 +1,305 @@
+import Utilities.Code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous front end for a {@link Library}.
+ * Callers from any thread queue requests and get a {@code CompletableFuture<Code>} back right away,
+ * so they can send many requests without waiting for each answer. A single writer thread drains the
+ * queue in batches and runs each batch under one library lock. The queue is bounded, so callers
+ * block when the writer falls behind instead of piling up unbounded work.
+ * <p>
+ * Futures are completed on completer threads, never on the writer or while the library is locked, so a
+ * callback chained on a future may send more requests and wait for them.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class AsyncLibrary implements AutoCloseable {
+    /**
+     * Number of requests that can wait in the queue when no capacity is given.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Largest number of requests run under one library lock.
+     */
+    private static final int MAX_BATCH = 256;
+
+    /**
+     * A queued request, the future its result is delivered to, and the outcome held until the library is unlocked.
+     */
+    private static final class Request {
+        private final Supplier<Code> operation;
+        private final CompletableFuture<Code> result;
+        private Code code;
+        private RuntimeException failure;
+
+        private Request(Supplier<Code> operation) {
+            this.operation = operation;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Library the requests are run against, the pending requests, and the thread running them.
+     */
+    private final Library library;
+    private final ArrayBlockingQueue<Request> queue;
+    private final Thread writer;
+    private volatile boolean running;
+
+    /**
+     * Threads that complete the futures, so callbacks chained on them run outside the writer.
+     */
+    private final ExecutorService completer;
+
+    /**
+     * Constructs an asynchronous front end with the default queue capacity and starts its writer thread.
+     *
+     * @param library The library to run requests against.
+     */
+    public AsyncLibrary(Library library) {
+        this(library, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs an asynchronous front end and starts its writer thread.
+     *
+     * @param library       The library to run requests against.
+     * @param queueCapacity Number of requests that can wait before callers block.
+     */
+    public AsyncLibrary(Library library, int queueCapacity) {
+        this.library = library;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = true;
+        this.completer = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "library-completer-" + library.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = new Thread(this::drain, "library-writer-" + library.getName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a call to {@link Library#checkOutBook(Reader, Book)}.
+     *
+     * @param reader The Reader object to whom the book is checked out.
+     * @param book   The Book object to be checked out.
+     * @return A future completed with the Code of the checkout, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> checkOutBookAsync(Reader reader, Book book) {
+        return submit(() -> library.checkOutBook(reader, book));
+    }
+
+    /**
+     * Queues a call to {@link Library#returnBook(Reader, Book)}.
+     *
+     * @param reader The Reader object returning the book.
+     * @param book   The Book object to be returned.
+     * @return A future completed with the Code of the return, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> returnBookAsync(Reader reader, Book book) {
+        return submit(() -> library.returnBook(reader, book));
+    }
+
+    /**
+     * Queues a call to {@link Library#returnBook(Book)}.
+     *
+     * @param book The Book object to be returned.
+     * @return A future completed with the Code of the return, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> returnBookAsync(Book book) {
+        return submit(() -> library.returnBook(book));
+    }
+
+    /**
+     * Queues a call to {@link Library#addBook(Book)}.
+     *
+     * @param book The Book object to be added to the library.
+     * @return A future completed with the Code of the addition, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> addBookAsync(Book book) {
+        return submit(() -> library.addBook(book));
+    }
+
+    /**
+     * Queues a call to {@link Library#addReader(Reader)}.
+     *
+     * @param reader The Reader object to be added to the library.
+     * @return A future completed with the Code of the addition, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> addReaderAsync(Reader reader) {
+        return submit(() -> library.addReader(reader));
+    }
+
+    /**
+     * Queues a call to {@link Library#removeReader(Reader)}.
+     *
+     * @param reader The Reader object to be removed from the library.
+     * @return A future completed with the Code of the removal, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> removeReaderAsync(Reader reader) {
+        return submit(() -> library.removeReader(reader));
+    }
+
+    /**
+     * Queues a call to {@link Library#addShelf(Shelf)}.
+     *
+     * @param shelf The Shelf object to be added to the library.
+     * @return A future completed with the Code of the addition, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> addShelfAsync(Shelf shelf) {
+        return submit(() -> library.addShelf(shelf));
+    }
+
+    /**
+     * Queues a call to {@link Library#placeHold(Reader, Book)}.
+     *
+     * @param reader The Reader object waiting for the book.
+     * @param book   The Book object to wait for.
+     * @return A future completed with the Code of the hold, or completed exceptionally with
+     *         {@code IllegalStateException} if this front end is closed before it runs.
+     */
+    public CompletableFuture<Code> placeHoldAsync(Reader reader, Book book) {
+        return submit(() -> library.placeHold(reader, book));
+    }
+
+    /**
+     * Queues a request, blocking while the queue is full and this front end is open.
+     *
+     * @param operation The library call to run on the writer thread.
+     * @return A future completed with the Code the call returns.<br>
+     *         Completed exceptionally with {@code IllegalStateException} if this front end is closed before the
+     *         request runs, or with {@code InterruptedException} if the caller is interrupted while waiting for space.
+     */
+    private CompletableFuture<Code> submit(Supplier<Code> operation) {
+        Request request = new Request(operation);
+        try {
+            // Wait for space in short steps so a caller blocked on a full queue sees close().
+            while (running) {
+                if (queue.offer(request, 100, TimeUnit.MILLISECONDS)) {
+                    // close() may have finished draining the queue between the check and the offer.
+                    // Nothing else will run the request if it's still queued, so fail it here.
+                    if (!running && queue.remove(request)) {
+                        closed(request);
+                    }
+                    return request.result;
+                }
+            }
+            closed(request);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.result.completeExceptionally(e);
+        }
+        return request.result;
+    }
+
+    /**
+     * Fails a request that won't run because this front end is closed.
+     */
+    private static void closed(Request request) {
+        request.result.completeExceptionally(new IllegalStateException("AsyncLibrary is closed"));
+    }
+
+    /**
+     * Writer thread loop. Takes up to {@link #MAX_BATCH} requests at a time and runs them under one library lock.
+     * Results are kept until the lock is released and then handed to the completer threads, one request each,
+     * so a callback that waits on another request holds up neither the writer nor the rest of the batch.
+     */
+    private void drain() {
+        List<Request> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            Request first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e) {
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH - 1);
+            synchronized (library) {
+                for (Request request : batch) {
+                    try {
+                        request.code = request.operation.get();
+                    }
+                    catch (RuntimeException e) {
+                        request.failure = e;
+                    }
+                }
+            }
+            for (Request request : batch) {
+                completer.execute(() -> complete(request));
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Delivers the outcome of a request that ran to its future.
+     */
+    private static void complete(Request request) {
+        if (request.failure != null) {
+            request.result.completeExceptionally(request.failure);
+        }
+        else {
+            request.result.complete(request.code);
+        }
+    }
+
+    /**
+     * Retrieves the number of requests waiting to run.
+     *
+     * @return The count of queued requests.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting requests, waits for queued requests to finish and their futures to be completed,
+     * and stops the writer and completer threads.
+     * Requests that slipped in after the writer stopped, and callers still waiting for space in the queue,
+     * are failed with {@code IllegalStateException}. If the calling thread is interrupted while waiting for
+     * the writer, the writer finishes on its own and the thread's interrupt status is set again.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+            completer.shutdown();
+            completer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Request request;
+        while ((request = queue.poll()) != null) {
+            closed(request);
+        }
+    }
+}
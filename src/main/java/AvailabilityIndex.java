@@ -0,0 +1,240 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks how many copies of each ISBN are on the shelves.
+ * A Bloom filter in front of the counts answers "not in this library" without a map lookup,
+ * which is the common case for catalog searches coming from other libraries.
+ * Lookups may run on any number of threads while copies are shelved and unshelved; changes must come
+ * from one thread at a time, which the library ensures by making them while it is locked.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class AvailabilityIndex {
+    /**
+     * Number of bit positions set for each ISBN in the Bloom filter.
+     */
+    private static final int HASH_COUNT = 4;
+
+    /**
+     * Bits per ISBN the filter is sized for. Ten bits with four hashes gives roughly a 1% false positive rate.
+     */
+    private static final int BITS_PER_ISBN = 10;
+
+    /**
+     * Smallest number of ISBNs the filter is sized for.
+     */
+    private static final int MIN_CAPACITY = 64;
+
+    /**
+     * Bloom filter bits and the number of ISBNs it was sized for.
+     * A larger filter is filled completely before it replaces the current one.
+     */
+    private volatile AtomicLongArray bits;
+    private int capacity;
+
+    /**
+     * ISBN and the number of copies on the shelves. Replaced as a whole by {@link #rebuild(Map, Map)}.
+     */
+    private volatile ConcurrentHashMap<String, Integer> copies;
+
+    /**
+     * Constructs an empty availability index.
+     */
+    public AvailabilityIndex() {
+        copies = new ConcurrentHashMap<>();
+        resize(MIN_CAPACITY);
+    }
+
+    /**
+     * Registers an ISBN with the library. Copies stay at their current count, or 0 if the ISBN is new.
+     *
+     * @param isbn The ISBN of a book in the library.
+     */
+    public void register(String isbn) {
+        if (copies.putIfAbsent(isbn, 0) == null) {
+            addToFilter(isbn);
+        }
+    }
+
+    /**
+     * Records that a copy was put on a shelf. Registers the ISBN if needed.
+     *
+     * @param isbn The ISBN of the book.
+     */
+    public void shelved(String isbn) {
+        shelved(isbn, 1);
+    }
+
+    /**
+     * Records that copies were put on a shelf. Registers the ISBN if needed.
+     *
+     * @param isbn   The ISBN of the book.
+     * @param number The number of copies shelved.
+     */
+    public void shelved(String isbn, int number) {
+        register(isbn);
+        copies.merge(isbn, number, Integer::sum);
+    }
+
+    /**
+     * Records that a copy was taken off a shelf.
+     *
+     * @param isbn The ISBN of the book.
+     */
+    public void unshelved(String isbn) {
+        unshelved(isbn, 1);
+    }
+
+    /**
+     * Records that copies were taken off a shelf.
+     *
+     * @param isbn   The ISBN of the book.
+     * @param number The number of copies taken.
+     */
+    public void unshelved(String isbn, int number) {
+        copies.computeIfPresent(isbn, (key, count) -> (count > number) ? count - number : 0);
+    }
+
+    /**
+     * Removes an ISBN from the library. The filter keeps its bits until the next rebuild,
+     * but {@link #getAvailableCopies(String)} returns -1 for it right away.
+     *
+     * @param isbn The ISBN of a book no longer in the library.
+     */
+    public void unregister(String isbn) {
+        copies.remove(isbn);
+    }
+
+    /**
+     * Checks whether an ISBN may be in the library.
+     *
+     * @param isbn The ISBN to check.
+     * @return {@code false} if the ISBN is definitely not in the library; {@code true} if it might be.
+     */
+    public boolean mightContain(String isbn) {
+        AtomicLongArray bits = this.bits;
+        int hash1 = isbn.hashCode();
+        int hash2 = mix(hash1);
+        int numBits = bits.length() * Long.SIZE;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, numBits);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of copies of an ISBN on the shelves.
+     * Valid ISBNs are found with or without hyphens and spaces.
+     *
+     * @param isbn The ISBN to check.
+     * @return The number of copies on the shelves, or -1 if the ISBN is not in the library.
+     */
+    public int getAvailableCopies(String isbn) {
+        isbn = Isbn.normalize(isbn);
+        if (isbn == null || !mightContain(isbn)) {
+            return -1;
+        }
+        Integer count = copies.get(isbn);
+        return (count != null) ? count : -1;
+    }
+
+    /**
+     * Replaces the index contents with the given books and shelf inventories.
+     *
+     * @param books   Book objects registered to the library and the count of each book.
+     * @param shelves Shelf subject and Shelf object.
+     */
+    public void rebuild(Map<Book, Integer> books, Map<String, Shelf> shelves) {
+        ConcurrentHashMap<String, Integer> newCopies = new ConcurrentHashMap<>();
+        for (Book book : books.keySet()) {
+            newCopies.put(book.getISBN(), 0);
+        }
+        for (Shelf shelf : shelves.values()) {
+            for (Map.Entry<Book, Integer> entry : shelf.getBooks().entrySet()) {
+                newCopies.merge(entry.getKey().getISBN(), entry.getValue(), Integer::sum);
+            }
+        }
+
+        // Fill the filter before publishing the counts so no registered ISBN is ever filtered out.
+        AtomicLongArray newBits = newFilter(Math.max(MIN_CAPACITY, newCopies.size() * 2), newCopies);
+        bits = newBits;
+        copies = newCopies;
+    }
+
+    /**
+     * Sets the ISBN's bits in the filter, growing the filter first if it is full.
+     *
+     * @param isbn The ISBN to add.
+     */
+    private void addToFilter(String isbn) {
+        if (copies.size() > capacity) {
+            // resize() re-adds every registered ISBN, including this one.
+            resize(capacity * 2);
+            return;
+        }
+        setBits(bits, isbn);
+    }
+
+    /**
+     * Replaces the filter with one sized for the given number of ISBNs holding every registered ISBN.
+     *
+     * @param newCapacity The number of ISBNs the filter should hold.
+     */
+    private void resize(int newCapacity) {
+        bits = newFilter(newCapacity, copies);
+    }
+
+    /**
+     * Allocates a new filter sized for the given number of ISBNs and adds the given ISBNs to it.
+     *
+     * @param newCapacity The number of ISBNs the filter should hold.
+     * @param isbns       ISBNs to add, as the keys of a map of copy counts.
+     * @return The new filter bits.
+     */
+    private AtomicLongArray newFilter(int newCapacity, Map<String, Integer> isbns) {
+        capacity = newCapacity;
+        AtomicLongArray newBits =
+                new AtomicLongArray(Math.max(1, (newCapacity * BITS_PER_ISBN + Long.SIZE - 1) / Long.SIZE));
+        for (String isbn : isbns.keySet()) {
+            setBits(newBits, isbn);
+        }
+        return newBits;
+    }
+
+    /**
+     * Sets the filter bits for an ISBN.
+     *
+     * @param bits The filter to set the bits in.
+     * @param isbn The ISBN to add.
+     */
+    private static void setBits(AtomicLongArray bits, String isbn) {
+        int hash1 = isbn.hashCode();
+        int hash2 = mix(hash1);
+        int numBits = bits.length() * Long.SIZE;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, numBits);
+            long mask = 1L << bit;
+            bits.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    /**
+     * Derives a second hash from the first for double hashing.
+     *
+     * @param hash The ISBN's hash code.
+     * @return A well-mixed odd hash value.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash | 1;
+    }
+}
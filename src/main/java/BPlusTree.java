@@ -0,0 +1,548 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Persistent B+tree mapping byte-array keys to byte-array values, stored in fixed-size pages of a single file.
+ * Keys are ordered as unsigned bytes, so a prefix scan visits every key starting with the prefix in order.
+ * Pages are read through a buffer pool that keeps a bounded number of pages in memory and writes changed pages
+ * back when they are evicted or the tree is flushed, so the heap used doesn't grow with the number of records.
+ * <p>
+ * Changes are durable only once {@link #flush()} or {@link #close()} returns. Pages are updated in place and
+ * there is no write-ahead log, so a crash between flushes can leave the file with some changed pages written
+ * and others not. The header is written after every page it refers to has reached the disk, so it never points
+ * at an unwritten page, but the tree as a whole is only consistent as of a completed flush. Callers that need to
+ * survive a crash should keep their own log, such as an {@link EventLog}, and rebuild the tree from it.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class BPlusTree implements Closeable {
+    /**
+     * Size of every page in bytes.
+     */
+    public static final int PAGE_SIZE = 4096;
+
+    /**
+     * Bytes at the start of each node page: node type, key count, and next leaf page.
+     */
+    private static final int NODE_HEADER_SIZE = 1 + 2 + 4;
+
+    /**
+     * Largest key plus value size in bytes. Keeps at least four entries per page so splits always fit.
+     */
+    public static final int MAX_ENTRY_SIZE = (PAGE_SIZE - NODE_HEADER_SIZE) / 4 - 8;
+
+    /**
+     * Smallest number of pages the buffer pool holds, enough for every page one operation touches.
+     */
+    public static final int MIN_POOL_PAGES = 16;
+
+    /**
+     * Header page fields: file marker, root page, page count, and entry count.
+     */
+    private static final int MAGIC = 0x42505452;
+    private static final int HEADER_PAGE = 0;
+
+    /**
+     * Node types and the next leaf value of the last leaf.
+     */
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+    private static final int NO_PAGE = -1;
+
+    /**
+     * A page decoded into keys and either values (leaf) or child pages (internal).
+     */
+    private static class Node {
+        private final int page;
+        private final boolean leaf;
+        private final List<byte[]> keys;
+        private final List<byte[]> values;
+        private final List<Integer> children;
+        private int next;
+        private boolean dirty;
+
+        private Node(int page, boolean leaf) {
+            this.page = page;
+            this.leaf = leaf;
+            keys = new ArrayList<>();
+            values = leaf ? new ArrayList<>() : null;
+            children = leaf ? null : new ArrayList<>();
+            next = NO_PAGE;
+        }
+
+        /**
+         * Counts the bytes this node takes when written to a page.
+         */
+        private int byteSize() {
+            int bytes = NODE_HEADER_SIZE;
+            for (int i = 0; i < keys.size(); i++) {
+                bytes += entrySize(i);
+            }
+            return leaf ? bytes : bytes + 4;
+        }
+
+        private int entrySize(int index) {
+            return leaf ? 4 + keys.get(index).length + values.get(index).length : 6 + keys.get(index).length;
+        }
+    }
+
+    /**
+     * A node split: the first key of the new right node and the right node's page.
+     */
+    private static class Split {
+        private final byte[] key;
+        private final int rightPage;
+
+        private Split(byte[] key, int rightPage) {
+            this.key = key;
+            this.rightPage = rightPage;
+        }
+    }
+
+    private final FileChannel channel;
+
+    /**
+     * Buffer pool of decoded pages in access order, least recently used first.
+     */
+    private final LinkedHashMap<Integer, Node> pool;
+    private final int poolPages;
+
+    /**
+     * Tree state kept in the header page.
+     */
+    private int rootPage;
+    private int pageCount;
+    private long size;
+
+    /**
+     * Page lookups answered from the pool and pages read from the file.
+     */
+    private long poolHits;
+    private long pageReads;
+
+    /**
+     * Opens a tree file, creating an empty tree if the file doesn't exist or is empty.
+     *
+     * @param file      The file holding the tree.
+     * @param poolPages The number of pages to keep in memory. At least {@value #MIN_POOL_PAGES} are kept.
+     * @throws IOException If the file can't be opened or isn't a tree file.
+     */
+    public BPlusTree(Path file, int poolPages) throws IOException {
+        this.poolPages = Math.max(MIN_POOL_PAGES, poolPages);
+        pool = new LinkedHashMap<>(16, 0.75f, true);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {
+            // Page 0 is the header and page 1 is an empty root leaf.
+            pageCount = 1;
+            Node root = allocate(true);
+            rootPage = root.page;
+            flush();
+            return;
+        }
+
+        ByteBuffer header = readPage(HEADER_PAGE);
+        if (header.getInt() != MAGIC || header.getInt() != PAGE_SIZE) {
+            channel.close();
+            throw new IOException(file + " is not a B+tree file");
+        }
+        rootPage = header.getInt();
+        pageCount = header.getInt();
+        size = header.getLong();
+    }
+
+    /**
+     * Looks up the value for a key.
+     *
+     * @param key The key to look up.
+     * @return A copy of the value, or {@code null} if the key isn't in the tree.
+     * @throws IOException If a page can't be read.
+     */
+    public synchronized byte[] get(byte[] key) throws IOException {
+        Node node = getNode(rootPage);
+        while (!node.leaf) {
+            node = getNode(node.children.get(childIndex(node, key)));
+        }
+        int index = search(node.keys, key);
+        byte[] value = (index >= 0) ? node.values.get(index).clone() : null;
+        evictIfNeeded();
+        return value;
+    }
+
+    /**
+     * Adds a key and value, replacing the value if the key is already in the tree.
+     *
+     * @param key   The key to add.
+     * @param value The value to store.
+     * @throws IOException If a page can't be read or written.
+     */
+    public synchronized void put(byte[] key, byte[] value) throws IOException {
+        if (key.length + value.length > MAX_ENTRY_SIZE) {
+            throw new IllegalArgumentException("Key and value are " + (key.length + value.length)
+                    + " bytes, more than " + MAX_ENTRY_SIZE);
+        }
+
+        Split split = insert(getNode(rootPage), key.clone(), value.clone());
+        if (split != null) {
+            // Root split. The tree grows one level.
+            Node newRoot = allocate(false);
+            newRoot.children.add(rootPage);
+            newRoot.keys.add(split.key);
+            newRoot.children.add(split.rightPage);
+            rootPage = newRoot.page;
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Removes a key. Pages are not merged, so space used by removed entries stays in the file.
+     *
+     * @param key The key to remove.
+     * @return {@code true} if the key was in the tree.
+     * @throws IOException If a page can't be read.
+     */
+    public synchronized boolean remove(byte[] key) throws IOException {
+        Node node = getNode(rootPage);
+        while (!node.leaf) {
+            node = getNode(node.children.get(childIndex(node, key)));
+        }
+        int index = search(node.keys, key);
+        if (index >= 0) {
+            node.keys.remove(index);
+            node.values.remove(index);
+            markDirty(node);
+            size--;
+        }
+        evictIfNeeded();
+        return index >= 0;
+    }
+
+    /**
+     * Visits every key starting with a prefix, in key order.
+     *
+     * @param prefix  The prefix keys must start with. An empty prefix visits every key.
+     * @param visitor Called with each key and value; returns {@code false} to stop the scan.
+     * @return The number of entries visited.
+     * @throws IOException If a page can't be read.
+     */
+    public synchronized long scanPrefix(byte[] prefix, BiPredicate<byte[], byte[]> visitor) throws IOException {
+        Node node = getNode(rootPage);
+        while (!node.leaf) {
+            node = getNode(node.children.get(childIndex(node, prefix)));
+        }
+
+        long visited = 0;
+        int index = search(node.keys, prefix);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        while (true) {
+            for (; index < node.keys.size(); index++) {
+                byte[] key = node.keys.get(index);
+                if (!startsWith(key, prefix)) {
+                    return visited;
+                }
+                visited++;
+                if (!visitor.test(key.clone(), node.values.get(index).clone())) {
+                    return visited;
+                }
+            }
+            if (node.next == NO_PAGE) {
+                return visited;
+            }
+            // Nothing is changed during a scan, so pages can be evicted as the scan moves on.
+            evictIfNeeded();
+            node = getNode(node.next);
+            index = 0;
+        }
+    }
+
+    /**
+     * Retrieves the number of keys in the tree.
+     *
+     * @return The entry count.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int getPageCount() {
+        return pageCount;
+    }
+
+    public synchronized long getPoolHits() {
+        return poolHits;
+    }
+
+    public synchronized long getPageReads() {
+        return pageReads;
+    }
+
+    /**
+     * Writes every changed page and then the header to the file and forces them to disk.
+     * Pages are forced before the header is written, so the header never refers to a page that isn't on disk.
+     *
+     * @throws IOException If a page can't be written.
+     */
+    public synchronized void flush() throws IOException {
+        for (Node node : pool.values()) {
+            if (node.dirty) {
+                writeNode(node);
+            }
+        }
+        channel.force(false);
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+        header.putInt(MAGIC).putInt(PAGE_SIZE).putInt(rootPage).putInt(pageCount).putLong(size);
+        header.flip();
+        channel.write(header, (long) HEADER_PAGE * PAGE_SIZE);
+        channel.force(false);
+    }
+
+    /**
+     * Flushes the tree and closes the file.
+     *
+     * @throws IOException If a page can't be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            flush();
+            channel.close();
+        }
+    }
+
+    /**
+     * Adds a key and value below a node.
+     *
+     * @return The split of the node if it no longer fits in a page, otherwise {@code null}.
+     */
+    private Split insert(Node node, byte[] key, byte[] value) throws IOException {
+        if (node.leaf) {
+            int index = search(node.keys, key);
+            if (index >= 0) {
+                node.values.set(index, value);
+            }
+            else {
+                node.keys.add(-index - 1, key);
+                node.values.add(-index - 1, value);
+                size++;
+            }
+            markDirty(node);
+            return (node.byteSize() > PAGE_SIZE) ? splitLeaf(node) : null;
+        }
+
+        int childIndex = childIndex(node, key);
+        Split split = insert(getNode(node.children.get(childIndex)), key, value);
+        if (split == null) {
+            return null;
+        }
+        node.keys.add(childIndex, split.key);
+        node.children.add(childIndex + 1, split.rightPage);
+        markDirty(node);
+        return (node.byteSize() > PAGE_SIZE) ? splitInternal(node) : null;
+    }
+
+    /**
+     * Moves the upper half of a leaf's entries, by bytes, into a new leaf.
+     */
+    private Split splitLeaf(Node node) throws IOException {
+        int mid = splitIndex(node);
+        Node right = allocate(true);
+        right.keys.addAll(node.keys.subList(mid, node.keys.size()));
+        right.values.addAll(node.values.subList(mid, node.values.size()));
+        node.keys.subList(mid, node.keys.size()).clear();
+        node.values.subList(mid, node.values.size()).clear();
+
+        right.next = node.next;
+        node.next = right.page;
+        return new Split(right.keys.get(0), right.page);
+    }
+
+    /**
+     * Moves the keys and children after the middle key of an internal node into a new node
+     * and returns the middle key to be added to the parent.
+     */
+    private Split splitInternal(Node node) throws IOException {
+        int mid = splitIndex(node);
+        byte[] middleKey = node.keys.get(mid);
+        Node right = allocate(false);
+        right.keys.addAll(node.keys.subList(mid + 1, node.keys.size()));
+        right.children.addAll(node.children.subList(mid + 1, node.children.size()));
+        node.keys.subList(mid, node.keys.size()).clear();
+        node.children.subList(mid + 1, node.children.size()).clear();
+        return new Split(middleKey, right.page);
+    }
+
+    /**
+     * Finds the entry where the first half of a node's bytes ends.
+     */
+    private static int splitIndex(Node node) {
+        int half = node.byteSize() / 2;
+        int bytes = NODE_HEADER_SIZE;
+        for (int i = 0; i < node.keys.size(); i++) {
+            bytes += node.entrySize(i);
+            if (bytes >= half) {
+                return Math.max(1, Math.min(i, node.keys.size() - 2));
+            }
+        }
+        return node.keys.size() / 2;
+    }
+
+    /**
+     * Finds the child of an internal node whose keys include the given key.
+     */
+    private static int childIndex(Node node, byte[] key) {
+        int index = search(node.keys, key);
+        return (index >= 0) ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Binary searches sorted keys.
+     *
+     * @return The key's index, or {@code -(insertion point) - 1} if it isn't found.
+     */
+    private static int search(List<byte[]> keys, byte[] key) {
+        int low = 0;
+        int high = keys.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = Arrays.compareUnsigned(keys.get(mid), key);
+            if (compare < 0) {
+                low = mid + 1;
+            }
+            else if (compare > 0) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Creates an empty node on a new page at the end of the file.
+     */
+    private Node allocate(boolean leaf) {
+        Node node = new Node(pageCount++, leaf);
+        markDirty(node);
+        return node;
+    }
+
+    /**
+     * Marks a node as changed and makes sure the pool holds it until it is written.
+     */
+    private void markDirty(Node node) {
+        node.dirty = true;
+        pool.put(node.page, node);
+    }
+
+    /**
+     * Retrieves a node from the pool, reading its page if needed.
+     */
+    private Node getNode(int page) throws IOException {
+        Node node = pool.get(page);
+        if (node != null) {
+            poolHits++;
+            return node;
+        }
+        pageReads++;
+        node = decode(page, readPage(page));
+        pool.put(page, node);
+        return node;
+    }
+
+    /**
+     * Writes back and drops the least recently used pages until the pool is within its size.
+     * Only called between changes so no caller holds a node that gets dropped.
+     */
+    private void evictIfNeeded() throws IOException {
+        Iterator<Map.Entry<Integer, Node>> entries = pool.entrySet().iterator();
+        while (pool.size() > poolPages && entries.hasNext()) {
+            Node node = entries.next().getValue();
+            if (node.page == rootPage) {
+                continue;
+            }
+            if (node.dirty) {
+                writeNode(node);
+            }
+            entries.remove();
+        }
+    }
+
+    private ByteBuffer readPage(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Page " + page + " is past the end of the file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static Node decode(int page, ByteBuffer buffer) {
+        Node node = new Node(page, buffer.get() == LEAF);
+        int keyCount = Short.toUnsignedInt(buffer.getShort());
+        node.next = buffer.getInt();
+        if (!node.leaf) {
+            node.children.add(buffer.getInt());
+        }
+        for (int i = 0; i < keyCount; i++) {
+            byte[] key = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(key);
+            node.keys.add(key);
+            if (node.leaf) {
+                byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(value);
+                node.values.add(value);
+            }
+            else {
+                node.children.add(buffer.getInt());
+            }
+        }
+        return node;
+    }
+
+    private void writeNode(Node node) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(node.leaf ? LEAF : INTERNAL);
+        buffer.putShort((short) node.keys.size());
+        buffer.putInt(node.next);
+        if (!node.leaf) {
+            buffer.putInt(node.children.get(0));
+        }
+        for (int i = 0; i < node.keys.size(); i++) {
+            byte[] key = node.keys.get(i);
+            buffer.putShort((short) key.length);
+            buffer.put(key);
+            if (node.leaf) {
+                byte[] value = node.values.get(i);
+                buffer.putShort((short) value.length);
+                buffer.put(value);
+            }
+            else {
+                buffer.putInt(node.children.get(i + 1));
+            }
+        }
+        buffer.rewind();
+        channel.write(buffer, (long) node.page * PAGE_SIZE);
+        node.dirty = false;
+    }
+}
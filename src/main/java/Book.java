@@ -16,15 +16,31 @@ public class Book {
     public static final int AUTHOR_ = 4;
     public static final int DUE_DATE_ = 5;
 
+    /**
+     * Due date value, in days since 1970-01-01, for a book without a due date.
+     */
+    public static final int NO_DUE_DATE = Integer.MIN_VALUE;
+
     /**
      * Book information.
      */
-    private String isbn;
     private String title;
     private String subject;
     private int pageCount;
     private String author;
-    private LocalDate dueDate;
+
+    /**
+     * Due date as days since 1970-01-01, or {@link #NO_DUE_DATE}. Stored as a number so date checks
+     * and sorting compare ints and loading a file doesn't create a LocalDate per book.
+     */
+    private int dueDay;
+
+    /**
+     * The ISBN, packed by {@link Isbn#pack(String)} when it is a valid ISBN-10 or ISBN-13 so the book
+     * doesn't keep a String for it. Any other code is kept in {@code legacyIsbn} and the key is {@link Isbn#NONE}.
+     */
+    private long isbnKey;
+    private String legacyIsbn;
 
     /**
      * Creates a new Book with the specified properties.
@@ -37,12 +53,26 @@ public class Book {
      * @param dueDate   The due date for the book if it's borrowed from a library.
      */
     public Book(String isbn, String title, String subject, int pageCount, String author, LocalDate dueDate) {
-        this.isbn = isbn;
+        this(isbn, title, subject, pageCount, author, toEpochDay(dueDate));
+    }
+
+    /**
+     * Creates a new Book with the specified properties and a due date given in days since 1970-01-01.
+     *
+     * @param isbn       The ISBN (International Standard Book Number) of the book.
+     * @param title      The title of the book.
+     * @param subject    The genre of the book.
+     * @param pageCount  The number of pages in the book.
+     * @param author     The author of the book.
+     * @param dueEpochDay The due date as days since 1970-01-01, or {@link #NO_DUE_DATE}.
+     */
+    public Book(String isbn, String title, String subject, int pageCount, String author, int dueEpochDay) {
+        setISBN(isbn);
         this.title = title;
         this.subject = subject;
         this.pageCount = pageCount;
         this.author = author;
-        this.dueDate = dueDate;
+        this.dueDay = dueEpochDay;
     }
 
     /**
@@ -52,16 +82,16 @@ public class Book {
      */
     @Override
     public String toString() {
-        return title + " by " + author + " ISBN: " + isbn;
+        return title + " by " + author + " ISBN: " + getISBN();
     }
 
     /**
      * Retrieves the ISBN (International Standard Book Number) of the book.
      *
-     * @return A string representing the ISBN of the book.
+     * @return A string representing the ISBN of the book. Valid ISBNs are returned without hyphens or spaces.
      */
     public String getISBN() {
-        return isbn;
+        return (isbnKey != Isbn.NONE) ? Isbn.unpack(isbnKey) : legacyIsbn;
     }
 
     /**
@@ -70,7 +100,28 @@ public class Book {
      * @param isbn A string representing the ISBN to be set for the book.
      */
     public void setISBN(String isbn) {
-        this.isbn = isbn;
+        this.isbnKey = Isbn.pack(isbn);
+        this.legacyIsbn = (isbnKey == Isbn.NONE) ? isbn : null;
+    }
+
+    /**
+     * Retrieves the packed ISBN. Two books with valid ISBNs have the same key exactly when they have the same ISBN.
+     *
+     * @return The ISBN key from {@link Isbn#pack(String)}, or {@link Isbn#NONE} if the ISBN isn't valid.
+     */
+    public long getIsbnKey() {
+        return isbnKey;
+    }
+
+    /**
+     * Checks whether the book has an ISBN. The caller packs the ISBN once, so searches don't pack it per book.
+     *
+     * @param isbn    The ISBN to check.
+     * @param isbnKey The ISBN packed by {@link Isbn#pack(String)}.
+     * @return {@code true} if the book has the ISBN.
+     */
+    public boolean hasISBN(String isbn, long isbnKey) {
+        return (isbnKey != Isbn.NONE) ? this.isbnKey == isbnKey : isbn.equals(legacyIsbn);
     }
 
     /**
@@ -147,11 +198,12 @@ public class Book {
 
     /**
      * Retrieves the due date of the book, if it's borrowed from a library.
+     * A new LocalDate is created on each call; use {@link #getDueEpochDay()} to compare dates.
      *
-     * @return A LocalDate object representing the due date of the book.
+     * @return A LocalDate object representing the due date of the book, or {@code null} if it has none.
      */
     public LocalDate getDueDate() {
-        return dueDate;
+        return (dueDay != NO_DUE_DATE) ? LocalDate.ofEpochDay(dueDay) : null;
     }
 
     /**
@@ -160,7 +212,35 @@ public class Book {
      * @param dueDate A LocalDate object representing the due date to be set for the book (year, month, day).
      */
     public void setDueDate(LocalDate dueDate) {
-        this.dueDate = dueDate;
+        this.dueDay = toEpochDay(dueDate);
+    }
+
+    /**
+     * Retrieves the due date of the book as days since 1970-01-01.
+     *
+     * @return The due date's epoch day, or {@link #NO_DUE_DATE} if it has none.
+     */
+    public int getDueEpochDay() {
+        return dueDay;
+    }
+
+    /**
+     * Sets the due date for the book as days since 1970-01-01.
+     *
+     * @param dueEpochDay The due date's epoch day, or {@link #NO_DUE_DATE} to clear it.
+     */
+    public void setDueEpochDay(int dueEpochDay) {
+        this.dueDay = dueEpochDay;
+    }
+
+    /**
+     * Converts a date to days since 1970-01-01.
+     *
+     * @param date The date to convert.
+     * @return The epoch day, or {@link #NO_DUE_DATE} if date is {@code null}.
+     */
+    private static int toEpochDay(LocalDate date) {
+        return (date != null) ? Math.toIntExact(date.toEpochDay()) : NO_DUE_DATE;
     }
 
     /**
@@ -178,7 +258,8 @@ public class Book {
         Book book = (Book) o;
 
         if (getPageCount() != book.getPageCount()) return false;
-        if (getISBN() != null ? !getISBN().equals(book.getISBN()) : book.getISBN() != null) return false;
+        if (isbnKey != book.isbnKey) return false;
+        if (legacyIsbn != null ? !legacyIsbn.equals(book.legacyIsbn) : book.legacyIsbn != null) return false;
         if (getTitle() != null ? !getTitle().equals(book.getTitle()) : book.getTitle() != null) return false;
         if (getSubject() != null ? !getSubject().equals(book.getSubject()) : book.getSubject() != null) return false;
         return getAuthor() != null ? getAuthor().equals(book.getAuthor()) : book.getAuthor() == null;
@@ -191,7 +272,7 @@ public class Book {
      */
     @Override
     public int hashCode() {
-        int result = getISBN() != null ? getISBN().hashCode() : 0;
+        int result = (legacyIsbn != null) ? legacyIsbn.hashCode() : Long.hashCode(isbnKey);
         result = 31 * result + (getTitle() != null ? getTitle().hashCode() : 0);
         result = 31 * result + (getSubject() != null ? getSubject().hashCode() : 0);
         result = 31 * result + getPageCount();
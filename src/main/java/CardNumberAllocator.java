@@ -0,0 +1,242 @@
+import Utilities.Code;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe source of library card numbers within a fixed range.
+ * Each thread reserves a block of numbers with one atomic update and then issues numbers from its own block,
+ * so busy registration threads don't contend on a single counter.
+ * The highest reserved number (the high-water mark) can be kept in a file so numbers are never reissued
+ * after a restart.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class CardNumberAllocator {
+    /**
+     * Default number of card numbers each thread reserves at a time.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /**
+     * Lowest and highest card numbers this allocator may issue.
+     */
+    private final int first;
+    private final int last;
+
+    /**
+     * Number of card numbers reserved per block.
+     */
+    private final int blockSize;
+
+    /**
+     * Highest card number reserved or observed. Starts at {@code first - 1}.
+     */
+    private final AtomicInteger highWater;
+
+    /**
+     * Each thread's current block, and every block numbers may still be issued from.
+     * {@link #observe(int)} checks the outstanding blocks so a number used elsewhere is skipped
+     * without dropping the other threads' blocks.
+     */
+    private final ThreadLocal<Block> blocks;
+    private final Set<Block> outstanding;
+
+    /**
+     * File holding the high-water mark, or {@code null} if it isn't persisted.
+     */
+    private final Path stateFile;
+
+    /**
+     * Constructs an allocator for every positive card number that isn't persisted.
+     */
+    public CardNumberAllocator() {
+        this(1, Integer.MAX_VALUE, DEFAULT_BLOCK_SIZE, null);
+    }
+
+    /**
+     * Constructs an allocator for a range of card numbers.
+     * If the state file exists, numbers up to the high-water mark stored in it are treated as used.
+     *
+     * @param first     The lowest card number to issue. Must be positive.
+     * @param last      The highest card number to issue.
+     * @param blockSize The number of card numbers each thread reserves at a time.
+     * @param stateFile The file the high-water mark is kept in, or {@code null} to not persist it.
+     */
+    public CardNumberAllocator(int first, int last, int blockSize, Path stateFile) {
+        if (first < 1 || last < first || blockSize < 1) {
+            throw new IllegalArgumentException("Invalid card range " + first + "-" + last + " or block size " + blockSize);
+        }
+        this.first = first;
+        this.last = last;
+        this.blockSize = blockSize;
+        this.stateFile = stateFile;
+        highWater = new AtomicInteger(first - 1);
+        blocks = new ThreadLocal<>();
+        outstanding = ConcurrentHashMap.newKeySet();
+
+        if (stateFile != null && Files.exists(stateFile)) {
+            observe(load(stateFile));
+        }
+    }
+
+    /**
+     * Issues a card number no other call to this method has returned.
+     *
+     * @return A new card number, or -1 if every number in the range has been reserved
+     *         or the high-water mark couldn't be saved.
+     */
+    public int allocate() {
+        while (true) {
+            Block block = blocks.get();
+            if (block != null) {
+                long next = block.next.getAndIncrement();
+                if (next <= block.end) {
+                    return (int) next;
+                }
+                outstanding.remove(block);
+            }
+            block = reserveBlock();
+            if (block == null) {
+                return -1;
+            }
+            blocks.set(block);
+        }
+    }
+
+    /**
+     * Records that a card number is in use, e.g. read from a file or registered with a library, so it is
+     * never issued. A number this allocator issued is already accounted for. A number inside a block that
+     * hasn't reached it yet makes that block skip past it; other blocks are untouched.
+     *
+     * @param cardNumber The card number in use. Numbers outside this allocator's range are ignored.
+     */
+    public void observe(int cardNumber) {
+        if (cardNumber < first) {
+            return;
+        }
+        int previous = highWater.getAndAccumulate(Math.min(cardNumber, last), Math::max);
+        if (cardNumber > previous) {
+            return;
+        }
+        for (Block block : outstanding) {
+            if (block.start <= cardNumber && cardNumber <= block.end) {
+                block.next.accumulateAndGet(cardNumber + 1L, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the highest card number reserved or observed.
+     *
+     * @return The high-water mark, or {@code first - 1} if no number has been used.
+     */
+    public int getHighWaterMark() {
+        return highWater.get();
+    }
+
+    /**
+     * Sets the high-water mark and drops every thread's block. Numbers above the mark may be issued again.
+     *
+     * @param highWaterMark The new high-water mark.
+     */
+    public void reset(int highWaterMark) {
+        highWater.set(Math.max(first - 1, Math.min(highWaterMark, last)));
+        for (Block block : outstanding) {
+            block.next.set(block.end + 1L);
+            outstanding.remove(block);
+        }
+    }
+
+    /**
+     * Writes the high-water mark to the state file. Does nothing if the allocator isn't persisted.
+     *
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the mark was written or there is no state file.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the file could not be written.
+     */
+    public synchronized Code save() {
+        if (stateFile == null) {
+            return Code.SUCCESS;
+        }
+
+        // Write a temporary file and move it into place so a crash never leaves a partial file.
+        try {
+            Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            Files.write(tempFile, Integer.toString(highWater.get()).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            System.out.println("Error writing file: " + stateFile);
+            System.out.println("Error message: " + e.getMessage());
+            return Code.FILE_NOT_FOUND_ERROR;
+        }
+    }
+
+    /**
+     * Reserves the next block of card numbers and persists the new high-water mark.
+     * The block is listed as outstanding before it is claimed, so {@link #observe(int)} never misses a number in it.
+     *
+     * @return The reserved block, or {@code null} if the range is used up or the high-water mark couldn't be saved.
+     */
+    private Block reserveBlock() {
+        while (true) {
+            int current = highWater.get();
+            if (current >= last) {
+                return null;
+            }
+            Block block = new Block(current + 1, (int) Math.min(last, (long) current + blockSize));
+            outstanding.add(block);
+            if (highWater.compareAndSet(current, block.end)) {
+                // Persist before handing out numbers so a restart can't reissue them.
+                if (save() != Code.SUCCESS) {
+                    outstanding.remove(block);
+                    return null;
+                }
+                return block;
+            }
+            outstanding.remove(block);
+        }
+    }
+
+    /**
+     * Reads a high-water mark from a state file.
+     *
+     * @param file The state file.
+     * @return The stored high-water mark, or 0 if the file can't be read.
+     */
+    private static int load(Path file) {
+        try {
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+            return Library.convertInt(text, Code.UNKNOWN_ERROR);
+        }
+        catch (IOException e) {
+            System.out.println("Error opening file: " + file);
+            System.out.println("Error message: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Range of card numbers reserved by one thread and the next number to issue from it.
+     */
+    private static class Block {
+        private final int start;
+        private final int end;
+        private final AtomicLong next;
+
+        private Block(int start, int end) {
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(start);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate reports over a {@link CatalogSnapshot}.
+ * Every report runs as a parallel stream. Each worker builds its own partial map and the partial
+ * maps are merged at the end, so workers never contend on a shared map.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class CatalogAnalytics {
+    /**
+     * Snapshot the reports are computed from.
+     */
+    private final CatalogSnapshot snapshot;
+
+    /**
+     * Constructs reports over a library snapshot.
+     *
+     * @param snapshot The snapshot to report on, e.g. {@link Library#getSnapshot()}.
+     */
+    public CatalogAnalytics(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Counts the copies owned for each subject.
+     *
+     * @return A map of subject to number of copies.
+     */
+    public Map<String, Integer> copiesPerSubject() {
+        return snapshot.getBooks().entrySet().parallelStream()
+                .collect(Collectors.groupingBy(entry -> entry.getKey().getSubject(),
+                        Collectors.summingInt(Map.Entry::getValue)));
+    }
+
+    /**
+     * Sums the pages of every copy owned for each author.
+     *
+     * @return A map of author to total pages across all copies of their books.
+     */
+    public Map<String, Long> pagesPerAuthor() {
+        return snapshot.getBooks().entrySet().parallelStream()
+                .collect(Collectors.groupingBy(entry -> entry.getKey().getAuthor(),
+                        Collectors.summingLong(entry -> (long) entry.getKey().getPageCount() * entry.getValue())));
+    }
+
+    /**
+     * Counts the books each reader has checked out.
+     *
+     * @return A map of card number to number of books checked out.
+     */
+    public Map<Integer, Integer> loansPerReader() {
+        return snapshot.getReaders().parallelStream()
+                .collect(Collectors.toMap(Reader::getCardNumber, Reader::getBookCount, Integer::sum));
+    }
+
+    /**
+     * Counts checked-out books that are overdue on a date, for each subject.
+     *
+     * @param asOf Books due before this date are overdue.
+     * @return A map of subject to number of overdue books. Subjects with no overdue books are left out.
+     */
+    public Map<String, Long> overduePerSubject(LocalDate asOf) {
+        long asOfDay = asOf.toEpochDay();
+        return snapshot.getReaders().parallelStream()
+                .flatMap(reader -> reader.getLoans().entrySet().stream())
+                .filter(loan -> loan.getValue() != Book.NO_DUE_DATE && loan.getValue() < asOfDay)
+                .collect(Collectors.groupingBy(loan -> loan.getKey().getSubject(), Collectors.counting()));
+    }
+}
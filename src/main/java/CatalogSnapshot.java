@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of a library's books, shelves, and readers.
+ * Snapshots are published by {@link Library#getSnapshot()} and never change after creation,
+ * so reports and searches can read them without locking while checkouts continue.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class CatalogSnapshot {
+    /**
+     * Version of the library the snapshot was taken from.
+     */
+    private final long version;
+
+    /**
+     * Read-only copies of the library's collections at the time of the snapshot.
+     */
+    private final Map<Book, Integer> books;
+    private final Map<String, Map<Book, Integer>> shelves;
+    private final Map<String, Integer> shelfNumbers;
+    private final List<ReadOnlyReader> readers;
+
+    /**
+     * Column-oriented copy of {@code books} and the readers' loans, built the first time it is needed.
+     */
+    private volatile ColumnarCatalog columnarCatalog;
+
+    /**
+     * Creates a snapshot from the given library collections. Shelves and readers are taken as their shared
+     * read-only copies, which are only copied again after they change.
+     * Must be called while the library is locked so the copies are consistent.
+     *
+     * @param version The library version the collections belong to.
+     * @param books   A read-only copy of the Book objects registered to the library and the count of each book.
+     * @param shelves Shelf subject and Shelf object.
+     * @param readers Readers registered to the library.
+     */
+    CatalogSnapshot(long version, Map<Book, Integer> books, Map<String, Shelf> shelves, List<Reader> readers) {
+        this.version = version;
+        this.books = books;
+
+        Map<String, Map<Book, Integer>> shelfCopies = new HashMap<>();
+        Map<String, Integer> numberCopies = new HashMap<>();
+        for (Map.Entry<String, Shelf> entry : shelves.entrySet()) {
+            Shelf shelf = entry.getValue();
+            shelfCopies.put(entry.getKey(), shelf.readOnlyBooks());
+            numberCopies.put(entry.getKey(), shelf.getShelfNumber());
+        }
+        this.shelves = Collections.unmodifiableMap(shelfCopies);
+        this.shelfNumbers = Collections.unmodifiableMap(numberCopies);
+
+        List<ReadOnlyReader> readerCopies = new ArrayList<>(readers.size());
+        for (Reader reader : readers) {
+            readerCopies.add(reader.readOnlyCopy());
+        }
+        this.readers = Collections.unmodifiableList(readerCopies);
+    }
+
+    /**
+     * Retrieves the library version this snapshot was taken from.
+     *
+     * @return The version number. Larger numbers are newer.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the books registered to the library and the count of each book.
+     *
+     * @return A read-only map of Book objects to copy counts.
+     */
+    public Map<Book, Integer> getBooks() {
+        return books;
+    }
+
+    /**
+     * Retrieves the number of copies of a book registered to the library.
+     *
+     * @param book The book to check the count for.
+     * @return The number of copies, or 0 if the book is not in the library.
+     */
+    public int getBookCount(Book book) {
+        Integer count = books.get(book);
+        return (count != null) ? count : 0;
+    }
+
+    /**
+     * Retrieves the books on every shelf, keyed by shelf subject.
+     *
+     * @return A read-only map of shelf subject to a read-only map of Book objects and copy counts.
+     */
+    public Map<String, Map<Book, Integer>> getShelves() {
+        return shelves;
+    }
+
+    /**
+     * Retrieves the books on the shelf with the specified subject.
+     *
+     * @param subject The subject of the shelf.
+     * @return A read-only map of Book objects to copy counts, or {@code null} if no such shelf exists.
+     */
+    public Map<Book, Integer> getShelf(String subject) {
+        return shelves.get(subject);
+    }
+
+    /**
+     * Retrieves the shelf number of the shelf with the specified subject.
+     *
+     * @param subject The subject of the shelf.
+     * @return The shelf number, or -1 if no such shelf exists.
+     */
+    public int getShelfNumber(String subject) {
+        Integer shelfNumber = shelfNumbers.get(subject);
+        return (shelfNumber != null) ? shelfNumber : -1;
+    }
+
+    /**
+     * Retrieves a column-oriented copy of the books and loans in this snapshot for analytical scans.
+     * The copy is built once per snapshot and shared by later callers.
+     *
+     * @return The ColumnarCatalog for this snapshot's books.
+     */
+    public ColumnarCatalog getColumnarCatalog() {
+        ColumnarCatalog catalog = columnarCatalog;
+        if (catalog == null) {
+            synchronized (this) {
+                catalog = columnarCatalog;
+                if (catalog == null) {
+                    catalog = new ColumnarCatalog(books, readers);
+                    columnarCatalog = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Retrieves read-only copies of the readers registered to the library.
+     *
+     * @return A read-only list of ReadOnlyReader objects.
+     */
+    public List<ReadOnlyReader> getReaders() {
+        return readers;
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Source of books for a library's catalog, such as a disk-backed store holding more books than fit in memory.
+ * {@link Library#getBookByISBN(String)} reads through a cache in front of the store.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public interface CatalogStore {
+    /**
+     * Loads the book with an ISBN. May be called from several threads at once, without the library's lock.
+     *
+     * @param isbn The ISBN of the book.
+     * @return The Book object, or {@code null} if the store has no book with the ISBN.
+     */
+    Book loadBook(String isbn);
+}
@@ -0,0 +1,316 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, column-oriented copy of a library's books and loans for analytical scans.
+ * Each book is a row, and each loan is a row of a separate loan table pointing at its book's row.
+ * Due dates belong to loans, so they are only kept in the loan table. Numbers are stored in primitive arrays, ISBNs are stored as {@link Isbn} keys,
+ * subjects and authors are replaced by ids into small dictionaries, and titles are packed into one character pool.
+ * Scans walk plain int arrays, and {@link Book} objects are only created by {@link #toBook(int)}.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class ColumnarCatalog {
+    /**
+     * Due date column value for a loan without a due date.
+     */
+    public static final int NO_DUE_DATE = Book.NO_DUE_DATE;
+
+    /**
+     * Numeric columns, one entry per row.
+     */
+    private final int[] copies;
+    private final int[] pageCounts;
+    private final int[] subjectIds;
+    private final int[] authorIds;
+    private final long[] isbnKeys;
+
+    /**
+     * ISBNs of rows whose ISBN isn't valid and has no key. {@code null} for rows with a valid ISBN.
+     */
+    private final String[] legacyIsbns;
+
+    /**
+     * Dictionaries for the subject and author columns, and lookups from value to id.
+     */
+    private final String[] subjects;
+    private final String[] authors;
+    private final HashMap<String, Integer> subjectLookup;
+
+    /**
+     * Character pool holding every title. Row {@code i}'s title is
+     * {@code pool[titleOffsets[i]] .. pool[titleOffsets[i + 1]]}.
+     */
+    private final char[] pool;
+    private final int[] titleOffsets;
+
+    /**
+     * Loan columns, one entry per loan: the row of the book on loan, the reader's card number,
+     * and the loan's due date in days since 1970-01-01.
+     */
+    private final int[] loanRows;
+    private final int[] loanCards;
+    private final int[] loanDueDays;
+
+    /**
+     * Builds the columns from a map of books and copy counts, without any loans.
+     *
+     * @param books Book objects and the count of each book, e.g. {@link CatalogSnapshot#getBooks()}.
+     */
+    public ColumnarCatalog(Map<Book, Integer> books) {
+        this(books, Collections.emptyList());
+    }
+
+    /**
+     * Builds the columns from a map of books and copy counts and the loans of the given readers.
+     * Loans of books that aren't in the map are left out.
+     *
+     * @param books   Book objects and the count of each book, e.g. {@link CatalogSnapshot#getBooks()}.
+     * @param readers Readers whose loans fill the loan table, e.g. {@link CatalogSnapshot#getReaders()}.
+     */
+    public ColumnarCatalog(Map<Book, Integer> books, List<? extends Reader> readers) {
+        int rows = books.size();
+        copies = new int[rows];
+        pageCounts = new int[rows];
+        subjectIds = new int[rows];
+        authorIds = new int[rows];
+        isbnKeys = new long[rows];
+        legacyIsbns = new String[rows];
+        titleOffsets = new int[rows + 1];
+
+        subjectLookup = new HashMap<>();
+        HashMap<String, Integer> authorLookup = new HashMap<>();
+        List<String> subjectList = new ArrayList<>();
+        List<String> authorList = new ArrayList<>();
+
+        StringBuilder titlePool = new StringBuilder();
+        HashMap<Book, Integer> rowLookup = new HashMap<>();
+
+        int row = 0;
+        for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+            Book book = entry.getKey();
+            rowLookup.put(book, row);
+            copies[row] = entry.getValue();
+            pageCounts[row] = book.getPageCount();
+            subjectIds[row] = dictionaryId(book.getSubject(), subjectLookup, subjectList);
+            authorIds[row] = dictionaryId(book.getAuthor(), authorLookup, authorList);
+
+            isbnKeys[row] = book.getIsbnKey();
+            if (isbnKeys[row] == Isbn.NONE) {
+                legacyIsbns[row] = book.getISBN();
+            }
+            titleOffsets[row] = titlePool.length();
+            titlePool.append(book.getTitle());
+            row++;
+        }
+        titleOffsets[rows] = titlePool.length();
+        pool = titlePool.toString().toCharArray();
+
+        subjects = subjectList.toArray(new String[0]);
+        authors = authorList.toArray(new String[0]);
+
+        int loanCount = 0;
+        for (Reader reader : readers) {
+            loanCount += reader.getBookCount();
+        }
+        int[] rowColumn = new int[loanCount];
+        int[] cardColumn = new int[loanCount];
+        int[] dueColumn = new int[loanCount];
+        int[] loans = new int[1];
+        for (Reader reader : readers) {
+            int cardNumber = reader.getCardNumber();
+            reader.forEachLoan((book, dueDay) -> {
+                Integer bookRow = rowLookup.get(book);
+                if (bookRow != null) {
+                    int loan = loans[0]++;
+                    rowColumn[loan] = bookRow;
+                    cardColumn[loan] = cardNumber;
+                    dueColumn[loan] = dueDay;
+                }
+            });
+        }
+        loanRows = Arrays.copyOf(rowColumn, loans[0]);
+        loanCards = Arrays.copyOf(cardColumn, loans[0]);
+        loanDueDays = Arrays.copyOf(dueColumn, loans[0]);
+    }
+
+    /**
+     * Finds the dictionary id for a value, adding the value if it is new.
+     *
+     * @param value  The value to look up.
+     * @param lookup Value to id map for the dictionary.
+     * @param values Dictionary values in id order.
+     * @return The id of the value.
+     */
+    private static int dictionaryId(String value, HashMap<String, Integer> lookup, List<String> values) {
+        Integer id = lookup.get(value);
+        if (id == null) {
+            id = values.size();
+            lookup.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * Retrieves the number of rows (distinct books).
+     *
+     * @return The row count.
+     */
+    public int size() {
+        return copies.length;
+    }
+
+    /**
+     * Retrieves the id used for a subject in the subject column.
+     *
+     * @param subject The subject to look up.
+     * @return The subject id, or -1 if no book has the subject.
+     */
+    public int getSubjectId(String subject) {
+        Integer id = subjectLookup.get(subject);
+        return (id != null) ? id : -1;
+    }
+
+    /**
+     * Finds the rows of books with a subject and more than a number of pages.
+     *
+     * @param subject  The subject to match.
+     * @param minPages Books must have more pages than this.
+     * @return The matching row numbers in ascending order.
+     */
+    public int[] findBySubjectWithPagesOver(String subject, int minPages) {
+        int subjectId = getSubjectId(subject);
+        if (subjectId < 0) {
+            return new int[0];
+        }
+
+        int[] matches = new int[size()];
+        int count = 0;
+        for (int row = 0; row < matches.length; row++) {
+            if (subjectIds[row] == subjectId && pageCounts[row] > minPages) {
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Finds the loans due before a date. Loans without a due date never match.
+     *
+     * @param date The date loans must be due before.
+     * @return The matching loan numbers in ascending order. {@link #getLoanRow(int)} gives each loan's book.
+     */
+    public int[] findDueBefore(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        int[] matches = new int[getLoanCount()];
+        int count = 0;
+        for (int loan = 0; loan < matches.length; loan++) {
+            if (loanDueDays[loan] != NO_DUE_DATE && loanDueDays[loan] < day) {
+                matches[count++] = loan;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Counts the copies owned for a subject.
+     *
+     * @param subject The subject to count.
+     * @return The total copies of books with that subject.
+     */
+    public int countCopies(String subject) {
+        int subjectId = getSubjectId(subject);
+        int total = 0;
+        for (int row = 0; row < subjectIds.length; row++) {
+            if (subjectIds[row] == subjectId) {
+                total += copies[row];
+            }
+        }
+        return total;
+    }
+
+    public int getCopies(int row) {
+        return copies[row];
+    }
+
+    public int getPageCount(int row) {
+        return pageCounts[row];
+    }
+
+
+    public String getSubject(int row) {
+        return subjects[subjectIds[row]];
+    }
+
+    public String getAuthor(int row) {
+        return authors[authorIds[row]];
+    }
+
+    public long getIsbnKey(int row) {
+        return isbnKeys[row];
+    }
+
+    public String getISBN(int row) {
+        return (isbnKeys[row] != Isbn.NONE) ? Isbn.unpack(isbnKeys[row]) : legacyIsbns[row];
+    }
+
+    /**
+     * Finds the row of the book with an ISBN.
+     *
+     * @param isbn The ISBN to look up.
+     * @return The row number, or -1 if no book has the ISBN.
+     */
+    public int findByISBN(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+        long isbnKey = Isbn.pack(isbn);
+        for (int row = 0; row < isbnKeys.length; row++) {
+            if ((isbnKey != Isbn.NONE) ? isbnKeys[row] == isbnKey : isbn.equals(legacyIsbns[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public String getTitle(int row) {
+        return new String(pool, titleOffsets[row], titleOffsets[row + 1] - titleOffsets[row]);
+    }
+
+    /**
+     * Retrieves the number of loans in the loan table.
+     *
+     * @return The loan count.
+     */
+    public int getLoanCount() {
+        return loanRows.length;
+    }
+
+    public int getLoanRow(int loan) {
+        return loanRows[loan];
+    }
+
+    public int getLoanCardNumber(int loan) {
+        return loanCards[loan];
+    }
+
+    public int getLoanDueEpochDay(int loan) {
+        return loanDueDays[loan];
+    }
+
+    /**
+     * Creates a Book object for a row. Due dates belong to loans, so the book has none.
+     *
+     * @param row The row number.
+     * @return A new Book with the row's values.
+     */
+    public Book toBook(int row) {
+        return new Book(getISBN(row), getTitle(row), getSubject(row), pageCounts[row], getAuthor(row), NO_DUE_DATE);
+    }
+}
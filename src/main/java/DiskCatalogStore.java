@@ -0,0 +1,411 @@
+import Utilities.Code;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CatalogStore} that keeps books by ISBN and readers by card number in a {@link BPlusTree} file,
+ * for catalogs larger than the heap. Both record types share one tree; each key starts with a byte naming
+ * its type, so ISBN prefix scans only see books. Loans that don't fit in a reader's record are kept in
+ * numbered loan records after it.
+ * <p>
+ * Changes are only durable once {@link #flush()} returns; see {@link BPlusTree} for what a crash between
+ * flushes can leave behind.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class DiskCatalogStore implements CatalogStore, Closeable {
+    /**
+     * Default number of pages the buffer pool keeps in memory (4 MB).
+     */
+    public static final int DEFAULT_POOL_PAGES = 1024;
+
+    /**
+     * First key byte of each record type.
+     */
+    private static final byte BOOK_KEY = 'B';
+    private static final byte READER_KEY = 'R';
+    private static final byte LOAN_KEY = 'L';
+
+    /**
+     * Bytes left for loans in a loan record after its key and loan count.
+     */
+    private static final int LOAN_RECORD_SPACE = BPlusTree.MAX_ENTRY_SIZE - 7 - Short.BYTES;
+
+    private final BPlusTree tree;
+
+    /**
+     * Opens a store file, creating it if needed.
+     *
+     * @param file      The file holding the store.
+     * @param poolPages The number of pages to keep in memory.
+     * @throws IOException If the file can't be opened.
+     */
+    public DiskCatalogStore(Path file, int poolPages) throws IOException {
+        tree = new BPlusTree(file, poolPages);
+    }
+
+    /**
+     * Copies every book, with its count, and every reader in a library into the store.
+     *
+     * @param library The library to copy.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if everything was stored.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if a book or reader is too large to store.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the store file couldn't be written.
+     */
+    public Code putLibrary(Library library) {
+        CatalogSnapshot snapshot = library.getSnapshot();
+        for (Map.Entry<Book, Integer> entry : snapshot.getBooks().entrySet()) {
+            Code code = putBook(entry.getKey(), entry.getValue());
+            if (code != Code.SUCCESS) {
+                return code;
+            }
+        }
+        for (Reader reader : snapshot.getReaders()) {
+            Code code = putReader(reader);
+            if (code != Code.SUCCESS) {
+                return code;
+            }
+        }
+        return Code.SUCCESS;
+    }
+
+    /**
+     * Stores a book and the number of copies owned, replacing any book with the same ISBN.
+     *
+     * @param book   The book to store.
+     * @param copies The number of copies owned.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the book was stored.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if the book's title, subject, and author are too long to store.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the store file couldn't be written.
+     */
+    public Code putBook(Book book, int copies) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(book.getTitle());
+            out.writeUTF(book.getSubject());
+            out.writeInt(book.getPageCount());
+            out.writeUTF(book.getAuthor());
+            out.writeInt(book.getDueEpochDay());
+            out.writeInt(copies);
+            tree.put(bookKey(book.getISBN()), bytes.toByteArray());
+            return Code.SUCCESS;
+        }
+        catch (IllegalArgumentException e) {
+            return tooLarge(book.toString(), e);
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Loads the book with an ISBN.
+     *
+     * Valid ISBNs are found with or without hyphens and spaces.
+     *
+     * @param isbn The ISBN of the book.
+     * @return A new Book object, or {@code null} if the store has no book with the ISBN or can't be read.
+     */
+    @Override
+    public Book loadBook(String isbn) {
+        isbn = Isbn.normalize(isbn);
+        try {
+            byte[] record = tree.get(bookKey(isbn));
+            return (record != null) ? readBook(isbn, new DataInputStream(new ByteArrayInputStream(record))) : null;
+        }
+        catch (IOException e) {
+            error(e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the number of copies owned of a book.
+     *
+     * @param isbn The ISBN of the book.
+     * @return The number of copies, or -1 if the store has no book with the ISBN or can't be read.
+     */
+    public int loadCopies(String isbn) {
+        isbn = Isbn.normalize(isbn);
+        try {
+            byte[] record = tree.get(bookKey(isbn));
+            if (record == null) {
+                return -1;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            readBook(isbn, in);
+            return in.readInt();
+        }
+        catch (IOException e) {
+            error(e);
+            return -1;
+        }
+    }
+
+    /**
+     * Removes the book with an ISBN.
+     *
+     * @param isbn The ISBN of the book.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the book was removed.<br>
+     *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the store has no book with the ISBN.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the store file couldn't be read.
+     */
+    public Code removeBook(String isbn) {
+        isbn = Isbn.normalize(isbn);
+        try {
+            return tree.remove(bookKey(isbn)) ? Code.SUCCESS : Code.BOOK_NOT_IN_INVENTORY_ERROR;
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Finds books whose ISBN starts with a prefix, in ISBN order.
+     * Hyphens and spaces in an all-digit prefix are ignored.
+     *
+     * @param prefix The ISBN prefix.
+     * @param limit  The largest number of books to return.
+     * @return The matching books. Empty if none match or the store can't be read.
+     */
+    public List<Book> findByIsbnPrefix(String prefix, int limit) {
+        List<Book> found = new ArrayList<>();
+        try {
+            tree.scanPrefix(bookKey(Isbn.normalizePrefix(prefix)), (key, record) -> {
+                String isbn = new String(key, 1, key.length - 1, StandardCharsets.UTF_8);
+                try {
+                    found.add(readBook(isbn, new DataInputStream(new ByteArrayInputStream(record))));
+                }
+                catch (IOException e) {
+                    error(e);
+                    return false;
+                }
+                return found.size() < limit;
+            });
+        }
+        catch (IOException e) {
+            error(e);
+        }
+        return found;
+    }
+
+    /**
+     * Stores a reader and the ISBN and due date of each book they have checked out,
+     * replacing any reader with the same card number. The reader's record holds their details and the number
+     * of loan records; the loans are split across as many loan records as they need.
+     *
+     * @param reader The reader to store.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the reader was stored.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if the reader's name and phone number are too long to store.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the store file couldn't be written.
+     */
+    public Code putReader(Reader reader) {
+        int cardNumber = reader.getCardNumber();
+        try {
+            // Encode the loans into records that each fit in the tree.
+            List<byte[]> loanRecords = new ArrayList<>();
+            ByteArrayOutputStream loanBytes = new ByteArrayOutputStream();
+            DataOutputStream loanOut = new DataOutputStream(loanBytes);
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            int loanCount = 0;
+            for (Map.Entry<Book, Integer> loan : reader.getLoans().entrySet()) {
+                loanBytes.reset();
+                loanOut.writeUTF(loan.getKey().getISBN());
+                loanOut.writeInt(loan.getValue());
+                if (recordBytes.size() + loanBytes.size() > LOAN_RECORD_SPACE) {
+                    loanRecords.add(loanRecord(loanCount, recordBytes));
+                    recordBytes.reset();
+                    loanCount = 0;
+                }
+                loanBytes.writeTo(recordBytes);
+                loanCount++;
+            }
+            if (loanCount > 0) {
+                loanRecords.add(loanRecord(loanCount, recordBytes));
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(reader.getName());
+            out.writeUTF(reader.getPhone());
+            out.writeUTF(reader.getTier().name());
+            out.writeShort(loanRecords.size());
+
+            int oldRecordCount = loanRecordCount(tree.get(readerKey(cardNumber)));
+            tree.put(readerKey(cardNumber), bytes.toByteArray());
+            for (int i = 0; i < loanRecords.size(); i++) {
+                tree.put(loanKey(cardNumber, i), loanRecords.get(i));
+            }
+            // Drop loan records left over from a reader who had more loans.
+            for (int i = loanRecords.size(); i < oldRecordCount; i++) {
+                tree.remove(loanKey(cardNumber, i));
+            }
+            return Code.SUCCESS;
+        }
+        catch (IllegalArgumentException e) {
+            return tooLarge(reader.getName(), e);
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Builds a loan record from a count and the encoded loans.
+     */
+    private static byte[] loanRecord(int loanCount, ByteArrayOutputStream loans) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Short.BYTES + loans.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(loanCount);
+        loans.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the number of loan records from a reader's record.
+     *
+     * @return The count, or 0 if there is no record.
+     */
+    private static int loanRecordCount(byte[] record) throws IOException {
+        if (record == null) {
+            return 0;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        in.readUTF();
+        in.readUTF();
+        in.readUTF();
+        return in.readUnsignedShort();
+    }
+
+    /**
+     * Loads the reader with a card number. Each checked-out book is loaded from the store with the loan's due date.
+     * Books no longer in the store are left out.
+     *
+     * @param cardNumber The card number of the reader.
+     * @return A new Reader object, or {@code null} if the store has no reader with the card number or can't be read.
+     */
+    public Reader loadReader(int cardNumber) {
+        try {
+            byte[] record = tree.get(readerKey(cardNumber));
+            if (record == null) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            Reader reader = new Reader(cardNumber, in.readUTF(), in.readUTF());
+            reader.setTier(ReaderTier.valueOf(in.readUTF()));
+            int loanRecordCount = in.readUnsignedShort();
+            for (int i = 0; i < loanRecordCount; i++) {
+                byte[] loanRecord = tree.get(loanKey(cardNumber, i));
+                if (loanRecord == null) {
+                    continue;
+                }
+                DataInputStream loans = new DataInputStream(new ByteArrayInputStream(loanRecord));
+                int loanCount = loans.readUnsignedShort();
+                for (int j = 0; j < loanCount; j++) {
+                    Book book = loadBook(loans.readUTF());
+                    int dueDay = loans.readInt();
+                    if (book != null) {
+                        reader.addBook(book, dueDay);
+                    }
+                }
+            }
+            return reader;
+        }
+        catch (IOException e) {
+            error(e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the number of records in the store: one for each book and reader,
+     * plus one for each record of a reader's loans.
+     *
+     * @return The record count.
+     */
+    public long size() {
+        return tree.size();
+    }
+
+    /**
+     * Writes every change to disk.
+     *
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the store was flushed.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the store file couldn't be written.
+     */
+    public Code flush() {
+        try {
+            tree.flush();
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        tree.close();
+    }
+
+    private static byte[] bookKey(String isbn) {
+        byte[] isbnBytes = isbn.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[isbnBytes.length + 1];
+        key[0] = BOOK_KEY;
+        System.arraycopy(isbnBytes, 0, key, 1, isbnBytes.length);
+        return key;
+    }
+
+    /**
+     * Builds a reader key that sorts in card number order.
+     */
+    private static byte[] readerKey(int cardNumber) {
+        int sortable = cardNumber ^ Integer.MIN_VALUE;
+        return new byte[] {READER_KEY, (byte) (sortable >>> 24), (byte) (sortable >>> 16), (byte) (sortable >>> 8), (byte) sortable};
+    }
+
+    /**
+     * Builds the key of one of a reader's loan records, sorted after the other loan records of the reader.
+     */
+    private static byte[] loanKey(int cardNumber, int index) {
+        int sortable = cardNumber ^ Integer.MIN_VALUE;
+        return new byte[] {LOAN_KEY, (byte) (sortable >>> 24), (byte) (sortable >>> 16), (byte) (sortable >>> 8), (byte) sortable,
+                (byte) (index >>> 8), (byte) index};
+    }
+
+    private static Book readBook(String isbn, DataInputStream in) throws IOException {
+        String title = in.readUTF();
+        String subject = in.readUTF();
+        int pageCount = in.readInt();
+        String author = in.readUTF();
+        return new Book(isbn, title, subject, pageCount, author, in.readInt());
+    }
+
+    private static Code tooLarge(String record, IllegalArgumentException e) {
+        System.out.println("Can't store " + record);
+        System.out.println("Error message: " + e.getMessage());
+        return Code.LIBRARY_ERROR;
+    }
+
+    private static Code error(IOException e) {
+        System.out.println("Error accessing catalog store");
+        System.out.println("Error message: " + e.getMessage());
+        return Code.FILE_NOT_FOUND_ERROR;
+    }
+}
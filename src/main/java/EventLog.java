@@ -0,0 +1,920 @@
+import Utilities.Code;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Binary log of the commands that changed a library, for rebuilding its state by replay.
+ * A library with a log attached by {@link Library#setEventLog(EventLog)} appends one event for each
+ * command that changed it. Commands that failed without changing anything aren't logged.
+ * <p>
+ * Each event is a frame: an int length, a long sequence number (1, 2, 3, ...), a type byte, the outcome of
+ * every hold queue the command served, and the command's arguments. Books and readers are named by ISBN and card
+ * number; a book's full record is only written when it may be new to the library.
+ * <p>
+ * Events record what the library decided, not only what it was asked: a checkout's due date and which waiting
+ * reader received a returned copy are logged. Replaying doesn't check lending policies or today's date again,
+ * so a replica ends up with the same loans as the library whatever its own policies and clock are. Snapshots hold the whole state and the sequence number of the
+ * last event in them, so recovery loads the newest snapshot and only applies the events after it.
+ * <p>
+ * Lending policies are logged when they are loaded or replaced and are part of every snapshot, so a replica
+ * applies the same rules to its own commands. Reader tier changes and the bulk {@code setBooks},
+ * {@code setShelves}, and {@code setReaders} setters aren't commands and aren't logged. Take a snapshot after
+ * using them.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class EventLog implements Closeable {
+    /**
+     * Event types.
+     */
+    static final byte ADD_BOOKS = 1;
+    static final byte ADD_SHELF = 2;
+    static final byte ADD_READER = 3;
+    static final byte REMOVE_READER = 4;
+    static final byte CHECK_OUT = 5;
+    static final byte RETURN = 6;
+    static final byte RETURN_BOOK = 7;
+    static final byte PLACE_HOLD = 8;
+    static final byte CANCEL_HOLD = 9;
+    static final byte REMOVE_COPIES = 10;
+    static final byte RECEIVE_COPIES = 11;
+    static final byte SET_POLICY = 12;
+
+    /**
+     * First int of a snapshot file. Changed whenever the snapshot layout changes, so an old snapshot is rejected.
+     */
+    private static final int SNAPSHOT_MAGIC = 0x4C425332;
+
+    /**
+     * Number of events a replica can fall behind before it is dropped.
+     */
+    public static final int FOLLOWER_QUEUE_CAPACITY = 8192;
+
+    /**
+     * A replica's stream and the frames waiting to be sent to it. Frames are queued while the library is locked
+     * and written by the follower's own thread, so a slow or stopped replica can't hold up the library.
+     */
+    private static final class Follower {
+        private final DataOutputStream out;
+        private final ArrayBlockingQueue<byte[]> frames;
+        private final Thread sender;
+        private volatile boolean stopped;
+
+        private Follower(OutputStream out, byte[] snapshot) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+            this.frames = new ArrayBlockingQueue<>(FOLLOWER_QUEUE_CAPACITY);
+            this.frames.add(snapshot);
+            this.sender = new Thread(this::send, "event-log-follower");
+            this.sender.setDaemon(true);
+            this.sender.start();
+        }
+
+        /**
+         * Sender thread loop. Writes frames in order and flushes whenever it catches up.
+         */
+        private void send() {
+            try {
+                while (!stopped) {
+                    out.write(frames.take());
+                    if (frames.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            }
+            catch (IOException e) {
+                System.out.println("Replica disconnected");
+                System.out.println("Error message: " + e.getMessage());
+            }
+            catch (InterruptedException e) {
+                // Stopped by close().
+            }
+            finally {
+                stopped = true;
+                try {
+                    out.close();
+                }
+                catch (IOException e) {
+                    // Already disconnected.
+                }
+            }
+        }
+
+        /**
+         * Queues a frame without blocking.
+         *
+         * @return {@code false} if the follower stopped or is too far behind.
+         */
+        private boolean offer(byte[] frame) {
+            return !stopped && frames.offer(frame);
+        }
+
+        private void close() {
+            stopped = true;
+            sender.interrupt();
+        }
+    }
+
+    private final DataOutputStream out;
+
+    /**
+     * Buffer the current event is encoded into before its length is known.
+     */
+    private final ByteArrayOutputStream eventBytes;
+    private final DataOutputStream event;
+
+    /**
+     * Hold outcomes from {@link #holdServed(Reader, int)} for the command being logged, as card number and
+     * due date pairs, and how many there are.
+     */
+    private final ByteArrayOutputStream holdBytes;
+    private final DataOutputStream holds;
+    private int holdCount;
+
+    /**
+     * Sequence number of the last event appended.
+     */
+    private long sequence;
+
+    /**
+     * Library whose commands are logged, and where and how often to write snapshots of it.
+     */
+    private Library library;
+    private Path snapshotFile;
+    private int snapshotInterval;
+
+    /**
+     * Replicas, which are sent each event as soon as it is appended.
+     */
+    private final List<Follower> followers = new ArrayList<>();
+
+    /**
+     * Constructs a log that writes events to a stream, numbering them from 1.
+     *
+     * @param out The stream to write events to.
+     */
+    public EventLog(OutputStream out) {
+        this(out, 0);
+    }
+
+    /**
+     * Constructs a log that writes events to a stream, continuing after an earlier log.
+     *
+     * @param out          The stream to write events to.
+     * @param lastSequence The sequence number of the last event already logged, e.g. from {@link #recover}.
+     */
+    public EventLog(OutputStream out, long lastSequence) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        eventBytes = new ByteArrayOutputStream();
+        event = new DataOutputStream(eventBytes);
+        holdBytes = new ByteArrayOutputStream();
+        holds = new DataOutputStream(holdBytes);
+        sequence = lastSequence;
+    }
+
+    /**
+     * Writes a snapshot of the library to a file every {@code interval} events, replacing the last one.
+     *
+     * @param file     The snapshot file.
+     * @param interval The number of events between snapshots. 0 turns snapshots off.
+     */
+    public synchronized void setSnapshotFile(Path file, int interval) {
+        snapshotFile = file;
+        snapshotInterval = interval;
+    }
+
+    /**
+     * Retrieves the sequence number of the last event appended.
+     *
+     * @return The sequence number, or the starting number if nothing has been logged.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the library whose commands are logged, for periodic snapshots.
+     *
+     * @param library The library, or {@code null} if the log was detached.
+     */
+    synchronized void attach(Library library) {
+        this.library = library;
+    }
+
+    /**
+     * Methods called by {@link Library} after a command changed it. The library is locked during each call.
+     */
+    synchronized Code addBooks(Book book, int copies) {
+        try {
+            begin(ADD_BOOKS);
+            writeBook(event, book);
+            event.writeInt(copies);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code addShelf(Shelf shelf) {
+        try {
+            begin(ADD_SHELF);
+            event.writeInt(shelf.getShelfNumber());
+            event.writeUTF(shelf.getSubject());
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code addReader(Reader reader) {
+        try {
+            begin(ADD_READER);
+            event.writeInt(reader.getCardNumber());
+            event.writeUTF(reader.getName());
+            event.writeUTF(reader.getPhone());
+            event.writeByte(reader.getTier().ordinal());
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code removeReader(Reader reader) {
+        try {
+            begin(REMOVE_READER);
+            event.writeInt(reader.getCardNumber());
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code checkOutBook(Reader reader, Book book, int dueDay) {
+        try {
+            begin(CHECK_OUT);
+            event.writeInt(reader.getCardNumber());
+            event.writeUTF(book.getISBN());
+            event.writeInt(dueDay);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code returnBook(Reader reader, Book book) {
+        return readerAndBook(RETURN, reader, book);
+    }
+
+    synchronized Code returnBook(Book book) {
+        try {
+            begin(RETURN_BOOK);
+            writeBook(event, book);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code placeHold(Reader reader, Book book) {
+        return readerAndBook(PLACE_HOLD, reader, book);
+    }
+
+    synchronized Code cancelHold(Reader reader, Book book) {
+        return readerAndBook(CANCEL_HOLD, reader, book);
+    }
+
+    synchronized Code removeCopies(Book book, int copies) {
+        try {
+            begin(REMOVE_COPIES);
+            event.writeUTF(book.getISBN());
+            event.writeInt(copies);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    synchronized Code receiveCopies(Book book, int copies) {
+        try {
+            begin(RECEIVE_COPIES);
+            writeBook(event, book);
+            event.writeInt(copies);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Records that a command took a reader off a hold queue, so replay serves the queue the same way.
+     * Called while the command runs; the outcome is logged with the command's event.
+     *
+     * @param reader The reader taken off the queue.
+     * @param dueDay The due date of the reader's loan, or {@link Library#HOLD_DROPPED} if the reader didn't get the book.
+     */
+    synchronized void holdServed(Reader reader, int dueDay) {
+        try {
+            holds.writeInt(reader.getCardNumber());
+            holds.writeInt(dueDay);
+            holdCount++;
+        }
+        catch (IOException e) {
+            error(e);
+        }
+    }
+
+    synchronized Code setLendingPolicy(LendingPolicy policy) {
+        try {
+            begin(SET_POLICY);
+            writePolicy(event, policy);
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Appends an event whose arguments are a card number and an ISBN.
+     */
+    private Code readerAndBook(byte type, Reader reader, Book book) {
+        try {
+            begin(type);
+            event.writeInt(reader.getCardNumber());
+            event.writeUTF(book.getISBN());
+            return append();
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Starts encoding an event of a type.
+     */
+    private void begin(byte type) throws IOException {
+        eventBytes.reset();
+        event.writeByte(type);
+        event.writeInt(holdCount);
+        holdBytes.writeTo(event);
+        holdBytes.reset();
+        holdCount = 0;
+    }
+
+    /**
+     * Numbers the encoded event, writes its frame, and writes a snapshot if one is due.
+     */
+    private Code append() throws IOException {
+        sequence++;
+        writeFrame(out);
+
+        // A replica that disconnected or fell too far behind is dropped so it can't stop the library.
+        if (!followers.isEmpty()) {
+            ByteArrayOutputStream frameBytes = new ByteArrayOutputStream(Integer.BYTES + Long.BYTES + eventBytes.size());
+            writeFrame(new DataOutputStream(frameBytes));
+            byte[] frame = frameBytes.toByteArray();
+            for (int i = followers.size() - 1; i >= 0; i--) {
+                Follower follower = followers.get(i);
+                if (!follower.offer(frame)) {
+                    System.out.println("Replica dropped after event " + sequence);
+                    follower.close();
+                    followers.remove(i);
+                }
+            }
+        }
+
+        if (snapshotFile != null && snapshotInterval > 0 && library != null && sequence % snapshotInterval == 0) {
+            return saveSnapshot(library, snapshotFile);
+        }
+        return Code.SUCCESS;
+    }
+
+    private void writeFrame(DataOutputStream stream) throws IOException {
+        stream.writeInt(Long.BYTES + eventBytes.size());
+        stream.writeLong(sequence);
+        eventBytes.writeTo(stream);
+    }
+
+    /**
+     * Starts sending a snapshot and then each event appended after it to a replica, from the replica's own thread.
+     * The caller must hold the library's lock while taking the snapshot and adding the follower,
+     * so the replica receives every event after the snapshot.
+     *
+     * @param follower The stream to the replica.
+     * @param snapshot The snapshot written by {@link #writeSnapshot(Library, OutputStream)}.
+     */
+    synchronized void addFollower(OutputStream follower, byte[] snapshot) {
+        followers.add(new Follower(follower, snapshot));
+    }
+
+    /**
+     * Retrieves the number of replicas events are sent to. Replicas that disconnected are dropped first.
+     *
+     * @return The replica count.
+     */
+    public synchronized int getFollowerCount() {
+        followers.removeIf(follower -> follower.stopped);
+        return followers.size();
+    }
+
+    /**
+     * Writes buffered events to the stream.
+     *
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the events were written.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the stream couldn't be written.
+     */
+    public synchronized Code flush() {
+        try {
+            out.flush();
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Closes the log's stream and stops sending events to replicas.
+     *
+     * @throws IOException If the stream can't be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (Follower follower : followers) {
+            follower.close();
+        }
+        followers.clear();
+        out.close();
+    }
+
+    /**
+     * Applies the events in a log to a library, skipping events already in its state.
+     * The library's own event log is detached while the events are applied, so replayed commands aren't logged again.
+     * A frame cut short at the end of the log, e.g. by a crash while it was written, is ignored.
+     *
+     * @param in            The log to read.
+     * @param library       The library to apply the events to.
+     * @param afterSequence Events with this sequence number or lower are skipped.
+     * @return The sequence number of the last event applied, or afterSequence if none were.
+     */
+    public static long replay(InputStream in, Library library, long afterSequence) {
+        DataInputStream log = dataInput(in);
+        long lastSequence = afterSequence;
+        synchronized (library) {
+            try {
+                while (true) {
+                    lastSequence = Math.max(lastSequence, applyNext(log, library, afterSequence));
+                }
+            }
+            catch (EOFException e) {
+                // End of the log.
+            }
+            catch (IOException e) {
+                error(e);
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Reads the next event in a log and applies it to a library, unless the library already has it.
+     * Blocks until the whole frame has arrived, without holding the library's lock.
+     * The library's own event log is detached while the event is applied.
+     *
+     * @param log           The log to read.
+     * @param library       The library to apply the event to.
+     * @param afterSequence The event is skipped if its sequence number is this or lower.
+     * @return The sequence number of the event.
+     * @throws EOFException If the log ends before the next frame is complete.
+     * @throws IOException  If the log can't be read.
+     */
+    static long applyNext(DataInputStream log, Library library, long afterSequence) throws IOException {
+        int length = log.readInt();
+        long eventSequence = log.readLong();
+        if (eventSequence <= afterSequence) {
+            log.skipNBytes(length - Long.BYTES);
+            return eventSequence;
+        }
+        byte[] body = new byte[length - Long.BYTES];
+        log.readFully(body);
+
+        synchronized (library) {
+            EventLog eventLog = library.getEventLog();
+            library.setEventLog(null);
+            try {
+                apply(library, eventSequence, new DataInputStream(new ByteArrayInputStream(body)));
+            }
+            finally {
+                library.setEventLog(eventLog);
+            }
+        }
+        return eventSequence;
+    }
+
+    /**
+     * Applies one event to a library by calling the command it records, with the hold outcomes the event records.
+     * Events naming a reader or book the library doesn't have are skipped.
+     *
+     * @param library       The library to apply the event to. The caller must hold its lock.
+     * @param eventSequence The sequence number of the event.
+     * @param in            The event's type and arguments.
+     * @return The Code returned by the command.
+     * @throws IOException If the event can't be decoded.
+     */
+    static Code apply(Library library, long eventSequence, DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int[] holdOutcomes = new int[2 * in.readInt()];
+        for (int i = 0; i < holdOutcomes.length; i++) {
+            holdOutcomes[i] = in.readInt();
+        }
+        library.beginReplay(holdOutcomes);
+        try {
+            return apply(library, eventSequence, type, in);
+        }
+        finally {
+            library.endReplay();
+        }
+    }
+
+    /**
+     * Calls the command an event records, for {@link #apply(Library, long, DataInputStream)}.
+     */
+    private static Code apply(Library library, long eventSequence, byte type, DataInputStream in) throws IOException {
+        switch (type) {
+            case ADD_BOOKS:
+                return library.addBooks(readBook(in), in.readInt());
+            case ADD_SHELF:
+                int shelfNumber = in.readInt();
+                return library.addShelf(new Shelf(shelfNumber, in.readUTF()));
+            case ADD_READER:
+                Reader newReader = new Reader(in.readInt(), in.readUTF(), in.readUTF());
+                newReader.setTier(ReaderTier.values()[in.readByte()]);
+                return library.addReader(newReader);
+            case RETURN_BOOK:
+                return library.returnBook(libraryBook(library, readBook(in)));
+            case REMOVE_COPIES: {
+                Book book = library.getBookByISBN(in.readUTF());
+                return (book != null) ? library.removeCopies(book, in.readInt()) : skip(eventSequence);
+            }
+            case RECEIVE_COPIES:
+                return library.receiveCopies(libraryBook(library, readBook(in)), in.readInt());
+            case SET_POLICY:
+                library.setLendingPolicy(readPolicy(in));
+                return Code.SUCCESS;
+            default:
+                break;
+        }
+
+        // The remaining events name a reader first.
+        Reader reader = library.getReaderByCard(in.readInt());
+        if (reader == null) {
+            return skip(eventSequence);
+        }
+        if (type == REMOVE_READER) {
+            return library.removeReader(reader);
+        }
+        Book book = library.getBookByISBN(in.readUTF());
+        if (book == null) {
+            return skip(eventSequence);
+        }
+        switch (type) {
+            case CHECK_OUT:
+                return library.checkOutBook(reader, book, in.readInt());
+            case RETURN:
+                return library.returnBook(reader, book);
+            case PLACE_HOLD:
+                return library.placeHold(reader, book);
+            case CANCEL_HOLD:
+                return library.cancelHold(reader, book);
+            default:
+                System.out.println("Unknown event type " + type + " in event " + eventSequence);
+                return Code.UNKNOWN_ERROR;
+        }
+    }
+
+    /**
+     * Writes a snapshot of a library's books, shelves, readers, holds, and lending policies, with the sequence number
+     * of the last event logged by the library's event log.
+     *
+     * @param library The library to snapshot.
+     * @param out     The stream to write the snapshot to. Not closed.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the snapshot was written.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the stream couldn't be written.
+     */
+    public static Code writeSnapshot(Library library, OutputStream out) {
+        DataOutputStream snapshot = new DataOutputStream(new BufferedOutputStream(out));
+        try {
+            synchronized (library) {
+                EventLog eventLog = library.getEventLog();
+                snapshot.writeInt(SNAPSHOT_MAGIC);
+                snapshot.writeLong((eventLog != null) ? eventLog.getSequence() : 0);
+
+                List<Shelf> shelves = new ArrayList<>(library.getShelves().values());
+                shelves.sort(Comparator.comparingInt(Shelf::getShelfNumber));
+                snapshot.writeInt(shelves.size());
+                for (Shelf shelf : shelves) {
+                    snapshot.writeInt(shelf.getShelfNumber());
+                    snapshot.writeUTF(shelf.getSubject());
+                }
+
+                Map<Book, Integer> books = library.getBooks();
+                snapshot.writeInt(books.size());
+                for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+                    writeBook(snapshot, entry.getKey());
+                    snapshot.writeInt(entry.getValue());
+                }
+
+                for (Shelf shelf : shelves) {
+                    Map<Book, Integer> shelfBooks = shelf.getBooks();
+                    snapshot.writeInt(shelfBooks.size());
+                    for (Map.Entry<Book, Integer> entry : shelfBooks.entrySet()) {
+                        snapshot.writeUTF(entry.getKey().getISBN());
+                        snapshot.writeInt(entry.getValue());
+                    }
+                }
+
+                List<Reader> readers = library.getReaders();
+                snapshot.writeInt(readers.size());
+                for (Reader reader : readers) {
+                    snapshot.writeInt(reader.getCardNumber());
+                    snapshot.writeUTF(reader.getName());
+                    snapshot.writeUTF(reader.getPhone());
+                    snapshot.writeByte(reader.getTier().ordinal());
+                    Map<Book, Integer> loans = reader.getLoans();
+                    snapshot.writeInt(loans.size());
+                    for (Map.Entry<Book, Integer> loan : loans.entrySet()) {
+                        writeBook(snapshot, loan.getKey());
+                        snapshot.writeInt(loan.getValue());
+                    }
+                }
+
+                Map<Book, HoldQueue> holds = library.getHolds();
+                snapshot.writeInt(holds.size());
+                for (Map.Entry<Book, HoldQueue> entry : holds.entrySet()) {
+                    snapshot.writeUTF(entry.getKey().getISBN());
+                    List<Reader> waiting = entry.getValue().getReaders();
+                    snapshot.writeInt(waiting.size());
+                    for (Reader reader : waiting) {
+                        snapshot.writeInt(reader.getCardNumber());
+                    }
+                }
+
+                ReaderTier[] tiers = ReaderTier.values();
+                snapshot.writeInt(tiers.length);
+                for (ReaderTier tier : tiers) {
+                    writePolicy(snapshot, library.getLendingPolicy(tier));
+                }
+            }
+            snapshot.flush();
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Replaces a library's books, shelves, readers, holds, and lending policies with those in a snapshot.
+     *
+     * @param in      The snapshot to read. Only the snapshot is read if in is a DataInputStream.
+     * @param library The library to restore.
+     * @return The sequence number of the last event in the snapshot, or -1 if the snapshot can't be read.
+     */
+    public static long readSnapshot(InputStream in, Library library) {
+        DataInputStream snapshot = dataInput(in);
+        try {
+            if (snapshot.readInt() != SNAPSHOT_MAGIC) {
+                System.out.println("Not a library snapshot");
+                return -1;
+            }
+            long snapshotSequence = snapshot.readLong();
+
+            HashMap<String, Shelf> shelves = new HashMap<>();
+            Shelf[] shelfOrder = new Shelf[snapshot.readInt()];
+            for (int i = 0; i < shelfOrder.length; i++) {
+                int shelfNumber = snapshot.readInt();
+                String subject = snapshot.readUTF();
+                shelfOrder[i] = new Shelf(shelfNumber, subject);
+                shelves.put(subject, shelfOrder[i]);
+            }
+
+            HashMap<Book, Integer> books = new HashMap<>();
+            HashMap<String, Book> booksByIsbn = new HashMap<>();
+            int bookCount = snapshot.readInt();
+            for (int i = 0; i < bookCount; i++) {
+                Book book = readBook(snapshot);
+                books.put(book, snapshot.readInt());
+                booksByIsbn.put(book.getISBN(), book);
+            }
+
+            for (Shelf shelf : shelfOrder) {
+                HashMap<Book, Integer> shelfBooks = new HashMap<>();
+                int entryCount = snapshot.readInt();
+                for (int i = 0; i < entryCount; i++) {
+                    Book book = booksByIsbn.get(snapshot.readUTF());
+                    int copies = snapshot.readInt();
+                    if (book != null) {
+                        shelfBooks.put(book, copies);
+                    }
+                }
+                shelf.setBooks(shelfBooks);
+            }
+
+            List<Reader> readers = new ArrayList<>();
+            HashMap<Integer, Reader> readersByCard = new HashMap<>();
+            int readerCount = snapshot.readInt();
+            for (int i = 0; i < readerCount; i++) {
+                Reader reader = new Reader(snapshot.readInt(), snapshot.readUTF(), snapshot.readUTF());
+                reader.setTier(ReaderTier.values()[snapshot.readByte()]);
+                int loanCount = snapshot.readInt();
+                for (int j = 0; j < loanCount; j++) {
+                    // Share the library's Book object if it still has the book.
+                    Book loan = readBook(snapshot);
+                    Book book = booksByIsbn.get(loan.getISBN());
+                    reader.addBook((book != null) ? book : loan, snapshot.readInt());
+                }
+                readers.add(reader);
+                readersByCard.put(reader.getCardNumber(), reader);
+            }
+
+            HashMap<Book, HoldQueue> holds = new HashMap<>();
+            int holdCount = snapshot.readInt();
+            for (int i = 0; i < holdCount; i++) {
+                Book book = booksByIsbn.get(snapshot.readUTF());
+                HoldQueue queue = new HoldQueue();
+                int waitingCount = snapshot.readInt();
+                for (int j = 0; j < waitingCount; j++) {
+                    Reader reader = readersByCard.get(snapshot.readInt());
+                    if (reader != null) {
+                        queue.add(reader);
+                    }
+                }
+                if (book != null && !queue.isEmpty()) {
+                    holds.put(book, queue);
+                }
+            }
+
+            List<LendingPolicy> policies = new ArrayList<>();
+            int policyCount = snapshot.readInt();
+            for (int i = 0; i < policyCount; i++) {
+                policies.add(readPolicy(snapshot));
+            }
+
+            library.restore(books, shelves, readers, holds, policies);
+            return snapshotSequence;
+        }
+        catch (IOException e) {
+            error(e);
+            return -1;
+        }
+    }
+
+    /**
+     * Writes a snapshot of a library to a file. A temporary file is written and moved into place,
+     * so a crash never leaves a partial snapshot.
+     *
+     * @param library The library to snapshot.
+     * @param file    The snapshot file.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the snapshot was written.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the file couldn't be written.
+     */
+    public static Code saveSnapshot(Library library, Path file) {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            Code code = writeSnapshot(library, out);
+            if (code != Code.SUCCESS) {
+                return code;
+            }
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Rebuilds a library from its newest snapshot, if there is one, and the events logged after it.
+     *
+     * @param library      The library to rebuild.
+     * @param snapshotFile The snapshot file, which may not exist.
+     * @param log          The event log.
+     * @return The sequence number of the last event in the library's state, or -1 if the snapshot can't be read.
+     */
+    public static long recover(Library library, Path snapshotFile, InputStream log) {
+        long snapshotSequence = 0;
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            try (InputStream in = Files.newInputStream(snapshotFile)) {
+                snapshotSequence = readSnapshot(in, library);
+            }
+            catch (IOException e) {
+                error(e);
+                return -1;
+            }
+            if (snapshotSequence < 0) {
+                return -1;
+            }
+        }
+        return replay(log, library, snapshotSequence);
+    }
+
+    /**
+     * Wraps a stream for reading frames, unless it already is a DataInputStream. Reusing the caller's
+     * stream matters when a snapshot and events follow each other on one connection, since a second
+     * buffer would read past the snapshot.
+     */
+    static DataInputStream dataInput(InputStream in) {
+        return (in instanceof DataInputStream) ? (DataInputStream) in : new DataInputStream(new BufferedInputStream(in));
+    }
+
+    private static void writeBook(DataOutputStream out, Book book) throws IOException {
+        out.writeUTF(book.getISBN());
+        out.writeUTF(book.getTitle());
+        out.writeUTF(book.getSubject());
+        out.writeInt(book.getPageCount());
+        out.writeUTF(book.getAuthor());
+        out.writeInt(book.getDueEpochDay());
+    }
+
+    private static Book readBook(DataInputStream in) throws IOException {
+        return new Book(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt(), in.readUTF(), in.readInt());
+    }
+
+    private static void writePolicy(DataOutputStream out, LendingPolicy policy) throws IOException {
+        out.writeByte(policy.getTier().ordinal());
+        out.writeInt(policy.getLendingLimit());
+        out.writeInt(policy.getLoanPeriod());
+        out.writeInt(policy.getMaxOverdue());
+        Map<String, Integer> subjectLimits = policy.getSubjectLimits();
+        out.writeInt(subjectLimits.size());
+        for (Map.Entry<String, Integer> limit : subjectLimits.entrySet()) {
+            out.writeUTF(limit.getKey());
+            out.writeInt(limit.getValue());
+        }
+    }
+
+    private static LendingPolicy readPolicy(DataInputStream in) throws IOException {
+        LendingPolicy policy = new LendingPolicy(ReaderTier.values()[in.readByte()], in.readInt(), in.readInt(), in.readInt());
+        int subjectCount = in.readInt();
+        for (int i = 0; i < subjectCount; i++) {
+            policy.setSubjectLimit(in.readUTF(), in.readInt());
+        }
+        return policy;
+    }
+
+    /**
+     * Finds the library's Book object for a book read from the log.
+     *
+     * @return The library's Book with the same ISBN, or book if the library doesn't have it.
+     */
+    private static Book libraryBook(Library library, Book book) {
+        Book existing = library.getBookByISBN(book.getISBN());
+        return (existing != null) ? existing : book;
+    }
+
+    private static Code skip(long eventSequence) {
+        System.out.println("Skipping event " + eventSequence + ": reader or book not in library");
+        return Code.UNKNOWN_ERROR;
+    }
+
+    private static Code error(IOException e) {
+        System.out.println("Error accessing event log");
+        System.out.println("Error message: " + e.getMessage());
+        return Code.FILE_NOT_FOUND_ERROR;
+    }
+}
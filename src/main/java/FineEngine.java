@@ -0,0 +1,143 @@
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates overdue fines for every loan as of a date, from each loan's own due date.
+ * Each overdue loan is charged a daily rate for its subject, up to a cap per loan.
+ * Readers are split across cores and each reader's total is written to its own slot,
+ * so workers share nothing while the loans are processed.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class FineEngine {
+    /**
+     * Daily rate and cap per loan, in cents, for subjects without their own rates.
+     */
+    private final int defaultDailyCents;
+    private final int defaultCapCents;
+
+    /**
+     * Subject and its daily rate and cap per loan, in cents.
+     */
+    private final HashMap<String, int[]> subjectRates;
+
+    /**
+     * Indexes into each subject's rate array.
+     */
+    private static final int DAILY_RATE = 0;
+    private static final int CAP = 1;
+
+    /**
+     * Constructs a fine engine with the same rate for every subject.
+     *
+     * @param defaultDailyCents The fine in cents for each day a loan is overdue.
+     * @param defaultCapCents   The most one loan can be fined, in cents.
+     */
+    public FineEngine(int defaultDailyCents, int defaultCapCents) {
+        this.defaultDailyCents = defaultDailyCents;
+        this.defaultCapCents = defaultCapCents;
+        subjectRates = new HashMap<>();
+    }
+
+    /**
+     * Sets the rate for overdue books of a subject.
+     *
+     * @param subject    The subject of the books.
+     * @param dailyCents The fine in cents for each day a loan is overdue.
+     * @param capCents   The most one loan can be fined, in cents.
+     */
+    public synchronized void setSubjectRate(String subject, int dailyCents, int capCents) {
+        subjectRates.put(subject, new int[] {dailyCents, capCents});
+    }
+
+    /**
+     * Calculates the fine for one loan. The book's own due date isn't used; loans keep their due dates
+     * with the reader, e.g. {@link Reader#getDueEpochDay(Book)}.
+     *
+     * @param book   The book on loan.
+     * @param dueDay The loan's due date in days since 1970-01-01, or {@link Book#NO_DUE_DATE}.
+     * @param asOf   The date to calculate the fine for, as days since 1970-01-01.
+     * @return The fine in cents, or 0 if the loan isn't overdue.
+     */
+    public synchronized long fineFor(Book book, int dueDay, long asOf) {
+        return fineFor(book, dueDay, asOf, subjectRates);
+    }
+
+    /**
+     * Calculates the fine for a reader's loan of a book, using the loan's due date.
+     *
+     * @param reader The reader who has the book.
+     * @param book   The book on loan.
+     * @param asOf   The date to calculate the fine for, as days since 1970-01-01.
+     * @return The fine in cents, or 0 if the loan isn't overdue or the reader doesn't have the book.
+     */
+    public synchronized long fineFor(Reader reader, Book book, long asOf) {
+        return fineFor(book, reader.getDueEpochDay(book), asOf, subjectRates);
+    }
+
+    /**
+     * Calculates the fines owed by the readers in a snapshot.
+     *
+     * @param snapshot The library snapshot to assess.
+     * @param asOf     The date to calculate fines for.
+     * @return The ledger of readers who owe fines.
+     */
+    public FineLedger assess(CatalogSnapshot snapshot, LocalDate asOf) {
+        return assess(snapshot.getReaders(), asOf);
+    }
+
+    /**
+     * Calculates the fines owed by readers in one parallel pass over their loans.
+     *
+     * @param readers The readers to assess.
+     * @param asOf    The date to calculate fines for.
+     * @return The ledger of readers who owe fines.
+     */
+    public FineLedger assess(List<? extends Reader> readers, LocalDate asOf) {
+        HashMap<String, int[]> rates;
+        synchronized (this) {
+            rates = new HashMap<>(subjectRates);
+        }
+        long asOfDay = asOf.toEpochDay();
+
+        Reader[] readerArray = readers.toArray(new Reader[0]);
+        long[] totals = new long[readerArray.length];
+        IntStream.range(0, readerArray.length).parallel().forEach(i ->
+                readerArray[i].forEachLoan((book, dueDay) -> totals[i] += fineFor(book, dueDay, asOfDay, rates)));
+
+        // Keep readers who owe something, sorted by card number. Each entry packs the card and the reader's index.
+        int owing = 0;
+        long[] order = new long[readerArray.length];
+        for (int i = 0; i < readerArray.length; i++) {
+            if (totals[i] > 0) {
+                order[owing++] = ((long) readerArray[i].getCardNumber() << 32) | i;
+            }
+        }
+        order = Arrays.copyOf(order, owing);
+        Arrays.parallelSort(order);
+
+        int[] cards = new int[owing];
+        long[] cents = new long[owing];
+        for (int i = 0; i < owing; i++) {
+            cards[i] = (int) (order[i] >> 32);
+            cents[i] = totals[(int) order[i]];
+        }
+        return new FineLedger(cards, cents);
+    }
+
+    /**
+     * Calculates the fine for one loan with the given due date and subject rates.
+     */
+    private long fineFor(Book book, int dueDay, long asOfDay, HashMap<String, int[]> rates) {
+        if (dueDay == Book.NO_DUE_DATE || dueDay >= asOfDay) {
+            return 0;
+        }
+        int[] rate = rates.get(book.getSubject());
+        int dailyCents = (rate != null) ? rate[DAILY_RATE] : defaultDailyCents;
+        int capCents = (rate != null) ? rate[CAP] : defaultCapCents;
+        return Math.min(capCents, (asOfDay - dueDay) * dailyCents);
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.Arrays;
+
+/**
+ * Overdue fines owed by each reader, stored as two parallel arrays sorted by card number.
+ * Readers who owe nothing are left out.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class FineLedger {
+    /**
+     * Card numbers in ascending order and the fine in cents owed on each card.
+     */
+    private final int[] cards;
+    private final long[] cents;
+
+    /**
+     * Constructs a ledger from parallel arrays. The arrays are kept, not copied.
+     *
+     * @param cards Card numbers in ascending order.
+     * @param cents The fine in cents for each card.
+     */
+    FineLedger(int[] cards, long[] cents) {
+        this.cards = cards;
+        this.cents = cents;
+    }
+
+    /**
+     * Retrieves the number of readers who owe a fine.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return cards.length;
+    }
+
+    public int getCardNumber(int index) {
+        return cards[index];
+    }
+
+    public long getCents(int index) {
+        return cents[index];
+    }
+
+    /**
+     * Looks up the fine owed on a card.
+     *
+     * @param cardNumber The card number of the reader.
+     * @return The fine in cents, or 0 if the reader owes nothing.
+     */
+    public long getFine(int cardNumber) {
+        int index = Arrays.binarySearch(cards, cardNumber);
+        return (index >= 0) ? cents[index] : 0;
+    }
+
+    /**
+     * Adds up every fine in the ledger.
+     *
+     * @return The total in cents.
+     */
+    public long getTotalCents() {
+        long total = 0;
+        for (long fine : cents) {
+            total += fine;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * First-in, first-out queue of readers waiting for a copy of one book.
+ * Adding and taking the next reader are constant time, and a reader can only wait once per book.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class HoldQueue {
+    /**
+     * Readers in the order they placed their holds, and the same readers for membership checks.
+     */
+    private final ArrayDeque<Reader> waiting;
+    private final HashSet<Reader> members;
+
+    /**
+     * Constructs an empty hold queue.
+     */
+    public HoldQueue() {
+        waiting = new ArrayDeque<>();
+        members = new HashSet<>();
+    }
+
+    /**
+     * Adds a reader to the end of the queue.
+     *
+     * @param reader The reader placing the hold.
+     * @return {@code true} if the reader was added; {@code false} if the reader is already waiting.
+     */
+    public boolean add(Reader reader) {
+        if (!members.add(reader)) {
+            return false;
+        }
+        waiting.addLast(reader);
+        return true;
+    }
+
+    /**
+     * Removes and returns the reader at the front of the queue.
+     *
+     * @return The reader who has waited longest, or {@code null} if nobody is waiting.
+     */
+    public Reader poll() {
+        Reader reader = waiting.pollFirst();
+        if (reader != null) {
+            members.remove(reader);
+        }
+        return reader;
+    }
+
+    /**
+     * Removes a reader from anywhere in the queue.
+     *
+     * @param reader The reader cancelling the hold.
+     * @return {@code true} if the reader was waiting; {@code false} otherwise.
+     */
+    public boolean remove(Reader reader) {
+        if (!members.remove(reader)) {
+            return false;
+        }
+        waiting.remove(reader);
+        return true;
+    }
+
+    /**
+     * Checks if a reader is waiting in the queue.
+     *
+     * @param reader The reader to look for.
+     * @return {@code true} if the reader is waiting; {@code false} otherwise.
+     */
+    public boolean contains(Reader reader) {
+        return members.contains(reader);
+    }
+
+    /**
+     * Retrieves the number of readers waiting.
+     *
+     * @return The count of readers in the queue.
+     */
+    public int size() {
+        return waiting.size();
+    }
+
+    /**
+     * Checks if nobody is waiting.
+     *
+     * @return {@code true} if the queue is empty; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return waiting.isEmpty();
+    }
+
+    /**
+     * Retrieves the waiting readers, longest waiting first.
+     *
+     * @return A new list of the readers in the queue.
+     */
+    public List<Reader> getReaders() {
+        return new ArrayList<>(waiting);
+    }
+}
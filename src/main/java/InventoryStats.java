@@ -0,0 +1,170 @@
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running inventory totals for a library, kept up to date as books are added, checked out, and returned.
+ * Updates happen while the library is locked; reads need no lock and are O(1).
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class InventoryStats {
+    /**
+     * Copies owned by the library, copies on shelves, copies checked out, and distinct books.
+     */
+    private volatile int totalCopies;
+    private volatile int copiesOnShelf;
+    private volatile int copiesOnLoan;
+    private volatile int distinctTitles;
+
+    /**
+     * Subject and the number of copies of that subject owned by the library.
+     */
+    private final ConcurrentHashMap<String, Integer> subjectCopies;
+
+    /**
+     * Constructs inventory totals for an empty library.
+     */
+    public InventoryStats() {
+        subjectCopies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records copies of a book added to the library.
+     *
+     * @param book     The book that was added.
+     * @param copies   The number of copies added.
+     * @param newTitle {@code true} if the library didn't have the book before.
+     */
+    void booksAdded(Book book, int copies, boolean newTitle) {
+        totalCopies += copies;
+        if (newTitle) {
+            distinctTitles++;
+        }
+        subjectCopies.merge(book.getSubject(), copies, Integer::sum);
+    }
+
+    /**
+     * Records copies of a book removed from the library.
+     *
+     * @param book      The book that was removed.
+     * @param copies    The number of copies removed.
+     * @param lastTitle {@code true} if the library no longer has the book.
+     */
+    void booksRemoved(Book book, int copies, boolean lastTitle) {
+        totalCopies -= copies;
+        if (lastTitle) {
+            distinctTitles--;
+        }
+        subjectCopies.computeIfPresent(book.getSubject(), (subject, count) -> (count > copies) ? count - copies : null);
+    }
+
+    void shelved(int copies) {
+        copiesOnShelf += copies;
+    }
+
+    void unshelved(int copies) {
+        copiesOnShelf -= copies;
+    }
+
+    void loaned() {
+        copiesOnLoan++;
+    }
+
+    void returned() {
+        copiesOnLoan--;
+    }
+
+    /**
+     * Recomputes every total from the library's collections.
+     *
+     * @param books   Book objects registered to the library and the count of each book.
+     * @param shelves Shelf subject and Shelf object.
+     * @param readers Readers registered to the library.
+     */
+    void rebuild(Map<Book, Integer> books, Map<String, Shelf> shelves, List<Reader> readers) {
+        int total = 0;
+        subjectCopies.clear();
+        for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+            total += entry.getValue();
+            subjectCopies.merge(entry.getKey().getSubject(), entry.getValue(), Integer::sum);
+        }
+        totalCopies = total;
+        distinctTitles = books.size();
+
+        int onShelf = 0;
+        for (Shelf shelf : shelves.values()) {
+            onShelf += shelf.getTotalBookCount();
+        }
+        copiesOnShelf = onShelf;
+
+        int onLoan = 0;
+        for (Reader reader : readers) {
+            onLoan += reader.getBookCount();
+        }
+        copiesOnLoan = onLoan;
+    }
+
+    /**
+     * Retrieves the number of copies of all books owned by the library, the same total {@link Library#listBooks()} returns.
+     *
+     * @return The total number of copies.
+     */
+    public int getTotalCopies() {
+        return totalCopies;
+    }
+
+    /**
+     * Retrieves the number of copies sitting on shelves, ready to be checked out.
+     *
+     * @return The number of copies on shelves.
+     */
+    public int getCopiesOnShelf() {
+        return copiesOnShelf;
+    }
+
+    /**
+     * Retrieves the number of copies checked out to readers.
+     *
+     * @return The number of copies on loan.
+     */
+    public int getCopiesOnLoan() {
+        return copiesOnLoan;
+    }
+
+    /**
+     * Retrieves the number of different books owned by the library.
+     *
+     * @return The number of distinct titles.
+     */
+    public int getDistinctTitles() {
+        return distinctTitles;
+    }
+
+    /**
+     * Retrieves the number of copies owned by the library for a subject.
+     *
+     * @param subject The subject to look up.
+     * @return The number of copies with that subject, or 0 if there are none.
+     */
+    public int getSubjectCopies(String subject) {
+        Integer copies = subjectCopies.get(subject);
+        return (copies != null) ? copies : 0;
+    }
+
+    /**
+     * Retrieves the number of copies owned by the library for every subject.
+     *
+     * @return A read-only map of subject to number of copies.
+     */
+    public Map<String, Integer> getSubjectCopies() {
+        return Collections.unmodifiableMap(subjectCopies);
+    }
+
+    @Override
+    public String toString() {
+        return totalCopies + " copies of " + distinctTitles + " titles, " + copiesOnShelf + " on shelves, "
+                + copiesOnLoan + " on loan";
+    }
+}
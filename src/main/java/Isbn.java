@@ -0,0 +1,184 @@
+/**
+ * Packs ISBN strings into {@code long} keys so ISBNs can be compared and hashed as numbers.
+ * A valid ISBN-13 (13 digits) or ISBN-10 (9 digits and a digit or 'X') is packed into a positive key,
+ * ignoring any hyphens or spaces, so "978-0-306-40615-7" and "9780306406157" get the same key.
+ * Any other code, such as "42-w-87", has no key and is kept as a string by its {@link Book}.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public final class Isbn {
+    /**
+     * Key for a {@code null} ISBN, and for codes that aren't valid ISBNs.
+     */
+    public static final long NONE = 0;
+
+    /**
+     * Tag bits marking the two kinds of packed ISBN.
+     */
+    private static final long ISBN_13_TAG = 1L << 60;
+    private static final long ISBN_10_TAG = 1L << 61;
+
+    private Isbn() {
+    }
+
+    /**
+     * Packs an ISBN into a key. Hyphens and spaces are ignored.
+     *
+     * @param isbn The ISBN to pack.
+     * @return The key for the ISBN, or {@link #NONE} if isbn is {@code null} or isn't a valid ISBN-10 or ISBN-13.
+     */
+    public static long pack(String isbn) {
+        if (isbn == null) {
+            return NONE;
+        }
+        return packValid(stripSeparators(isbn));
+    }
+
+    /**
+     * Converts an ISBN to the form books and indexes are keyed by, so lookups find a book however its
+     * ISBN was written. Valid ISBNs lose their hyphens and spaces; any other code is returned as given.
+     * An ISBN that is already in that form is returned without creating a new String.
+     *
+     * @param isbn The ISBN as written.
+     * @return The ISBN as {@link Book#getISBN()} returns it, or {@code null} if isbn is {@code null}.
+     */
+    public static String normalize(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String digits = stripSeparators(isbn);
+        return (packValid(digits) != NONE) ? digits : isbn;
+    }
+
+    /**
+     * Converts the start of an ISBN to the form books are keyed by, for prefix searches.
+     * Hyphens and spaces are removed when the rest is digits, as in "978-0-306"; any other prefix,
+     * such as "42-w", may belong to a code that isn't an ISBN and is returned as given.
+     *
+     * @param prefix The start of an ISBN as written.
+     * @return The prefix as it appears at the start of {@link Book#getISBN()}, or {@code null} if prefix is {@code null}.
+     */
+    public static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        String digits = stripSeparators(prefix);
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if ((c < '0' || c > '9') && !(c == 'X' && i == 9 && digits.length() == 10)) {
+                return prefix;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Turns a key back into its ISBN, without hyphens or spaces.
+     *
+     * @param key A key from {@link #pack(String)}.
+     * @return The ISBN, or {@code null} for {@link #NONE}.
+     */
+    public static String unpack(long key) {
+        if ((key & ISBN_13_TAG) != 0) {
+            char[] chars = new char[13];
+            writeDigits(key & ~ISBN_13_TAG, chars, 13);
+            return new String(chars);
+        }
+        if ((key & ISBN_10_TAG) != 0) {
+            long value = key & ~ISBN_10_TAG;
+            long check = value % 11;
+            char[] chars = new char[10];
+            writeDigits(value / 11, chars, 9);
+            chars[9] = (check == 10) ? 'X' : (char) ('0' + check);
+            return new String(chars);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a key holds a packed ISBN-10 or ISBN-13.
+     *
+     * @param key A key from {@link #pack(String)}.
+     * @return {@code true} if the key is a packed valid ISBN.
+     */
+    public static boolean isValid(long key) {
+        return key > 0;
+    }
+
+    /**
+     * Removes the hyphens and spaces ISBNs are often printed with.
+     *
+     * @param isbn The ISBN as written.
+     * @return The ISBN with only its digits and check character.
+     */
+    private static String stripSeparators(String isbn) {
+        if (isbn.indexOf('-') < 0 && isbn.indexOf(' ') < 0) {
+            return isbn;
+        }
+        StringBuilder digits = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && c != ' ') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Writes a number as a fixed number of decimal digits, with leading zeros.
+     *
+     * @param value  The number to write.
+     * @param chars  The array to write the digits to.
+     * @param length The number of digits to write at the start of chars.
+     */
+    private static void writeDigits(long value, char[] chars, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Packs a valid ISBN-13 or ISBN-10.
+     *
+     * @param isbn The ISBN to pack.
+     * @return The packed key, or {@link #NONE} if isbn isn't a valid ISBN with a correct check digit.
+     */
+    private static long packValid(String isbn) {
+        int length = isbn.length();
+        if (length == 13) {
+            long value = 0;
+            int sum = 0;
+            for (int i = 0; i < 13; i++) {
+                int digit = isbn.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return NONE;
+                }
+                value = value * 10 + digit;
+                sum += (i % 2 == 0) ? digit : 3 * digit;
+            }
+            return (sum % 10 == 0) ? (value | ISBN_13_TAG) : NONE;
+        }
+        if (length == 10) {
+            long value = 0;
+            int sum = 0;
+            for (int i = 0; i < 9; i++) {
+                int digit = isbn.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return NONE;
+                }
+                value = value * 10 + digit;
+                sum += (10 - i) * digit;
+            }
+            char last = isbn.charAt(9);
+            int check = (last == 'X') ? 10 : last - '0';
+            if (check < 0 || check > 10 || (check == 10 && last != 'X')) {
+                return NONE;
+            }
+            sum += check;
+            return (sum % 11 == 0) ? ((value * 11 + check) | ISBN_10_TAG) : NONE;
+        }
+        return NONE;
+    }
+}
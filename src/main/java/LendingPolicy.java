@@ -0,0 +1,173 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lending rules for one reader tier: how many books can be checked out, for how long,
+ * how many books of a single subject, and how many overdue books are allowed before checkouts are blocked.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class LendingPolicy {
+    /**
+     * Holds integers used to index policy information in String array.
+     */
+    public static final int TIER_ = 0;
+    public static final int LENDING_LIMIT_ = 1;
+    public static final int LOAN_PERIOD_ = 2;
+    public static final int MAX_OVERDUE_ = 3;
+    public static final int SUBJECT_LIMITS_START_ = 4;
+
+    /**
+     * Loan period in days used when no policy file is loaded.
+     */
+    public static final int DEFAULT_LOAN_PERIOD = 14;
+
+    /**
+     * Value of {@code maxOverdue} meaning overdue books never block a checkout.
+     */
+    public static final int NO_OVERDUE_LIMIT = -1;
+
+    /**
+     * Policy information.
+     */
+    private final ReaderTier tier;
+    private final int lendingLimit;
+    private final int loanPeriod;
+    private final int maxOverdue;
+    private final HashMap<String, Integer> subjectLimits;
+
+    /**
+     * Constructs a policy with no per-subject limits.
+     *
+     * @param tier         The reader tier the policy applies to.
+     * @param lendingLimit Maximum number of books a reader can check out at a time.
+     * @param loanPeriod   Number of days a book can be kept.
+     * @param maxOverdue   Maximum number of overdue books a reader can have and still check out,
+     *                     or {@link #NO_OVERDUE_LIMIT}.
+     */
+    public LendingPolicy(ReaderTier tier, int lendingLimit, int loanPeriod, int maxOverdue) {
+        this.tier = tier;
+        this.lendingLimit = lendingLimit;
+        this.loanPeriod = loanPeriod;
+        this.maxOverdue = maxOverdue;
+        this.subjectLimits = new HashMap<>();
+    }
+
+    /**
+     * Creates a policy from the fields of one line of a policy file:<br>
+     * {@code tier,lendingLimit,loanPeriod,maxOverdue[,subject,limit]...}
+     *
+     * @param fields The comma separated fields of the line.
+     * @return The LendingPolicy described by the fields.<br>
+     *         Returns {@code null} if the tier is unknown, a number can't be parsed, or a subject has no limit.
+     */
+    public static LendingPolicy fromFields(String[] fields) {
+        if (fields.length < SUBJECT_LIMITS_START_ || (fields.length - SUBJECT_LIMITS_START_) % 2 != 0) {
+            System.out.println("Expected tier, limit, loan period, max overdue, and subject/limit pairs");
+            return null;
+        }
+
+        ReaderTier tier;
+        try {
+            tier = ReaderTier.valueOf(fields[TIER_].trim().toUpperCase());
+        }
+        catch (IllegalArgumentException e) {
+            System.out.println("Unknown reader tier: " + fields[TIER_]);
+            return null;
+        }
+
+        int lendingLimit = parseCount(fields[LENDING_LIMIT_]);
+        int loanPeriod = parseCount(fields[LOAN_PERIOD_]);
+        int maxOverdue = parseCount(fields[MAX_OVERDUE_]);
+        if (lendingLimit < 0 || loanPeriod < 0 || maxOverdue < NO_OVERDUE_LIMIT) {
+            return null;
+        }
+
+        LendingPolicy policy = new LendingPolicy(tier, lendingLimit, loanPeriod, maxOverdue);
+        for (int i = SUBJECT_LIMITS_START_; i < fields.length; i += 2) {
+            int subjectLimit = parseCount(fields[i + 1]);
+            if (subjectLimit < 0) {
+                return null;
+            }
+            policy.setSubjectLimit(fields[i], subjectLimit);
+        }
+        return policy;
+    }
+
+    /**
+     * Converts a policy field to an int.
+     *
+     * @param field The field to convert.
+     * @return The converted value, or {@code Integer.MIN_VALUE} if it isn't a number.
+     */
+    private static int parseCount(String field) {
+        try {
+            return Integer.parseInt(field.trim());
+        }
+        catch (NumberFormatException e) {
+            System.out.println("Could not parse policy value: " + field);
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Sets the maximum number of books of a subject a reader can check out at a time.
+     *
+     * @param subject The subject to limit.
+     * @param limit   The maximum number of books of that subject.
+     */
+    public void setSubjectLimit(String subject, int limit) {
+        subjectLimits.put(subject, limit);
+    }
+
+    /**
+     * Retrieves the maximum number of books of a subject a reader can check out at a time.
+     *
+     * @param subject The subject to look up.
+     * @return The subject limit, or -1 if the subject is only limited by the lending limit.
+     */
+    public int getSubjectLimit(String subject) {
+        Integer limit = subjectLimits.get(subject);
+        return (limit != null) ? limit : -1;
+    }
+
+    /**
+     * Retrieves every subject with its own limit.
+     *
+     * @return A read-only map of subject to limit.
+     */
+    public Map<String, Integer> getSubjectLimits() {
+        return Collections.unmodifiableMap(subjectLimits);
+    }
+
+    /**
+     * Checks if any subject has its own limit.
+     *
+     * @return {@code true} if at least one subject limit is set; {@code false} otherwise.
+     */
+    public boolean hasSubjectLimits() {
+        return !subjectLimits.isEmpty();
+    }
+
+    public ReaderTier getTier() {
+        return tier;
+    }
+
+    public int getLendingLimit() {
+        return lendingLimit;
+    }
+
+    public int getLoanPeriod() {
+        return loanPeriod;
+    }
+
+    public int getMaxOverdue() {
+        return maxOverdue;
+    }
+
+    @Override
+    public String toString() {
+        return tier + ": " + lendingLimit + " books for " + loanPeriod + " days";
+    }
+}
@@ -1,8 +1,12 @@
 import Utilities.Code;
 
 import java.io.File;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.temporal.ChronoField;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Part 4 of Library Project. Represents a library that contains readers, shelves, and books.
@@ -12,19 +16,30 @@ import java.util.*;
  */
 public class Library {
   /**
-   * Maximum number of books a reader can check out at a time.
+   * Maximum number of books a reader can check out at a time when no lending policy file is loaded.
    */
   public static final int LENDING_LIMIT = 5;
 
+  /**
+   * Default number of books kept in the ISBN lookup cache.
+   */
+  public static final int DEFAULT_BOOK_CACHE_SIZE = 1024;
+
   /**
    * Contains Book objects registered to the library and the count of each book.
    */
   private HashMap<Book, Integer> books;
 
   /**
-   * Current maximum library card number. Initializes with '0'.
+   * Hands out library card numbers and tracks the current maximum card number, which starts at '0'.
+   * Shared by every library that isn't given its own allocator, so their card numbers are unique across instances.
    */
-  private static int libraryCard;
+  private static final CardNumberAllocator sharedCardAllocator = new CardNumberAllocator();
+
+  /**
+   * Hands out this library's card numbers and sees every card number registered here.
+   */
+  private volatile CardNumberAllocator cardAllocator;
 
   /**
    * Name of the library.
@@ -41,16 +56,129 @@ public class Library {
    */
   private HashMap<String, Shelf> shelves;
 
+  /**
+   * Incremented every time books, shelves, or readers change through the library.
+   */
+  private volatile long version;
+
+  /**
+   * Most recently published snapshot. Replaced when a newer version is requested.
+   */
+  private volatile CatalogSnapshot snapshot;
+
+  /**
+   * Read-only copy of {@code books} shared by snapshots, or {@code null} if the books changed since it was made.
+   * Shelves and readers keep their own copies, so a new snapshot only copies what changed.
+   */
+  private Map<Book, Integer> booksCopy;
+
+  /**
+   * Title and author words of every book in the library.
+   */
+  private final SearchIndex searchIndex;
+
+  /**
+   * Copies of each ISBN currently on the shelves.
+   */
+  private final AvailabilityIndex availability;
+
+  /**
+   * Running totals of copies owned, shelved, and checked out.
+   */
+  private InventoryStats inventoryStats;
+
+  /**
+   * Operation counts, result codes, and latencies for this library.
+   */
+  private final LibraryMetrics metrics;
+
+  /**
+   * Lending policy for each reader tier, indexed by {@code ReaderTier.ordinal()}.
+   */
+  private LendingPolicy[] policies;
+
+  /**
+   * Readers waiting for each book, in the order they placed their holds.
+   */
+  private HashMap<Book, HoldQueue> holds;
+
+  /**
+   * Where {@link #getBookByISBN(String)} loads books from, and the cache of recently looked up books in front of it.
+   * The default store searches {@code books}.
+   */
+  private volatile CatalogStore catalogStore;
+  private volatile TinyLfuCache<String, Book> bookCache;
+
+  /**
+   * The library's books by ISBN, searched by the default store. The cache calls the store without this library's
+   * lock, so the index is concurrent and is replaced whole when {@code books} is.
+   */
+  private volatile ConcurrentHashMap<String, Book> booksByIsbn;
+
+  /**
+   * Log that every command changing the library is recorded in, or {@code null} if commands aren't logged.
+   */
+  private EventLog eventLog;
+
+  /**
+   * Due date recorded for a hold whose reader was passed over, in place of the due date of the loan they got.
+   */
+  static final int HOLD_DROPPED = Integer.MAX_VALUE;
+
+  /**
+   * Hold outcomes read from the event being replayed, as {card number, due date or HOLD_DROPPED} pairs,
+   * and the next one to use. {@code null} unless an event is being replayed. A replayed command repeats
+   * what the logging library decided instead of checking this library's policies and today's date again.
+   */
+  private int[] replayedHolds;
+  private int replayedHoldIndex;
+
+  /**
+   * Source of {@code lockOrder} values, and this library's place in the order in which
+   * libraries must be locked when more than one is locked at once.
+   */
+  private static final AtomicLong nextLockOrder = new AtomicLong();
+  private final long lockOrder = nextLockOrder.incrementAndGet();
+
   /**
    * Constructor for creating a new library with the specified name.
+   * Card numbers are shared with every other library created without its own allocator.
    *
    * @param name The name of the library.
    */
   public Library(String name) {
+    this(name, sharedCardAllocator);
+  }
+
+  /**
+   * Constructor for creating a new library with the specified name that issues card numbers from its own allocator,
+   * e.g. a branch with its own block of numbers or a replica that mustn't touch the primary's numbers.
+   *
+   * @param name          The name of the library.
+   * @param cardAllocator The allocator card numbers are issued from and registered readers' numbers are recorded in.
+   */
+  public Library(String name, CardNumberAllocator cardAllocator) {
     this.name = name;
+    this.cardAllocator = cardAllocator;
     books = new HashMap<>();
+    booksByIsbn = new ConcurrentHashMap<>();
     readers = new ArrayList<>();
     shelves = new HashMap<>();
+    searchIndex = new SearchIndex();
+    availability = new AvailabilityIndex();
+    inventoryStats = new InventoryStats();
+    metrics = new LibraryMetrics();
+    holds = new HashMap<>();
+    catalogStore = this::findBookByISBN;
+    bookCache = new TinyLfuCache<>(DEFAULT_BOOK_CACHE_SIZE);
+
+    // Every tier starts with the default lending limit until a policy file is loaded.
+    ReaderTier[] tiers = ReaderTier.values();
+    policies = new LendingPolicy[tiers.length];
+    for (ReaderTier tier : tiers) {
+      policies[tier.ordinal()] = new LendingPolicy(tier, LENDING_LIMIT, LendingPolicy.DEFAULT_LOAN_PERIOD,
+          LendingPolicy.NO_OVERDUE_LIMIT);
+    }
   }
 
   /**
@@ -62,7 +190,20 @@ public class Library {
    *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the specified file is not found.<br>
    *         Returns other error codes for various initialization failures.
    */
-  public Code init(String filename) {
+  public synchronized Code init(String filename) {
+    long start = System.nanoTime();
+    Code code = initLibrary(filename);
+    metrics.record(LibraryMetrics.Operation.INIT, code, start);
+    return code;
+  }
+
+  /**
+   * Parses the specified file for {@link #init(String)}.
+   *
+   * @param filename The name of the file containing information on books, shelves, and readers.
+   * @return A {@code Code} object indicating the success or failure of the initialization.
+   */
+  private Code initLibrary(String filename) {
     File file = new File(filename);
     Scanner fileScanner;
 
@@ -82,7 +223,7 @@ public class Library {
     // If recordCount < 0, return Code object associated with number.
     // Get Code.UNKNOWN_ERROR if no error associated with number.
     if (recordCount < 0) {
-      return getCodeByNumber(recordCount);
+      return Code.fromNumber(recordCount);
     }
 
     // Parse books, shelves, and readers.
@@ -100,7 +241,7 @@ public class Library {
     // If recordCount < 0, return Code object associated with number.
     // Get Code.UNKNOWN_ERROR if no error associated with number.
     if (recordCount < 0) {
-      return getCodeByNumber(recordCount);
+      return Code.fromNumber(recordCount);
     }
 
     Code initShelvesCode = initShelves(recordCount, fileScanner);
@@ -116,7 +257,7 @@ public class Library {
     // If recordCount < 0, return Code object associated with number.
     // Get Code.UNKNOWN_ERROR if no error associated with number.
     if (recordCount < 0) {
-      return getCodeByNumber(recordCount);
+      return Code.fromNumber(recordCount);
     }
 
     Code initReaderCode = initReader(recordCount, fileScanner);
@@ -147,6 +288,9 @@ public class Library {
       return Code.LIBRARY_ERROR;
     }
 
+    // Count copies of each book first so each book is added to the library once, in file order.
+    LinkedHashMap<Book, Integer> bookCopies = new LinkedHashMap<>();
+
     // Iterate through records and convert each line to book.
     for (int i = 0; i < bookCount; i++) {
       String line = scan.nextLine();
@@ -174,15 +318,16 @@ public class Library {
         return Code.PAGE_COUNT_ERROR;
       }
 
-      // Convert due date to LocalDate and verify it's valid.
-      LocalDate dueDate = convertDate(dueDateString, Code.DUE_DATE_ERROR);
-      if (dueDate == null) {
-        return Code.DATE_CONVERSION_ERROR;
-      }
+      // Convert due date to days since 1970-01-01.
+      int dueDay = convertEpochDay(dueDateString);
+
+      // Everything went well. Create Book object and count the copy.
+      Book book = new Book(isbn, title, subject, pageCount, author, dueDay);
+      bookCopies.merge(book, 1, Integer::sum);
+    }
 
-      // Everything went well. Create Book object and add it to library.
-      Book book = new Book(isbn, title, subject, pageCount, author, dueDate);
-      addBook(book);
+    for (Map.Entry<Book, Integer> entry : bookCopies.entrySet()) {
+      addBooks(entry.getKey(), entry.getValue());
     }
     return Code.SUCCESS;
   }
@@ -301,12 +446,8 @@ public class Library {
           continue;
         }
 
-        // Book found. Set due date.
-        LocalDate dueDate = convertDate(dueDateString, Code.DATE_CONVERSION_ERROR);
-        book.setDueDate(dueDate);
-
-        // Add book to reader.
-        checkOutBook(reader, book);
+        // Book found. Add book to reader, due on the date in the file.
+        checkOutBook(reader, book, convertEpochDay(dueDateString));
         currBookCount++;
       }
     }
@@ -314,45 +455,80 @@ public class Library {
   }
 
   /**
-   * Retrieves the Code object associated with the specified code number.
+   * Adds a new book to the library or increments the count if the book already exists.
    *
-   * @param codeNumber The numeric value of the Code object to retrieve.
-   * @return The Code object corresponding to the given codeNumber.<br>
-   *         Returns {@code Code.UNKNOWN_ERROR} if no Code object is found with the specified codeNumber.
+   * @param newBook The Book object to be added to the library.
+   * @return A Code object indicating the success or failure of the addition.<br>
+   *         Returns {@code Code.SUCCESS} if the book is successfully added or its count is incremented.<br>
+   *         Returns {@code Code.SHELF_EXISTS_ERROR} if no shelf with a matching subject exists.
    */
-  private Code getCodeByNumber(int codeNumber) {
-    // Find Code object with corresponding codeNumber.
-    for (Code code : Code.values()) {
-      if (code.getCode() == codeNumber) {
-          return code;
-      }
-    }
-    // No corresponding error with codeNumber found.
-    return Code.UNKNOWN_ERROR;
+  public synchronized Code addBook(Book newBook) {
+    return addBooks(newBook, 1);
   }
 
   /**
-   * Adds a new book to the library or increments the count if the book already exists.
+   * Adds several copies of a book to the library at once, or increases the count if the book already exists.
+   * The library and shelf are updated once no matter how many copies are added. As with {@link #addBook(Book)},
+   * only a new book puts a copy on its shelf.
    *
    * @param newBook The Book object to be added to the library.
+   * @param copies  The number of copies to add.
    * @return A Code object indicating the success or failure of the addition.<br>
-   *         Returns {@code Code.SUCCESS} if the book is successfully added or its count is incremented.<br>
+   *         Returns {@code Code.SUCCESS} if the copies are successfully added or the count is increased.<br>
+   *         Returns {@code Code.BOOK_RECORD_COUNT_ERROR} if copies is less than 1.<br>
    *         Returns {@code Code.SHELF_EXISTS_ERROR} if no shelf with a matching subject exists.
    */
-  public Code addBook(Book newBook) {
+  public synchronized Code addBooks(Book newBook, int copies) {
+    long start = System.nanoTime();
+    long startVersion = version;
+    Code code = addBooksToLibrary(newBook, copies);
+    metrics.record(LibraryMetrics.Operation.ADD_BOOK, code, start);
+    if (eventLog != null && version != startVersion) {
+      eventLog.addBooks(newBook, copies);
+    }
+    return code;
+  }
+
+  /**
+   * Adds copies of a book to the stacks and shelf for {@link #addBooks(Book, int)}.
+   *
+   * @param newBook The Book object to be added to the library.
+   * @param copies  The number of copies to add.
+   * @return A Code object indicating the success or failure of the addition.
+   */
+  private Code addBooksToLibrary(Book newBook, int copies) {
+    if (copies < 1) {
+      System.out.println("Can't add " + copies + " copies of a book");
+      return Code.BOOK_RECORD_COUNT_ERROR;
+    }
+
     // Get book title here because it's needed in multiple places.
     String newBookTitle = newBook.getTitle();
 
-    if (books.containsKey(newBook)) {
-      // Book already exists in library, increment the count.
-      int newBookCount = books.get(newBook) + 1;
+    Integer bookCount = books.get(newBook);
+    if (bookCount != null) {
+      // Book already exists in library, increase the count. Readers waiting for it receive the new copies first.
+      int newBookCount = bookCount + copies;
       books.put(newBook, newBookCount);
+      booksCopy = null;
+      inventoryStats.booksAdded(newBook, copies, false);
+      version++;
+      int heldCopies = 0;
+      while (heldCopies < copies && checkOutToNextHold(newBook)) {
+        heldCopies++;
+      }
       System.out.println(newBookCount + " copies of " + newBookTitle + " in the stacks");
       return Code.SUCCESS;
     }
     else {
-      // Book doesn't exist in library, add it with a count of 1.
-      books.put(newBook, 1);
+      // Book doesn't exist in library, add it with the given count.
+      books.put(newBook, copies);
+      booksCopy = null;
+      booksByIsbn.putIfAbsent(newBook.getISBN(), newBook);
+      searchIndex.add(newBook);
+      availability.register(newBook.getISBN());
+      inventoryStats.booksAdded(newBook, copies, true);
+      version++;
       System.out.println(newBookTitle + " added to the stacks");
 
       // Check if shelf with matching subject exists.
@@ -382,14 +558,14 @@ public class Library {
    *         Returns the error code returned by the {@code Shelf.addBook} method if it encounters an error.
    */
   private Code addBookToShelf(Book book, Shelf shelf) {
-    // Try returning book to shelf with returnBook(Book) method first.
-    Code returnBookCode = returnBook(book);
+    // Try returning book to shelf with shelveBook(Book) method first.
+    Code returnBookCode = shelveBook(book);
     if (returnBookCode == Code.SUCCESS) {
       // Successfully returned book to shelf.
       return Code.SUCCESS;
     }
 
-    // returnBook() was unsuccessful.
+    // shelveBook() was unsuccessful.
     // Check if book subject matches shelf subject.
     String bookSubject = book.getSubject();
     String shelfSubject = shelf.getSubject();
@@ -401,6 +577,7 @@ public class Library {
     Code addBookToShelfCode = shelf.addBook(book);
     if (addBookToShelfCode == Code.SUCCESS) {
       // Successfully added book to shelf.
+      copyShelved(book);
       System.out.println(book + "added to shelf");
       return Code.SUCCESS;
     }
@@ -420,7 +597,7 @@ public class Library {
    *         Returns {@code Code.READER_ALREADY_EXISTS_ERROR} if a reader with the same information already exists.<br>
    *         Returns {@code Code.READER_CARD_NUMBER_ERROR} if a reader with the same card number already exists.
    */
-  public Code addReader(Reader reader) {
+  public synchronized Code addReader(Reader reader) {
     // Reader already exists
     if (readers.contains(reader)) {
       System.out.println(reader.getName() + " already has an account!");
@@ -440,10 +617,12 @@ public class Library {
     }
 
     readers.add(reader);
+    version++;
     System.out.println(readerName + " added to the library!");
 
-    if (readerCardNumber > libraryCard) {
-      libraryCard = readerCardNumber;
+    cardAllocator.observe(readerCardNumber);
+    if (eventLog != null) {
+      eventLog.addReader(reader);
     }
     return Code.SUCCESS;
   }
@@ -457,7 +636,7 @@ public class Library {
    *         Returns {@code Code.SUCCESS} if the shelf is successfully added.<br>
    *         Returns {@code Code.SHELF_EXISTS_ERROR} if a shelf with the same subject already exists.
    */
-  public Code addShelf(Shelf shelf) {
+  public synchronized Code addShelf(Shelf shelf) {
     String shelfSubject = shelf.getSubject();
     if (shelves.containsKey(shelfSubject)) {
       // Shelf with matching subject already exists, return error.
@@ -480,6 +659,7 @@ public class Library {
     // Assign new shelf number to shelf then add to shelves.
     shelf.setShelfNumber(nextShelfNumber);
     shelves.put(shelfSubject, shelf);
+    version++;
 
     // Add all books with matching subjects to new shelf.
     for (Map.Entry<Book, Integer> entry : books.entrySet()) {
@@ -493,6 +673,9 @@ public class Library {
         }
       }
     }
+    if (eventLog != null) {
+      eventLog.addShelf(shelf);
+    }
     return Code.SUCCESS;
   }
 
@@ -504,14 +687,14 @@ public class Library {
    *         Returns {@code Code.SUCCESS} if the shelf is successfully added.<br>
    *         Returns {@code Code.SHELF_EXISTS_ERROR} if a shelf with the same subject already exists.
    */
-  public Code addShelf(String shelfSubject) {
+  public synchronized Code addShelf(String shelfSubject) {
     int shelfNumber = shelves.size() + 1;
     Shelf shelf = new Shelf(shelfNumber, shelfSubject);
     return addShelf(shelf);
   }
 
   /**
-   * Checks out a book to the specified reader.
+   * Checks out a book to the specified reader. The loan is due after the loan period of the reader's lending policy.
    *
    * @param reader The Reader object to whom the book is checked out.
    * @param book   The Book object to be checked out.
@@ -523,7 +706,50 @@ public class Library {
    *         Returns the error code returned by the Reader.addBook method if there is an error adding the book to the reader.<br>
    *         Returns the error code returned by the Shelf.removeBook method if there is an error removing the book from the shelf.
    */
-  public Code checkOutBook(Reader reader, Book book) {
+  public synchronized Code checkOutBook(Reader reader, Book book) {
+    return checkOutBook(reader, book, loanDueDay(reader));
+  }
+
+  /**
+   * Calculates the due date of a loan starting today.
+   *
+   * @param reader The Reader object checking out a book.
+   * @return Today plus the loan period of the reader's lending policy, in days since 1970-01-01.
+   */
+  private int loanDueDay(Reader reader) {
+    LendingPolicy policy = policies[reader.getTier().ordinal()];
+    return Math.toIntExact(LocalDate.now().toEpochDay() + policy.getLoanPeriod());
+  }
+
+  /**
+   * Checks out a book to the specified reader with a due date for the loan, e.g. one read from a library file
+   * or an event log. The due date is kept with the reader's loan; the Book object isn't changed.
+   *
+   * @param reader The Reader object to whom the book is checked out.
+   * @param book   The Book object to be checked out.
+   * @param dueDay The loan's due date in days since 1970-01-01, or {@link Book#NO_DUE_DATE}.
+   * @return A Code object indicating the success or failure of the checkout, as for {@link #checkOutBook(Reader, Book)}.
+   */
+  synchronized Code checkOutBook(Reader reader, Book book, int dueDay) {
+    long start = System.nanoTime();
+    long startVersion = version;
+    Code code = checkOutBookToReader(reader, book, dueDay);
+    metrics.record(LibraryMetrics.Operation.CHECK_OUT, code, start);
+    if (eventLog != null && version != startVersion) {
+      eventLog.checkOutBook(reader, book, dueDay);
+    }
+    return code;
+  }
+
+  /**
+   * Validates and performs a checkout for {@link #checkOutBook(Reader, Book, int)}.
+   *
+   * @param reader The Reader object to whom the book is checked out.
+   * @param book   The Book object to be checked out.
+   * @param dueDay The loan's due date in days since 1970-01-01.
+   * @return A Code object indicating the success or failure of the checkout.
+   */
+  private Code checkOutBookToReader(Reader reader, Book book, int dueDay) {
     String readerName = reader.getName();
     // Check if reader has account with library.
     if (!readers.contains(reader)) {
@@ -531,11 +757,24 @@ public class Library {
       return Code.READER_NOT_IN_LIBRARY_ERROR;
     }
 
-    // Check if reader has reached lending limit.
-    int readerBookCount = reader.getBooks().size();
-    if (readerBookCount >= LENDING_LIMIT) {
-      System.out.println(readerName + " has reached the lending limit, " + LENDING_LIMIT);
-      return Code.BOOK_LIMIT_REACHED_ERROR;
+    // A replayed checkout was allowed when it was logged, whatever this library's policies and date are.
+    if (replayedHolds == null) {
+      // Check if reader has reached lending limit for their tier.
+      LendingPolicy policy = policies[reader.getTier().ordinal()];
+      int readerBookCount = reader.getBookCount();
+      int lendingLimit = policy.getLendingLimit();
+      if (readerBookCount >= lendingLimit) {
+        System.out.println(readerName + " has reached the lending limit, " + lendingLimit);
+        return Code.BOOK_LIMIT_REACHED_ERROR;
+      }
+
+      // Subject and overdue limits need a pass over the reader's books, so only check them if they're set.
+      if (policy.hasSubjectLimits() || policy.getMaxOverdue() != LendingPolicy.NO_OVERDUE_LIMIT) {
+        Code policyCode = checkPolicyLimits(reader, book, policy);
+        if (policyCode != Code.SUCCESS) {
+          return policyCode;
+        }
+      }
     }
 
     // Check if book is in library.
@@ -560,9 +799,14 @@ public class Library {
     }
 
     // Everything checks out, add book to reader and remove from shelf.
-    Code addBookToReaderCode = reader.addBook(book);
+    Code addBookToReaderCode = reader.addBook(book, dueDay);
     if (addBookToReaderCode == Code.SUCCESS) {
+      inventoryStats.loaned();
       Code removeBookCode = shelf.removeBook(book);
+      if (removeBookCode == Code.SUCCESS) {
+        copyUnshelved(book);
+      }
+      version++;
       System.out.println(book + " checked out successfully");
       return removeBookCode;
     }
@@ -573,6 +817,110 @@ public class Library {
     }
   }
 
+  /**
+   * Checks the per-subject and overdue limits of a lending policy for a checkout.
+   *
+   * @param reader The Reader object checking out the book.
+   * @param book   The Book object being checked out.
+   * @param policy The LendingPolicy for the reader's tier.
+   * @return A Code object indicating whether the checkout is allowed.<br>
+   *         Returns {@code Code.SUCCESS} if no limit is reached.<br>
+   *         Returns {@code Code.BOOK_LIMIT_REACHED_ERROR} if the reader has reached the limit for the book's subject.<br>
+   *         Returns {@code Code.READER_OVERDUE_ERROR} if the reader has more overdue books than the policy allows.
+   */
+  private Code checkPolicyLimits(Reader reader, Book book, LendingPolicy policy) {
+    String bookSubject = book.getSubject();
+    int subjectLimit = policy.getSubjectLimit(bookSubject);
+    int maxOverdue = policy.getMaxOverdue();
+    String readerName = reader.getName();
+
+    // Subject counts are kept by the reader; overdue loans are counted over the reader's due dates in place.
+    if (subjectLimit >= 0 && reader.getSubjectCount(bookSubject) >= subjectLimit) {
+      System.out.println(readerName + " has reached the " + bookSubject + " limit, " + subjectLimit);
+      return Code.BOOK_LIMIT_REACHED_ERROR;
+    }
+    if (maxOverdue != LendingPolicy.NO_OVERDUE_LIMIT) {
+      int overdueCount = reader.getOverdueCount(LocalDate.now().toEpochDay());
+      if (overdueCount > maxOverdue) {
+        System.out.println(readerName + " has " + overdueCount + " overdue books");
+        return Code.READER_OVERDUE_ERROR;
+      }
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Loads lending policies from the specified file. Tiers not listed in the file keep their current policy.<br>
+   * The first line is the number of policies. Each following line is
+   * {@code tier,lendingLimit,loanPeriod,maxOverdue} followed by optional {@code subject,limit} pairs.
+   * A {@code maxOverdue} of -1 means overdue books never block a checkout.
+   *
+   * @param filename The name of the file containing the lending policies.
+   * @return A {@code Code} object indicating the success or failure of loading the policies.<br>
+   *         Returns {@code Code.SUCCESS} if every policy was loaded.<br>
+   *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the specified file is not found.<br>
+   *         Returns {@code Code.LENDING_POLICY_ERROR} if the policy count or a policy line can't be parsed.
+   */
+  public synchronized Code initPolicies(String filename) {
+    Scanner fileScanner;
+    try {
+      fileScanner = new Scanner(new File(filename));
+    }
+    catch (Exception e) {
+      System.out.println("Error opening file: " + filename);
+      System.out.println("Error message: " + e.getMessage());
+      return Code.FILE_NOT_FOUND_ERROR;
+    }
+
+    int policyCount = convertInt(fileScanner.nextLine(), Code.LENDING_POLICY_ERROR);
+    if (policyCount < 0) {
+      return Code.LENDING_POLICY_ERROR;
+    }
+
+    // Parse every policy before replacing any, so a bad file leaves the old policies in place.
+    LendingPolicy[] newPolicies = policies.clone();
+    for (int i = 0; i < policyCount; i++) {
+      if (!fileScanner.hasNextLine()) {
+        System.out.println("Expected " + policyCount + " policies, found " + i);
+        return Code.LENDING_POLICY_ERROR;
+      }
+      LendingPolicy policy = LendingPolicy.fromFields(fileScanner.nextLine().split(","));
+      if (policy == null) {
+        return Code.LENDING_POLICY_ERROR;
+      }
+      newPolicies[policy.getTier().ordinal()] = policy;
+    }
+    policies = newPolicies;
+    if (eventLog != null) {
+      for (LendingPolicy policy : newPolicies) {
+        eventLog.setLendingPolicy(policy);
+      }
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Retrieves the lending policy used for readers of the specified tier.
+   *
+   * @param tier The reader tier.
+   * @return The LendingPolicy for the tier.
+   */
+  public synchronized LendingPolicy getLendingPolicy(ReaderTier tier) {
+    return policies[tier.ordinal()];
+  }
+
+  /**
+   * Replaces the lending policy for the policy's tier. Subject limits set on the policy afterwards aren't logged.
+   *
+   * @param policy The new LendingPolicy.
+   */
+  public synchronized void setLendingPolicy(LendingPolicy policy) {
+    policies[policy.getTier().ordinal()] = policy;
+    if (eventLog != null) {
+      eventLog.setLendingPolicy(policy);
+    }
+  }
+
   /**
    * Converts a date string to a LocalDate object.
    *
@@ -585,20 +933,36 @@ public class Library {
    *         Returns a LocalDate object set to the parsed date values if there are no errors.
    */
   public static LocalDate convertDate(String date, Code errorCode) {
-    LocalDate defaultDate = LocalDate.of(1970, 1, 1);
-    // If date string is "0000", return LocalDate set to 01-Jan-1970.
+    return LocalDate.ofEpochDay(convertEpochDay(date));
+  }
+
+  /**
+   * Converts a date string to days since 1970-01-01 without creating a LocalDate object.
+   * Accepts the same strings as {@link #convertDate(String, Code)}.
+   *
+   * @param date The date string to be converted, e.g. "2020-11-1".
+   * @return The number of days from 1970-01-01 to the date.<br>
+   *         Returns 0 (01-Jan-1970) if the input date string is "0000".<br>
+   *         Returns 0 if the date string cannot be split into three elements on a '-' character.<br>
+   *         Returns 0 if there are errors converting the date values to integers or if any converted value is less than 0.
+   * @throws DateTimeException If the month or day is out of range, as {@code LocalDate.of} would.
+   * @throws ArithmeticException If the date is too far from 1970-01-01 to count in an int.
+   */
+  public static int convertEpochDay(String date) {
+    int defaultDay = 0;
+    // If date string is "0000", return 01-Jan-1970.
     if (date.equals("0000")) {
-      return defaultDate;
+      return defaultDay;
     }
 
     // If date string doesn't split into 3 elements on a '-' char,
-    // print message and return LocalDate set to 01-Jan-1970.
+    // print message and return 01-Jan-1970.
     String[] splitDate = date.split("-");
     int splitDateLength = splitDate.length;
     if (splitDateLength != 3) {
       System.out.println("ERROR: date conversion error, could not parse " + date);
       System.out.println("Using default date (01-jan-1970)");
-      return defaultDate;
+      return defaultDay;
     }
 
     // Convert date values to int to verify they are valid.
@@ -607,17 +971,32 @@ public class Library {
     int day = convertInt(splitDate[2], Code.DATE_CONVERSION_ERROR);
 
     // If any of converted values from split String are less than 0,
-    // print message and return LocalDate object set to 01-jan-1970.
+    // print message and return 01-jan-1970.
     if (year < 0 || month < 0 || day < 0) {
       System.out.println("Error converting date: Year " + year);
       System.out.println("Error converting date: Month " + month);
       System.out.println("Error converting date: Day " + day);
       System.out.println("Using default date (01-jan-1970)");
-      return defaultDate;
+      return defaultDay;
+    }
+
+    // Same range checks as LocalDate.of.
+    ChronoField.YEAR.checkValidValue(year);
+    ChronoField.MONTH_OF_YEAR.checkValidValue(month);
+    ChronoField.DAY_OF_MONTH.checkValidValue(day);
+    boolean leapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    int monthLength = (month == 2) ? (leapYear ? 29 : 28) : (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    if (day > monthLength) {
+      throw new DateTimeException("Invalid date: " + date);
     }
 
-    // No errors, so return LocalDate object set to parsed date values.
-    return LocalDate.of(year, month, day);
+    // Count days in 400-year eras starting on 1 March so leap days fall at the end of each year.
+    long shiftedYear = (month <= 2) ? year - 1 : year;
+    long era = Math.floorDiv(shiftedYear, 400);
+    long yearOfEra = shiftedYear - era * 400;
+    long dayOfYear = (153L * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return Math.toIntExact(era * 146097 + dayOfEra - 719468);
   }
 
   /**
@@ -661,47 +1040,94 @@ public class Library {
   }
 
   /**
-   * Deprecated: This method is to be removed in the future. It is not used in the current program.
+   * Retrieves a Book object with the specified ISBN from the library's inventory.
+   * Valid ISBNs are found with or without hyphens and spaces.
    *
-   * @param codeNumber The numeric value of the Code object to retrieve.
-   * @return The Code object associated with the specified code number.<br>
-   *         Returns {@code Code.UNKNOWN_ERROR} if no Code object is found with the specified code number.
+   * @param isbn The ISBN of the book to retrieve.
+   * @return The Book object with the specified ISBN.<br>
+   *         Returns {@code null} if no book with the specified ISBN is found in the library's inventory.
    */
-  private Code errorCode(int codeNumber) {
-    for (Code code : Code.values()) {
-      if (code.getCode() == codeNumber) {
-        return code;
-      }
+  public Book getBookByISBN(String isbn) {
+    Book book = bookCache.get(Isbn.normalize(isbn), catalogStore::loadBook);
+    if (book == null) {
+      // Book with same ISBN doesn't exist.
+      System.out.println("ERROR: Could not find a book with ISBN: " + isbn);
     }
-    return Code.UNKNOWN_ERROR;
+    return book;
   }
 
   /**
-   * Retrieves a Book object with the specified ISBN from the library's inventory.
+   * Searches the books in the library for an ISBN. Used as the default {@link CatalogStore}.
    *
-   * @param isbn The ISBN of the book to retrieve.
-   * @return The Book object with the specified ISBN.<br>
-   *         Returns {@code null} if no book with the specified ISBN is found in the library's inventory.
+   * @param isbn The ISBN of the book to find.
+   * @return The Book object with the ISBN, or {@code null} if no such book exists.
    */
-  public Book getBookByISBN(String isbn) {
-    for (Book book : books.keySet()) {
-      if (book.getISBN().equals(isbn)) {
-        // Book with same ISBN exists.
-        return book;
-      }
+  private Book findBookByISBN(String isbn) {
+    if (isbn == null) {
+      return null;
     }
-    // Book with same ISBN doesn't exist.
-    System.out.println("ERROR: Could not find a book with ISBN: " + isbn);
-    return null;
+    // Valid ISBNs are indexed without hyphens or spaces.
+    return booksByIsbn.get(Isbn.normalize(isbn));
+  }
+
+  /**
+   * Builds the index {@link #findBookByISBN(String)} searches.
+   *
+   * @param books The books in the library.
+   * @return Each book by its ISBN.
+   */
+  private static ConcurrentHashMap<String, Book> indexByIsbn(Collection<Book> books) {
+    ConcurrentHashMap<String, Book> index = new ConcurrentHashMap<>();
+    for (Book book : books) {
+      index.putIfAbsent(book.getISBN(), book);
+    }
+    return index;
+  }
+
+
+  /**
+   * Searches the library's books by title and author.
+   * Every word in the query must match the start of a word in the book's title or author.
+   * Searches don't lock the library and may run while books are added and removed.
+   *
+   * @param query One or more words to search for, e.g. "hitch adams".
+   * @return A list of matching books. Empty if nothing matches.
+   */
+  public List<Book> searchBooks(String query) {
+    return searchIndex.search(query);
+  }
+
+  /**
+   * Retrieves the number of copies of a book that are on the shelf and can be checked out.
+   * ISBNs that were never in the library are rejected by a Bloom filter without a map lookup.
+   * Valid ISBNs are found with or without hyphens and spaces.
+   * Lookups don't lock the library and may run while books are checked out and returned.
+   *
+   * @param isbn The ISBN of the book.
+   * @return The number of copies on the shelf.<br>
+   *         Returns -1 if no book with the specified ISBN is in the library.
+   */
+  public int getAvailableCopies(String isbn) {
+    return availability.getAvailableCopies(isbn);
   }
 
   /**
-   * Gets the next available library card number.
+   * Gets the next available library card number of libraries created without their own allocator.
+   * The number isn't reserved; use {@link #issueLibraryCard()} to get a number no one else will receive.
    *
-   * @return The next available library card number.
+   * @return The next library card number not yet reserved or assigned.
    */
   public static int getLibraryCardNumber() {
-    return libraryCard + 1;
+    return sharedCardAllocator.getHighWaterMark() + 1;
+  }
+
+  /**
+   * Reserves a new library card number from this library's allocator. Safe to call from many threads at once.
+   *
+   * @return A card number that hasn't been issued or assigned to a reader, or -1 if none are left.
+   */
+  public int issueLibraryCard() {
+    return cardAllocator.allocate();
   }
 
   /**
@@ -731,15 +1157,13 @@ public class Library {
    *         Returns {@code null} if no shelf with the specified subject is found.
    */
   public Shelf getShelf(String subject) {
-    for (Shelf shelf : shelves.values()) {
-      if (shelf.getSubject().equals(subject)) {
-        // Shelf with same subject exists.
-        return shelf;
-      }
+    // Shelves are keyed by subject.
+    Shelf shelf = shelves.get(subject);
+    if (shelf == null) {
+      // Shelf with same subject doesn't exist.
+      System.out.println("No shelf for " + subject + " books");
     }
-    // Shelf with same subject doesn't exist.
-    System.out.println("No shelf for " + subject + " books");
-    return null;
+    return shelf;
   }
 
   /**
@@ -866,10 +1290,10 @@ public class Library {
    *         Returns {@code Code.READER_STILL_HAS_BOOKS_ERROR} if the reader still has books checked out and must return all books before removal.<br>
    *         Returns {@code Code.READER_NOT_IN_LIBRARY_ERROR} if the specified reader is not part of the library.
    */
-  public Code removeReader(Reader reader) {
+  public synchronized Code removeReader(Reader reader) {
     String readerName = reader.getName();
     // Check if reader still has books checked out.
-    boolean readerHasBooks = !reader.getBooks().isEmpty();
+    boolean readerHasBooks = reader.hasBooks();
     if (readerHasBooks) {
       System.out.println(readerName + " must return all books!");
       return Code.READER_STILL_HAS_BOOKS_ERROR;
@@ -883,6 +1307,10 @@ public class Library {
 
     // Reader exists in library and has no books checked out.
     readers.remove(reader);
+    version++;
+    if (eventLog != null) {
+      eventLog.removeReader(reader);
+    }
     return Code.SUCCESS;
   }
 
@@ -897,7 +1325,25 @@ public class Library {
    *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the book is not found in the library's inventory.<br>
    *         Prints an error message if the book cannot be returned and returns the associated code.
    */
-  public Code returnBook(Reader reader, Book book) {
+  public synchronized Code returnBook(Reader reader, Book book) {
+    long start = System.nanoTime();
+    long startVersion = version;
+    Code code = returnBookFromReader(reader, book);
+    metrics.record(LibraryMetrics.Operation.RETURN, code, start);
+    if (eventLog != null && version != startVersion) {
+      eventLog.returnBook(reader, book);
+    }
+    return code;
+  }
+
+  /**
+   * Takes a book back from a reader and shelves it for {@link #returnBook(Reader, Book)}.
+   *
+   * @param reader The Reader object returning the book.
+   * @param book   The Book object to be returned.
+   * @return A Code object indicating the success or failure of the return.
+   */
+  private Code returnBookFromReader(Reader reader, Book book) {
     String readerName = reader.getName();
 
     // Reader does not have book in their list.
@@ -916,9 +1362,11 @@ public class Library {
     System.out.println(readerName + " is returning " + book);
     Code removeBookCode = reader.removeBook(book);
 
-    // Book removed from reader, return book to shelf.
+    // Book removed from reader. Give it to the next reader waiting for it, otherwise return it to shelf.
     if (removeBookCode == Code.SUCCESS) {
-      return returnBook(book);
+      inventoryStats.returned();
+      version++;
+      return shelveBook(book);
     }
     else {
       System.out.println("Could not return " + book);
@@ -926,6 +1374,283 @@ public class Library {
     }
   }
 
+  /**
+   * Places a hold on a book for a reader. When a copy is returned it goes straight to the
+   * reader who has waited longest instead of back onto the shelf.
+   *
+   * @param reader The Reader object waiting for the book.
+   * @param book   The Book object to wait for.
+   * @return A Code object indicating the success or failure of the hold.<br>
+   *         Returns {@code Code.SUCCESS} if the reader was added to the end of the queue.<br>
+   *         Returns {@code Code.READER_NOT_IN_LIBRARY_ERROR} if the reader does not have an account with the library.<br>
+   *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the book is not in the library's inventory.<br>
+   *         Returns {@code Code.BOOK_ALREADY_CHECKED_OUT_ERROR} if the reader already has the book.<br>
+   *         Returns {@code Code.BOOK_HOLD_EXISTS_ERROR} if the reader is already waiting for the book.
+   */
+  public synchronized Code placeHold(Reader reader, Book book) {
+    String readerName = reader.getName();
+    if (!readers.contains(reader)) {
+      System.out.println(readerName + " doesn't have an account here");
+      return Code.READER_NOT_IN_LIBRARY_ERROR;
+    }
+    if (!books.containsKey(book)) {
+      System.out.println("ERROR: could not find " + book);
+      return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+    }
+    if (reader.hasBook(book)) {
+      System.out.println(readerName + " already has " + book);
+      return Code.BOOK_ALREADY_CHECKED_OUT_ERROR;
+    }
+
+    HoldQueue queue = holds.computeIfAbsent(book, key -> new HoldQueue());
+    if (!queue.add(reader)) {
+      System.out.println(readerName + " is already waiting for " + book);
+      return Code.BOOK_HOLD_EXISTS_ERROR;
+    }
+    System.out.println(readerName + " is number " + queue.size() + " in line for " + book);
+    if (eventLog != null) {
+      eventLog.placeHold(reader, book);
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Cancels a reader's hold on a book.
+   *
+   * @param reader The Reader object waiting for the book.
+   * @param book   The Book object the reader is waiting for.
+   * @return A Code object indicating the success or failure of the cancellation.<br>
+   *         Returns {@code Code.SUCCESS} if the hold was removed.<br>
+   *         Returns {@code Code.BOOK_HOLD_NOT_FOUND_ERROR} if the reader is not waiting for the book.
+   */
+  public synchronized Code cancelHold(Reader reader, Book book) {
+    HoldQueue queue = holds.get(book);
+    if (queue == null || !queue.remove(reader)) {
+      return Code.BOOK_HOLD_NOT_FOUND_ERROR;
+    }
+    if (queue.isEmpty()) {
+      holds.remove(book);
+    }
+    if (eventLog != null) {
+      eventLog.cancelHold(reader, book);
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Retrieves the number of readers waiting for a book.
+   *
+   * @param book The Book object to check.
+   * @return The number of readers with a hold on the book.
+   */
+  public synchronized int getHoldCount(Book book) {
+    HoldQueue queue = holds.get(book);
+    return (queue != null) ? queue.size() : 0;
+  }
+
+  /**
+   * Retrieves the number of copies of a book sitting on its shelf.
+   *
+   * @param book The Book object to check.
+   * @return The number of copies on the shelf, or 0 if the book or its shelf isn't in the library.
+   */
+  public synchronized int getShelvedCopies(Book book) {
+    Shelf shelf = shelves.get(book.getSubject());
+    return (shelf != null) ? Math.max(0, shelf.getBookCount(book)) : 0;
+  }
+
+  /**
+   * Retrieves the number of copies of a book checked out to readers.
+   *
+   * @param book The Book object to check.
+   * @return The number of copies owned that aren't on the shelf.
+   */
+  public synchronized int getLoanedCopies(Book book) {
+    Integer bookCount = books.get(book);
+    return (bookCount != null) ? bookCount - getShelvedCopies(book) : 0;
+  }
+
+  /**
+   * Retrieves this library's place in the order libraries are locked in. Code that locks two libraries
+   * must lock the one with the smaller value first so two threads can never wait on each other.
+   *
+   * @return A value unique to this library.
+   */
+  long getLockOrder() {
+    return lockOrder;
+  }
+
+  /**
+   * Takes copies of a book off its shelf and out of the library. The caller must hold this library's lock
+   * and have checked there are enough copies on the shelf.
+   *
+   * @param book   The Book object to remove.
+   * @param copies The number of copies to remove.
+   * @return A Code object indicating the success or failure of the removal.<br>
+   *         Returns {@code Code.SUCCESS} if the copies were removed.<br>
+   *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the shelf has fewer copies than requested.
+   */
+  Code removeCopies(Book book, int copies) {
+    Shelf shelf = shelves.get(book.getSubject());
+    Integer bookCount = books.get(book);
+    if (shelf == null || bookCount == null || bookCount < copies) {
+      return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+    }
+    Code removeCode = shelf.removeBooks(book, copies);
+    if (removeCode != Code.SUCCESS) {
+      return removeCode;
+    }
+
+    availability.unshelved(book.getISBN(), copies);
+    inventoryStats.unshelved(copies);
+    boolean lastCopy = bookCount == copies;
+    if (lastCopy) {
+      books.remove(book);
+      booksCopy = null;
+      booksByIsbn.remove(book.getISBN(), book);
+      bookCache.invalidate(book.getISBN());
+      searchIndex.remove(book);
+      availability.unregister(book.getISBN());
+    }
+    else {
+      books.put(book, bookCount - copies);
+      booksCopy = null;
+    }
+    inventoryStats.booksRemoved(book, copies, lastCopy);
+    version++;
+    if (eventLog != null) {
+      eventLog.removeCopies(book, copies);
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Brings copies of a book into the library. Readers waiting for the book receive copies first
+   * and the rest go on the shelf. The caller must hold this library's lock.
+   *
+   * @param book   The Book object to add.
+   * @param copies The number of copies to add.
+   * @return A Code object indicating the success or failure of the addition.<br>
+   *         Returns {@code Code.SUCCESS} if the copies were added.<br>
+   *         Returns {@code Code.SHELF_EXISTS_ERROR} if no shelf with a matching subject exists.
+   */
+  Code receiveCopies(Book book, int copies) {
+    Shelf shelf = shelves.get(book.getSubject());
+    if (shelf == null) {
+      System.out.println("No shelf for " + book.getSubject() + " books");
+      return Code.SHELF_EXISTS_ERROR;
+    }
+
+    Integer bookCount = books.get(book);
+    if (bookCount == null) {
+      books.put(book, copies);
+      booksCopy = null;
+      booksByIsbn.putIfAbsent(book.getISBN(), book);
+      searchIndex.add(book);
+      availability.register(book.getISBN());
+    }
+    else {
+      books.put(book, bookCount + copies);
+      booksCopy = null;
+    }
+    inventoryStats.booksAdded(book, copies, bookCount == null);
+
+    int shelvedCopies = copies;
+    while (shelvedCopies > 0 && checkOutToNextHold(book)) {
+      shelvedCopies--;
+    }
+    if (shelvedCopies > 0) {
+      shelf.addBooks(book, shelvedCopies);
+      availability.shelved(book.getISBN(), shelvedCopies);
+      inventoryStats.shelved(shelvedCopies);
+    }
+    version++;
+    if (eventLog != null) {
+      eventLog.receiveCopies(book, copies);
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * Checks out a returned copy of a book to the reader who has waited longest for it.
+   * Readers who left the library or can no longer check the book out lose their place in line.
+   *
+   * @param book The Book object that was returned.
+   * @return {@code true} if a waiting reader received the book; {@code false} if the book should go back on the shelf.
+   */
+  private boolean checkOutToNextHold(Book book) {
+    HoldQueue queue = holds.get(book);
+    if (queue == null) {
+      return false;
+    }
+
+    boolean checkedOut = false;
+    while (!checkedOut && !queue.isEmpty()
+        && (replayedHolds == null || replayedHoldIndex < replayedHolds.length)) {
+      Reader next = queue.poll();
+      int dueDay = holdDueDay(next, book);
+      if (eventLog != null) {
+        eventLog.holdServed(next, dueDay);
+      }
+      if (dueDay == HOLD_DROPPED || next.addBook(book, dueDay) != Code.SUCCESS) {
+        System.out.println("Hold for " + next.getName() + " on " + book + " dropped");
+        continue;
+      }
+      System.out.println(book + " checked out to " + next.getName() + " from hold");
+      inventoryStats.loaned();
+      checkedOut = true;
+    }
+
+    if (queue.isEmpty()) {
+      holds.remove(book);
+    }
+    return checkedOut;
+  }
+
+  /**
+   * Decides whether the reader at the front of a hold queue gets a copy of the book, and when it is due.
+   * While an event is replayed, the decision recorded in the event is used.
+   *
+   * @param next The reader taken off the hold queue.
+   * @param book The Book object being handed out.
+   * @return The due date of the reader's loan, or {@link #HOLD_DROPPED} if the reader loses their place in line.
+   */
+  private int holdDueDay(Reader next, Book book) {
+    if (replayedHolds != null) {
+      int cardNumber = replayedHolds[replayedHoldIndex++];
+      int dueDay = replayedHolds[replayedHoldIndex++];
+      return (cardNumber == next.getCardNumber()) ? dueDay : HOLD_DROPPED;
+    }
+
+    LendingPolicy policy = policies[next.getTier().ordinal()];
+    if (!readers.contains(next)
+        || next.getBookCount() >= policy.getLendingLimit()
+        || ((policy.hasSubjectLimits() || policy.getMaxOverdue() != LendingPolicy.NO_OVERDUE_LIMIT)
+            && checkPolicyLimits(next, book, policy) != Code.SUCCESS)) {
+      return HOLD_DROPPED;
+    }
+    return loanDueDay(next);
+  }
+
+  /**
+   * Starts replaying an event, for {@link EventLog}. Until {@link #endReplay()}, checkouts aren't checked against
+   * this library's lending policies and hold queues are served as the event records. The caller must hold this
+   * library's lock.
+   *
+   * @param holdOutcomes The event's hold outcomes as {card number, due date or HOLD_DROPPED} pairs.
+   */
+  void beginReplay(int[] holdOutcomes) {
+    replayedHolds = holdOutcomes;
+    replayedHoldIndex = 0;
+  }
+
+  /**
+   * Ends the replay started by {@link #beginReplay(int[])}.
+   */
+  void endReplay() {
+    replayedHolds = null;
+  }
+
   /**
    * Returns a book to the library, adding it back to the shelf with matching subject.
    *
@@ -935,7 +1660,28 @@ public class Library {
    *         Returns {@code Code.SHELF_EXISTS_ERROR} if there is no shelf with a matching subject for the book.<br>
    *         Prints an error message if the book cannot be returned and returns the associated code.
    */
-  public Code returnBook(Book book) {
+  public synchronized Code returnBook(Book book) {
+    Code code = shelveBook(book);
+    if (eventLog != null && code == Code.SUCCESS) {
+      eventLog.returnBook(book);
+    }
+    return code;
+  }
+
+  /**
+   * Puts a copy of a book on the shelf with matching subject for {@link #returnBook(Book)}, and for commands
+   * that shelve books as one of their steps. If readers are waiting for the book, the copy is checked out
+   * to the one who has waited longest instead.
+   *
+   * @param book The Book object to be returned.
+   * @return A Code object indicating the success or failure of the return.
+   */
+  private Code shelveBook(Book book) {
+    if (checkOutToNextHold(book)) {
+      version++;
+      return Code.SUCCESS;
+    }
+
     String bookSubject = book.getSubject();
 
     // Check for shelf with matching subject.
@@ -943,6 +1689,8 @@ public class Library {
       // Shelf with matching subject exists, add book to shelf.
       Shelf shelf = shelves.get(bookSubject);
       shelf.addBook(book);
+      copyShelved(book);
+      version++;
       return Code.SUCCESS;
     }
     else {
@@ -952,23 +1700,204 @@ public class Library {
     }
   }
 
+  /**
+   * Records a copy of a book put on a shelf.
+   *
+   * @param book The Book object that was shelved.
+   */
+  private void copyShelved(Book book) {
+    availability.shelved(book.getISBN());
+    inventoryStats.shelved(1);
+  }
+
+  /**
+   * Records a copy of a book taken off a shelf.
+   *
+   * @param book The Book object that was taken.
+   */
+  private void copyUnshelved(Book book) {
+    availability.unshelved(book.getISBN());
+    inventoryStats.unshelved(1);
+  }
+
+  /**
+   * Retrieves running inventory totals: copies owned, on shelves, and on loan, distinct titles, and copies per subject.
+   * Totals are updated as books are added, checked out, and returned, so reading them is O(1).
+   *
+   * @return The library's InventoryStats.
+   */
+  public InventoryStats getInventoryStats() {
+    return inventoryStats;
+  }
+
+  /**
+   * Retrieves a consistent, read-only snapshot of the library's books, shelves, and readers.
+   * If nothing has changed since the last snapshot was taken, the published snapshot is returned without locking.
+   * Otherwise a new snapshot is published for later callers. It shares the read-only copies of the books,
+   * shelves, and readers that haven't changed since the last snapshot, so the library is only locked long
+   * enough to copy what did change.
+   *
+   * @return A CatalogSnapshot of the current library version.
+   */
+  public CatalogSnapshot getSnapshot() {
+    CatalogSnapshot current = snapshot;
+    if (current != null && current.getVersion() == version) {
+      return current;
+    }
+
+    synchronized (this) {
+      if (snapshot == null || snapshot.getVersion() != version) {
+        if (booksCopy == null) {
+          booksCopy = Collections.unmodifiableMap(new HashMap<>(books));
+        }
+        snapshot = new CatalogSnapshot(version, booksCopy, shelves, readers);
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * Creates aggregate reports (copies per subject, pages per author, loans per reader, overdue books per subject)
+   * over the current snapshot. Reports run in parallel and never lock the library.
+   *
+   * @return CatalogAnalytics for the current library version.
+   */
+  public CatalogAnalytics getAnalytics() {
+    return new CatalogAnalytics(getSnapshot());
+  }
+
+  /**
+   * Retrieves the cache of recently looked up books, for its size and hit rate.
+   *
+   * @return The ISBN lookup cache.
+   */
+  public TinyLfuCache<String, Book> getBookCache() {
+    return bookCache;
+  }
+
+  /**
+   * Replaces the ISBN lookup cache with an empty one of the specified size.
+   *
+   * @param capacity The largest number of books to keep in the cache. Must be at least 2.
+   */
+  public synchronized void setBookCacheSize(int capacity) {
+    bookCache = new TinyLfuCache<>(capacity);
+  }
+
+  /**
+   * Sets where {@link #getBookByISBN(String)} loads books the cache doesn't have, e.g. a disk-backed
+   * store of the full catalog. Clears the cache.
+   *
+   * @param catalogStore The store to load books from, or {@code null} to search the books in this library.
+   */
+  public synchronized void setCatalogStore(CatalogStore catalogStore) {
+    this.catalogStore = (catalogStore != null) ? catalogStore : this::findBookByISBN;
+    bookCache.clear();
+  }
+
+  /**
+   * Retrieves the log that commands changing the library are recorded in.
+   *
+   * @return The EventLog, or {@code null} if commands aren't logged.
+   */
+  public synchronized EventLog getEventLog() {
+    return eventLog;
+  }
+
+  /**
+   * Starts recording every command that changes the library in a log, replacing any earlier log.
+   *
+   * @param eventLog The log to record commands in, or {@code null} to stop logging.
+   */
+  public synchronized void setEventLog(EventLog eventLog) {
+    if (this.eventLog != null) {
+      this.eventLog.attach(null);
+    }
+    this.eventLog = eventLog;
+    if (eventLog != null) {
+      eventLog.attach(this);
+    }
+  }
+
+  /**
+   * Retrieves the readers waiting for each book. The caller must hold this library's lock.
+   *
+   * @return The live map of Book objects to hold queues.
+   */
+  HashMap<Book, HoldQueue> getHolds() {
+    return holds;
+  }
+
+  /**
+   * Replaces the library's books, shelves, readers, and holds, e.g. from a snapshot, and rebuilds
+   * the indexes and totals kept over them. Nothing is logged.
+   *
+   * @param books    Book objects and the count of each book.
+   * @param shelves  Shelf subject and Shelf object.
+   * @param readers  Readers registered to the library.
+   * @param holds    Readers waiting for each book.
+   * @param policies Lending policies replacing those of their tiers.
+   */
+  synchronized void restore(HashMap<Book, Integer> books, HashMap<String, Shelf> shelves, List<Reader> readers,
+      HashMap<Book, HoldQueue> holds, List<LendingPolicy> policies) {
+    for (LendingPolicy policy : policies) {
+      this.policies[policy.getTier().ordinal()] = policy;
+    }
+    this.books = books;
+    booksCopy = null;
+    booksByIsbn = indexByIsbn(books.keySet());
+    this.shelves = shelves;
+    this.readers = readers;
+    this.holds = holds;
+    bookCache.clear();
+    searchIndex.rebuild(books.keySet());
+    availability.rebuild(books, shelves);
+    inventoryStats.rebuild(books, shelves, readers);
+    for (Reader reader : readers) {
+      cardAllocator.observe(reader.getCardNumber());
+    }
+    version++;
+  }
+
   /**
    * Getters and setters auto-generated by IntelliJ. Individual Javadoc comments not required per Dr. C.
    */
+  public LibraryMetrics getMetrics() {
+    return metrics;
+  }
+
   public HashMap<Book, Integer> getBooks() {
     return books;
   }
 
-  public void setBooks(HashMap<Book, Integer> books) {
+  public synchronized void setBooks(HashMap<Book, Integer> books) {
     this.books = books;
+    booksCopy = null;
+    booksByIsbn = indexByIsbn(books.keySet());
+    bookCache.clear();
+    searchIndex.rebuild(books.keySet());
+    availability.rebuild(books, shelves);
+    inventoryStats.rebuild(books, shelves, readers);
+    version++;
   }
 
   public static int getLibraryCard() {
-    return libraryCard;
+    return sharedCardAllocator.getHighWaterMark();
   }
 
   public static void setLibraryCard(int libraryCard) {
-    Library.libraryCard = libraryCard;
+    sharedCardAllocator.reset(libraryCard);
+  }
+
+  public CardNumberAllocator getCardAllocator() {
+    return cardAllocator;
+  }
+
+  public synchronized void setCardAllocator(CardNumberAllocator cardAllocator) {
+    this.cardAllocator = cardAllocator;
+    for (Reader reader : readers) {
+      cardAllocator.observe(reader.getCardNumber());
+    }
   }
 
   public String getName() {
@@ -983,15 +1912,20 @@ public class Library {
     return readers;
   }
 
-  public void setReaders(List<Reader> readers) {
+  public synchronized void setReaders(List<Reader> readers) {
     this.readers = readers;
+    inventoryStats.rebuild(books, shelves, readers);
+    version++;
   }
 
   public HashMap<String, Shelf> getShelves() {
     return shelves;
   }
 
-  public void setShelves(HashMap<String, Shelf> shelves) {
+  public synchronized void setShelves(HashMap<String, Shelf> shelves) {
     this.shelves = shelves;
+    availability.rebuild(books, shelves);
+    inventoryStats.rebuild(books, shelves, readers);
+    version++;
   }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+import Utilities.Code;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a library's books, shelves, and readers in the same CSV format {@link Library#init(String)} reads.
+ * Output goes through a fixed-size buffer in front of a channel, and fields are written one at a time,
+ * so memory use does not grow with the size of the library.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class LibraryExporter {
+    /**
+     * Size in characters of the write buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Due date written as "0000", the same date {@link Library#convertEpochDay(String)} reads it as.
+     */
+    private static final int DEFAULT_DUE_DAY = 0;
+
+    /**
+     * Destination of the export.
+     */
+    private final Writer out;
+
+    /**
+     * Scratch space for formatting numbers and dates without creating strings.
+     */
+    private final char[] digits;
+
+    /**
+     * Constructs an exporter that writes to the given channel.
+     *
+     * @param channel The channel to write to. It is not closed by the exporter.
+     */
+    public LibraryExporter(WritableByteChannel channel) {
+        out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1), BUFFER_SIZE);
+        digits = new char[11];
+    }
+
+    /**
+     * Exports the library to the specified file, replacing the file if it exists.
+     *
+     * @param library  The library to export.
+     * @param filename The name of the file to write.
+     * @return A {@code Code} object indicating the success or failure of the export.<br>
+     *         Returns {@code Code.SUCCESS} if the file was written.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the file could not be opened or written.
+     */
+    public static Code export(Library library, String filename) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            new LibraryExporter(channel).write(library.getSnapshot());
+            return Code.SUCCESS;
+        }
+        catch (IOException e) {
+            System.out.println("Error writing file: " + filename);
+            System.out.println("Error message: " + e.getMessage());
+            return Code.FILE_NOT_FOUND_ERROR;
+        }
+    }
+
+    /**
+     * Writes a snapshot and flushes the buffer to the channel.
+     *
+     * @param snapshot The library snapshot to write.
+     * @throws IOException If the channel cannot be written.
+     */
+    public void write(CatalogSnapshot snapshot) throws IOException {
+        writeBooks(snapshot.getBooks());
+        writeShelves(snapshot);
+        writeReaders(snapshot.getReaders());
+        out.flush();
+    }
+
+    /**
+     * Writes the book count and one line per copy of each book.
+     *
+     * @param books Book objects and the count of each book.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeBooks(Map<Book, Integer> books) throws IOException {
+        int copyCount = 0;
+        for (int copies : books.values()) {
+            copyCount += copies;
+        }
+        writeInt(copyCount);
+        out.write('\n');
+
+        for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+            Book book = entry.getKey();
+            for (int i = 0; i < entry.getValue(); i++) {
+                out.write(book.getISBN());
+                out.write(',');
+                out.write(book.getTitle());
+                out.write(',');
+                out.write(book.getSubject());
+                out.write(',');
+                writeInt(book.getPageCount());
+                out.write(',');
+                out.write(book.getAuthor());
+                out.write(',');
+                writeDate(book.getDueEpochDay());
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Writes the shelf count and one line per shelf, ordered by shelf number.
+     *
+     * @param snapshot The library snapshot holding the shelves.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeShelves(CatalogSnapshot snapshot) throws IOException {
+        List<String> subjects = new ArrayList<>(snapshot.getShelves().keySet());
+        subjects.sort((a, b) -> Integer.compare(snapshot.getShelfNumber(a), snapshot.getShelfNumber(b)));
+
+        writeInt(subjects.size());
+        out.write('\n');
+        for (String subject : subjects) {
+            writeInt(snapshot.getShelfNumber(subject));
+            out.write(',');
+            out.write(subject);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes the reader count and one line per reader, followed by the ISBN and due date of each book checked out.
+     *
+     * @param readers The readers registered to the library.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeReaders(List<? extends Reader> readers) throws IOException {
+        writeInt(readers.size());
+        out.write('\n');
+        for (Reader reader : readers) {
+            writeInt(reader.getCardNumber());
+            out.write(',');
+            out.write(reader.getName());
+            out.write(',');
+            out.write(reader.getPhone());
+            out.write(',');
+            Map<Book, Integer> loans = reader.getLoans();
+            writeInt(loans.size());
+            for (Map.Entry<Book, Integer> loan : loans.entrySet()) {
+                out.write(',');
+                out.write(loan.getKey().getISBN());
+                out.write(',');
+                writeDate(loan.getValue());
+            }
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes a date as yyyy-mm-dd, or "0000" if there is no due date.
+     *
+     * @param dueDay The date as days since 1970-01-01, or {@link Book#NO_DUE_DATE}.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeDate(int dueDay) throws IOException {
+        if (dueDay == Book.NO_DUE_DATE || dueDay == DEFAULT_DUE_DAY) {
+            out.write("0000");
+            return;
+        }
+        LocalDate date = LocalDate.ofEpochDay(dueDay);
+        writeInt(date.getYear());
+        out.write('-');
+        writeTwoDigits(date.getMonthValue());
+        out.write('-');
+        writeTwoDigits(date.getDayOfMonth());
+    }
+
+    /**
+     * Writes a value from 0 to 99 as two digits.
+     *
+     * @param value The value to write.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeTwoDigits(int value) throws IOException {
+        out.write('0' + value / 10);
+        out.write('0' + value % 10);
+    }
+
+    /**
+     * Writes an int in decimal.
+     *
+     * @param value The value to write.
+     * @throws IOException If the channel cannot be written.
+     */
+    private void writeInt(int value) throws IOException {
+        // Work with the negative value so Integer.MIN_VALUE does not overflow.
+        boolean negative = value < 0;
+        int remaining = negative ? value : -value;
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) {
+            digits[--start] = '-';
+        }
+        out.write(digits, start, digits.length - start);
+    }
+}
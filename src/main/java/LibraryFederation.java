@@ -0,0 +1,247 @@
+import Utilities.Code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hosts many {@link Library} branches in one JVM.
+ * Every branch is given a block of {@value #CARDS_PER_BRANCH} card numbers, so branches can issue cards
+ * without sharing a counter, and every reader is listed in one directory shared by all branches.
+ * A branch's library issues and records card numbers in its block only, so federation cards don't reach
+ * the allocator shared by standalone libraries.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class LibraryFederation {
+    /**
+     * Number of card numbers reserved for each branch. Branch {@code n} issues cards
+     * {@code n * CARDS_PER_BRANCH + 1} to {@code (n + 1) * CARDS_PER_BRANCH - 1}.
+     */
+    public static final int CARDS_PER_BRANCH = 1_000_000;
+
+    /**
+     * Largest number of branches whose card blocks fit in an int.
+     */
+    public static final int MAX_BRANCHES = Integer.MAX_VALUE / CARDS_PER_BRANCH - 1;
+
+    /**
+     * Branch count at which availability queries are split across cores.
+     * Below this, a parallel stream costs more than asking each branch in turn.
+     */
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    /**
+     * A library in the federation with its id and the allocator for its block of card numbers.
+     */
+    private static class Branch {
+        private final int id;
+        private final String name;
+        private final Library library;
+        private final CardNumberAllocator cards;
+
+        private Branch(int id, String name, Library library) {
+            this.id = id;
+            this.name = name;
+            this.library = library;
+            this.cards = new CardNumberAllocator(id * CARDS_PER_BRANCH + 1, (id + 1) * CARDS_PER_BRANCH - 1,
+                    CardNumberAllocator.DEFAULT_BLOCK_SIZE, null);
+        }
+    }
+
+    /**
+     * Branch name and Branch object, in the order branches were added.
+     */
+    private final LinkedHashMap<String, Branch> branches;
+
+    /**
+     * Branches in id order, replaced whenever a branch is added so queries can read it without locking.
+     * Branch id {@code n} is at index {@code n - 1}.
+     */
+    private volatile Branch[] branchArray;
+
+    /**
+     * Card number and Reader object for every reader in every branch.
+     */
+    private final ConcurrentHashMap<Integer, Reader> readerDirectory;
+
+    /**
+     * Constructs an empty federation.
+     */
+    public LibraryFederation() {
+        branches = new LinkedHashMap<>();
+        branchArray = new Branch[0];
+        readerDirectory = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds a library to the federation. The library's existing readers are added to the reader directory
+     * unless another branch already listed a reader with the same card number.
+     *
+     * @param name    The branch name.
+     * @param library The library to add.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the branch is added.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if a branch with the name exists or the federation is full.
+     */
+    public synchronized Code addBranch(String name, Library library) {
+        if (branches.containsKey(name)) {
+            System.out.println("Branch " + name + " already exists");
+            return Code.LIBRARY_ERROR;
+        }
+        if (branchArray.length >= MAX_BRANCHES) {
+            System.out.println("Federation can't hold more than " + MAX_BRANCHES + " branches");
+            return Code.LIBRARY_ERROR;
+        }
+
+        Branch branch = new Branch(branchArray.length + 1, name, library);
+        branches.put(name, branch);
+        Branch[] newArray = Arrays.copyOf(branchArray, branchArray.length + 1);
+        newArray[branch.id - 1] = branch;
+        branchArray = newArray;
+
+        // The branch records its readers in its own block, not the allocator shared by standalone libraries.
+        library.setCardAllocator(branch.cards);
+        for (Reader reader : library.getReaders()) {
+            if (readerDirectory.putIfAbsent(reader.getCardNumber(), reader) != null) {
+                System.out.println("Card number " + reader.getCardNumber() + " is already in the directory");
+            }
+        }
+        return Code.SUCCESS;
+    }
+
+    /**
+     * Retrieves a branch's library.
+     *
+     * @param name The branch name.
+     * @return The Library object, or {@code null} if no branch has the name.
+     */
+    public synchronized Library getBranch(String name) {
+        Branch branch = branches.get(name);
+        return (branch != null) ? branch.library : null;
+    }
+
+    /**
+     * Retrieves the names of all branches.
+     *
+     * @return A read-only list of branch names in the order they were added.
+     */
+    public synchronized List<String> getBranchNames() {
+        return Collections.unmodifiableList(new ArrayList<>(branches.keySet()));
+    }
+
+    /**
+     * Issues a card number from a branch's block. Safe to call from many threads at once.
+     *
+     * @param name The branch name.
+     * @return A new card number, or -1 if no branch has the name or the branch has issued every card in its block.
+     */
+    public int nextCardNumber(String name) {
+        Branch branch;
+        synchronized (this) {
+            branch = branches.get(name);
+        }
+        if (branch == null) {
+            return -1;
+        }
+
+        int cardNumber = branch.cards.allocate();
+        if (cardNumber < 0) {
+            System.out.println("Branch " + name + " is out of card numbers");
+        }
+        return cardNumber;
+    }
+
+    /**
+     * Issues a card at a branch, registers the new reader there, and lists them in the reader directory.
+     *
+     * @param branchName The branch the reader signs up at.
+     * @param name       The name of the reader.
+     * @param phone      The phone number of the reader.
+     * @return The new Reader object, or {@code null} if the reader couldn't be registered.
+     */
+    public Reader registerReader(String branchName, String name, String phone) {
+        Library library = getBranch(branchName);
+        int cardNumber = nextCardNumber(branchName);
+        if (library == null || cardNumber < 0) {
+            return null;
+        }
+
+        Reader reader = new Reader(cardNumber, name, phone);
+        if (library.addReader(reader) != Code.SUCCESS) {
+            return null;
+        }
+        readerDirectory.put(cardNumber, reader);
+        return reader;
+    }
+
+    /**
+     * Looks up a reader in any branch.
+     *
+     * @param cardNumber The card number of the reader.
+     * @return The Reader object, or {@code null} if no branch has a reader with the card number.
+     */
+    public Reader findReader(int cardNumber) {
+        return readerDirectory.get(cardNumber);
+    }
+
+    /**
+     * Finds the branch that issued a card.
+     *
+     * @param cardNumber A card number issued by {@link #nextCardNumber(String)}.
+     * @return The branch name, or {@code null} if the card wasn't issued by a branch in this federation.
+     */
+    public String getHomeBranch(int cardNumber) {
+        Branch[] current = branchArray;
+        int id = cardNumber / CARDS_PER_BRANCH;
+        if (cardNumber <= 0 || id < 1 || id > current.length) {
+            return null;
+        }
+        return current[id - 1].name;
+    }
+
+    /**
+     * Finds every branch with a copy of a book on its shelves.
+     * Large federations ask the branches in parallel.
+     *
+     * @param isbn The ISBN of the book.
+     * @return The names of the branches with at least one copy available, in the order branches were added.
+     */
+    public List<String> branchesWithAvailable(String isbn) {
+        // Normalized once here so the branches don't each strip the same hyphens.
+        String normalized = Isbn.normalize(isbn);
+        Branch[] current = branchArray;
+        Stream<Branch> stream = Arrays.stream(current);
+        if (current.length >= PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        return stream.filter(branch -> branch.library.getAvailableCopies(normalized) > 0)
+                .map(branch -> branch.name)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the copies of a book on the shelves of each branch that has the book.
+     *
+     * @param isbn The ISBN of the book.
+     * @return A map of branch name to copies available. Branches without the book are left out.
+     */
+    public Map<String, Integer> availableCopies(String isbn) {
+        String normalized = Isbn.normalize(isbn);
+        Branch[] current = branchArray;
+        Map<String, Integer> copies = new LinkedHashMap<>();
+        for (Branch branch : current) {
+            int available = branch.library.getAvailableCopies(normalized);
+            if (available >= 0) {
+                copies.put(branch.name, available);
+            }
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,213 @@
+import Utilities.Code;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts library operations and their results, and records how long each operation takes.
+ * Recording is lock-free so it can stay on in production.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class LibraryMetrics implements LibraryMetricsMBean {
+    /**
+     * Library operations that are measured.
+     */
+    public enum Operation {
+        CHECK_OUT,
+        RETURN,
+        ADD_BOOK,
+        INIT
+    }
+
+    /**
+     * Cached copy of {@code Code.values()} so lookups by ordinal don't clone the array.
+     */
+    private static final Code[] CODES = Code.values();
+
+    /**
+     * Latency histogram for each operation, indexed by {@code Operation.ordinal()}.
+     */
+    private final LatencyHistogram[] latencies;
+
+    /**
+     * Number of times each Code was returned, indexed by {@code Code.ordinal()}.
+     */
+    private final AtomicLongArray codeCounts;
+
+    /**
+     * Constructs a registry with all counters at 0.
+     */
+    public LibraryMetrics() {
+        Operation[] operations = Operation.values();
+        latencies = new LatencyHistogram[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        codeCounts = new AtomicLongArray(CODES.length);
+    }
+
+    /**
+     * Records a finished operation.
+     *
+     * @param operation  The operation that finished.
+     * @param code       The Code the operation returned.
+     * @param startNanos The value of {@code System.nanoTime()} when the operation started.
+     */
+    public void record(Operation operation, Code code, long startNanos) {
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+        codeCounts.incrementAndGet(code.ordinal());
+    }
+
+    /**
+     * Retrieves the number of times an operation was performed.
+     *
+     * @param operation The operation to look up.
+     * @return The count of performed operations.
+     */
+    public long getCount(Operation operation) {
+        return latencies[operation.ordinal()].getCount();
+    }
+
+    /**
+     * Retrieves the number of times a Code was returned by any measured operation.
+     *
+     * @param code The Code to look up.
+     * @return The count of operations that returned the code.
+     */
+    public long getCount(Code code) {
+        return codeCounts.get(code.ordinal());
+    }
+
+    /**
+     * Retrieves the latency histogram for an operation. Values are in nanoseconds.
+     *
+     * @param operation The operation to look up.
+     * @return The LatencyHistogram for the operation.
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Registers this registry with the platform MBean server as {@code Library:type=Metrics,name=<libraryName>}.
+     *
+     * @param libraryName The name of the library being measured.
+     * @return A Code indicating the result of the registration:<br>
+     *         - {@link Code#SUCCESS} if the MBean was registered.<br>
+     *         - {@link Code#LIBRARY_ERROR} if the MBean server rejected it, e.g. because the name is taken.
+     */
+    public Code registerMBean(String libraryName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName(libraryName));
+            return Code.SUCCESS;
+        }
+        catch (JMException e) {
+            System.out.println("Could not register metrics for " + libraryName + ": " + e.getMessage());
+            return Code.LIBRARY_ERROR;
+        }
+    }
+
+    /**
+     * Removes this registry from the platform MBean server.
+     *
+     * @param libraryName The name the registry was registered with.
+     * @return {@link Code#SUCCESS} if the MBean was removed, {@link Code#LIBRARY_ERROR} otherwise.
+     */
+    public Code unregisterMBean(String libraryName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(libraryName));
+            return Code.SUCCESS;
+        }
+        catch (JMException e) {
+            return Code.LIBRARY_ERROR;
+        }
+    }
+
+    private static ObjectName objectName(String libraryName) throws JMException {
+        return new ObjectName("Library:type=Metrics,name=" + ObjectName.quote(libraryName));
+    }
+
+    @Override
+    public long getCheckOutCount() {
+        return getCount(Operation.CHECK_OUT);
+    }
+
+    @Override
+    public long getReturnCount() {
+        return getCount(Operation.RETURN);
+    }
+
+    @Override
+    public long getAddBookCount() {
+        return getCount(Operation.ADD_BOOK);
+    }
+
+    @Override
+    public long getInitCount() {
+        return getCount(Operation.INIT);
+    }
+
+    @Override
+    public long getCheckOutP50Micros() {
+        return micros(getLatency(Operation.CHECK_OUT).getPercentile(50));
+    }
+
+    @Override
+    public long getCheckOutP99Micros() {
+        return micros(getLatency(Operation.CHECK_OUT).getPercentile(99));
+    }
+
+    @Override
+    public long getReturnP50Micros() {
+        return micros(getLatency(Operation.RETURN).getPercentile(50));
+    }
+
+    @Override
+    public long getReturnP99Micros() {
+        return micros(getLatency(Operation.RETURN).getPercentile(99));
+    }
+
+    @Override
+    public long getAddBookP99Micros() {
+        return micros(getLatency(Operation.ADD_BOOK).getPercentile(99));
+    }
+
+    @Override
+    public long getInitMaxMicros() {
+        return micros(getLatency(Operation.INIT).getMax());
+    }
+
+    @Override
+    public Map<String, Long> getCodeCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Code code : CODES) {
+            long count = codeCounts.get(code.ordinal());
+            if (count > 0) {
+                counts.put(code.name(), count);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+        for (int i = 0; i < CODES.length; i++) {
+            codeCounts.set(i, 0);
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
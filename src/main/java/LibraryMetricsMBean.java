@@ -0,0 +1,34 @@
+import java.util.Map;
+
+/**
+ * JMX management interface for {@link LibraryMetrics}.
+ * Latencies are reported in microseconds.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public interface LibraryMetricsMBean {
+    long getCheckOutCount();
+    long getReturnCount();
+    long getAddBookCount();
+    long getInitCount();
+
+    long getCheckOutP50Micros();
+    long getCheckOutP99Micros();
+    long getReturnP50Micros();
+    long getReturnP99Micros();
+    long getAddBookP99Micros();
+    long getInitMaxMicros();
+
+    /**
+     * Retrieves the number of times each Code was returned, keyed by Code name.
+     * Codes that were never returned are left out.
+     *
+     * @return A map of Code name to count.
+     */
+    Map<String, Long> getCodeCounts();
+
+    /**
+     * Clears all counters and histograms.
+     */
+    void reset();
+}
@@ -0,0 +1,250 @@
+import Utilities.Code;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+
+/**
+ * Read replica of a library, kept up to date by applying the events its primary logs.
+ * The primary sends a snapshot followed by every later event over a pipe or socket, and a background
+ * thread applies them to the replica's own {@link Library} in order. Searches, snapshots, and reports can
+ * then run against the replica so they don't compete with checkouts on the primary.
+ * <p>
+ * Commands must only be sent to the primary. A command run on the replica changes only the replica.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class LibraryReplica implements Closeable {
+    /**
+     * The library events are applied to, and the stream they arrive on.
+     */
+    private final Library library;
+    private final DataInputStream in;
+
+    /**
+     * Primary library, when it runs in the same process, for {@link #getLag()}.
+     */
+    private Library primary;
+
+    /**
+     * Sequence number of the last event applied, or -1 until the snapshot has been loaded.
+     */
+    private volatile long appliedSequence = -1;
+
+    /**
+     * Whether events are still arriving.
+     */
+    private volatile boolean connected;
+
+    private Thread applier;
+
+    /**
+     * Constructs a replica that reads a snapshot and then events from a stream sent by
+     * {@link #serve(Library, OutputStream)}. Call {@link #start()} to begin applying them.
+     *
+     * @param library The empty library to apply events to. Give it its own {@link CardNumberAllocator}, so the
+     *                primary's card numbers aren't recorded in the allocator shared by this process's libraries.
+     * @param in      The stream from the primary.
+     */
+    public LibraryReplica(Library library, InputStream in) {
+        this.library = library;
+        this.in = EventLog.dataInput(in);
+    }
+
+    /**
+     * Starts sending a library's events to a replica over a stream, e.g. a socket to another process.
+     * A snapshot is taken first, while the library is locked, so the replica misses no events.
+     * The snapshot and events are written by a thread of their own, so the library's commands never wait for
+     * the replica; a replica that falls {@value EventLog#FOLLOWER_QUEUE_CAPACITY} events behind or disconnects
+     * is dropped.
+     * The library must have an event log; attach one writing to {@code OutputStream.nullOutputStream()}
+     * if the events only need to reach replicas.
+     *
+     * @param primary The library to replicate.
+     * @param out     The stream to the replica.
+     * @return A {@code Code} object indicating the success or failure of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the replica will receive events.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if the library has no event log.<br>
+     *         Returns {@code Code.FILE_NOT_FOUND_ERROR} if the snapshot couldn't be written.
+     */
+    public static Code serve(Library primary, OutputStream out) {
+        synchronized (primary) {
+            EventLog eventLog = primary.getEventLog();
+            if (eventLog == null) {
+                System.out.println(primary.getName() + " has no event log to replicate");
+                return Code.LIBRARY_ERROR;
+            }
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            Code code = EventLog.writeSnapshot(primary, snapshot);
+            if (code == Code.SUCCESS) {
+                eventLog.addFollower(out, snapshot.toByteArray());
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Creates a replica of a library in the same process, connected by a pipe, and starts it.
+     * The replica's library has its own card allocator, so applying the primary's readers doesn't use up
+     * card numbers the primary's allocator is still handing out.
+     *
+     * @param primary The library to replicate. Must have an event log.
+     * @param name    The name of the replica library.
+     * @return The started replica, or {@code null} if it couldn't be connected.
+     */
+    public static LibraryReplica connect(Library primary, String name) {
+        try {
+            Pipe pipe = Pipe.open();
+            LibraryReplica replica = new LibraryReplica(new Library(name, new CardNumberAllocator()),
+                Channels.newInputStream(pipe.source()));
+            replica.primary = primary;
+            if (serve(primary, Channels.newOutputStream(pipe.sink())) != Code.SUCCESS) {
+                replica.close();
+                return null;
+            }
+            replica.start();
+            return replica;
+        }
+        catch (IOException e) {
+            System.out.println("Error connecting replica " + name);
+            System.out.println("Error message: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Starts the background thread that loads the snapshot and applies events.
+     */
+    public synchronized void start() {
+        if (applier != null) {
+            return;
+        }
+        connected = true;
+        applier = new Thread(this::applyEvents, library.getName() + " replica");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Loads the snapshot, then applies events until the stream ends.
+     */
+    private void applyEvents() {
+        try {
+            long snapshotSequence = EventLog.readSnapshot(in, library);
+            if (snapshotSequence < 0) {
+                return;
+            }
+            applied(snapshotSequence);
+            while (true) {
+                applied(EventLog.applyNext(in, library, appliedSequence));
+            }
+        }
+        catch (EOFException e) {
+            System.out.println(library.getName() + " replica disconnected at event " + appliedSequence);
+        }
+        catch (IOException e) {
+            System.out.println(library.getName() + " replica stopped at event " + appliedSequence);
+            System.out.println("Error message: " + e.getMessage());
+        }
+        finally {
+            // Closing the stream tells the primary to stop sending.
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+                // Already closed.
+            }
+            synchronized (this) {
+                connected = false;
+                notifyAll();
+            }
+        }
+    }
+
+    private synchronized void applied(long sequence) {
+        appliedSequence = Math.max(appliedSequence, sequence);
+        notifyAll();
+    }
+
+    /**
+     * Waits until the replica has applied an event.
+     *
+     * @param sequence      The sequence number to wait for.
+     * @param timeoutMillis The longest time to wait, in milliseconds.
+     * @return {@code true} if the event was applied; {@code false} if the wait timed out or the replica disconnected.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (appliedSequence < sequence && connected) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return appliedSequence >= sequence;
+    }
+
+    /**
+     * Retrieves the library events are applied to, for queries.
+     *
+     * @return The replica's Library.
+     */
+    public Library getLibrary() {
+        return library;
+    }
+
+    /**
+     * Retrieves the sequence number of the last event applied.
+     *
+     * @return The sequence number, or -1 if the snapshot hasn't been loaded yet.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Calculates how many events the replica is behind a primary.
+     *
+     * @param primarySequence The sequence number of the primary's last event, from {@link EventLog#getSequence()}.
+     * @return The number of events not applied yet.
+     */
+    public long getLag(long primarySequence) {
+        return Math.max(0, primarySequence - Math.max(0, appliedSequence));
+    }
+
+    /**
+     * Calculates how many events the replica is behind its primary. Only available for replicas created by
+     * {@link #connect(Library, String)}; other replicas use {@link #getLag(long)} with the primary's sequence number.
+     *
+     * @return The number of events not applied yet, or -1 if the primary isn't in this process.
+     */
+    public long getLag() {
+        EventLog eventLog = (primary != null) ? primary.getEventLog() : null;
+        return (eventLog != null) ? getLag(eventLog.getSequence()) : -1;
+    }
+
+    /**
+     * Checks if the replica is still receiving events.
+     *
+     * @return {@code true} until the stream from the primary ends or fails.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Disconnects from the primary. The primary drops the replica the next time it sends an event.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,80 @@
+import Utilities.Code;
+
+import java.util.List;
+
+/**
+ * Copy of a reader that can't be changed, handed out by {@link CatalogSnapshot#getReaders()}.
+ * Checkouts and returns are refused with an error code like any other failed loan change;
+ * setters, which have no code to return, throw {@link UnsupportedOperationException}.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public final class ReadOnlyReader extends Reader {
+
+    /**
+     * Constructs a read-only copy of a reader with the same information and loans.
+     *
+     * @param reader The reader to copy.
+     */
+    ReadOnlyReader(Reader reader) {
+        super(reader);
+    }
+
+    /**
+     * Refuses to add a book; a read-only copy can't check out more books.
+     *
+     * @param book   The book that would be added.
+     * @param dueDay The due date the loan would have.
+     * @return {@link Code#BOOK_LIMIT_REACHED_ERROR} always.
+     */
+    @Override
+    public Code addBook(Book book, int dueDay) {
+        return Code.BOOK_LIMIT_REACHED_ERROR;
+    }
+
+    /**
+     * Refuses to remove a book; a read-only copy keeps the loans it was copied with.
+     *
+     * @param book The book that would be removed.
+     * @return {@link Code#READER_COULD_NOT_REMOVE_BOOK_ERROR} always.
+     */
+    @Override
+    public Code removeBook(Book book) {
+        return Code.READER_COULD_NOT_REMOVE_BOOK_ERROR;
+    }
+
+    @Override
+    public void setBooks(List<Book> books) {
+        throw new UnsupportedOperationException("read-only reader");
+    }
+
+    @Override
+    public void setCardNumber(int cardNumber) {
+        throw new UnsupportedOperationException("read-only reader");
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("read-only reader");
+    }
+
+    @Override
+    public void setPhone(String phone) {
+        throw new UnsupportedOperationException("read-only reader");
+    }
+
+    @Override
+    public void setTier(ReaderTier tier) {
+        throw new UnsupportedOperationException("read-only reader");
+    }
+
+    /**
+     * Returns this reader, which is already read-only.
+     *
+     * @return This ReadOnlyReader.
+     */
+    @Override
+    ReadOnlyReader readOnlyCopy() {
+        return this;
+    }
+}
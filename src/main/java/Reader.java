@@ -1,7 +1,12 @@
 import Utilities.Code;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Part 2 of Library Project. Represents a person reading the book(s).
@@ -24,7 +29,21 @@ public class Reader {
     private int cardNumber;
     private String name;
     private String phone;
-    private List<Book> books;
+    private ReaderTier tier;
+
+    /**
+     * Books checked out by the reader and each loan's due date in days since 1970-01-01.
+     * Hashed so checks and returns don't scan the loans, and kept in checkout order for {@link #toString()}
+     * and {@link #getBooks()}. Only changed through {@link #addBook(Book, int)}, {@link #removeBook(Book)},
+     * and {@link #setBooks(List)}.
+     */
+    private LoanTable books;
+
+    /**
+     * Read-only copy of the reader handed out by {@link #readOnlyCopy()}, or {@code null} if the reader
+     * changed since the last copy was made.
+     */
+    private ReadOnlyReader readOnlyCopy;
 
     /**
      * Constructs a new Reader object with the provided card number, name, and phone number.
@@ -38,7 +57,21 @@ public class Reader {
         this.cardNumber = cardNumber;
         this.name = name;
         this.phone = phone;
-        this.books = new ArrayList<>();
+        this.books = new LoanTable();
+        this.tier = ReaderTier.STUDENT;
+    }
+
+    /**
+     * Constructs a copy of a reader with the same information and loans.
+     *
+     * @param reader The reader to copy.
+     */
+    Reader(Reader reader) {
+        this.cardNumber = reader.cardNumber;
+        this.name = reader.name;
+        this.phone = reader.phone;
+        this.tier = reader.tier;
+        this.books = new LoanTable(reader.books);
     }
 
     /**
@@ -47,11 +80,11 @@ public class Reader {
      * @return A string containing the reader's name, card number, and a list of checked-out books.
      */
     public String toString() {
-        return name + " (#" + cardNumber + ") has checked out " + books.toString();
+        return name + " (#" + cardNumber + ") has checked out " + getBooks().toString();
     }
 
     /**
-     * Adds a book to the reader's collection of checked-out books.
+     * Adds a book to the reader's collection of checked-out books, due on the book's own due date.
      *
      * @param book The book to be added to the collection.
      * @return A {@link Code} indicating the result of the operation:<br>
@@ -59,11 +92,24 @@ public class Reader {
      *         - {@link Code#BOOK_ALREADY_CHECKED_OUT_ERROR} if the book is already in the collection.
      */
     public Code addBook(Book book) {
-        if (books.contains(book)) {
+        return addBook(book, book.getDueEpochDay());
+    }
+
+    /**
+     * Adds a book to the reader's collection of checked-out books with the loan's due date.
+     * The due date belongs to this loan; the Book object isn't changed.
+     *
+     * @param book   The book to be added to the collection.
+     * @param dueDay The loan's due date in days since 1970-01-01, or {@link Book#NO_DUE_DATE}.
+     * @return A {@link Code} indicating the result of the operation:<br>
+     *         - {@link Code#SUCCESS} if the book is successfully added.<br>
+     *         - {@link Code#BOOK_ALREADY_CHECKED_OUT_ERROR} if the book is already in the collection.
+     */
+    public Code addBook(Book book, int dueDay) {
+        if (!books.add(book, dueDay)) {
             return Code.BOOK_ALREADY_CHECKED_OUT_ERROR;
         }
-
-        books.add(book);
+        readOnlyCopy = null;
         return Code.SUCCESS;
     }
 
@@ -78,8 +124,8 @@ public class Reader {
      */
     public Code removeBook(Book book) {
         try {
-            if (books.contains(book)) {
-                books.remove(book);
+            if (books.remove(book)) {
+                readOnlyCopy = null;
                 return Code.SUCCESS;
             }
             else {
@@ -98,7 +144,19 @@ public class Reader {
      * @return {@code true} if the reader has the specified book; {@code false} otherwise.
      */
     public boolean hasBook(Book book) {
-        return books.contains(book);
+        return books.indexOf(book) >= 0;
+    }
+
+    /**
+     * Retrieves the due date of the reader's loan of a book.
+     *
+     * @param book The checked-out book.
+     * @return The due date in days since 1970-01-01, or {@link Book#NO_DUE_DATE} if the reader doesn't have
+     *         the book or the loan has no due date.
+     */
+    public int getDueEpochDay(Book book) {
+        int index = books.indexOf(book);
+        return (index >= 0) ? books.dueDays[index] : Book.NO_DUE_DATE;
     }
 
     /**
@@ -107,7 +165,60 @@ public class Reader {
      * @return The count of books in the reader's collection.
      */
     public int getBookCount() {
-        return books.size();
+        return books.count;
+    }
+
+    /**
+     * Checks whether the reader has any books checked out.
+     *
+     * @return {@code true} if the reader has at least one book; {@code false} otherwise.
+     */
+    public boolean hasBooks() {
+        return books.count > 0;
+    }
+
+    /**
+     * Retrieves the number of books the reader has checked out with the given subject.
+     *
+     * @param subject The subject to count.
+     * @return The count of checked-out books with the subject.
+     */
+    public int getSubjectCount(String subject) {
+        int[] subjectCount = books.subjectCounts.get(subject);
+        return (subjectCount != null) ? subjectCount[0] : 0;
+    }
+
+    /**
+     * Retrieves the number of the reader's loans due before the given day.
+     *
+     * @param today The current day in days since 1970-01-01.
+     * @return The count of loans with a due date before {@code today}.
+     */
+    public int getOverdueCount(long today) {
+        LoanTable loans = books;
+        int overdueCount = 0;
+        for (int i = 0; i < loans.size; i++) {
+            int dueDay = loans.dueDays[i];
+            if (loans.books[i] != null && dueDay != Book.NO_DUE_DATE && dueDay < today) {
+                overdueCount++;
+            }
+        }
+        return overdueCount;
+    }
+
+    /**
+     * Passes each of the reader's loans, in checkout order, to the given action without copying them.
+     *
+     * @param action Called with each checked-out book and its due date in days since 1970-01-01.
+     */
+    public void forEachLoan(ObjIntConsumer<Book> action) {
+        LoanTable loans = books;
+        for (int i = 0; i < loans.size; i++) {
+            Book book = loans.books[i];
+            if (book != null) {
+                action.accept(book, loans.dueDays[i]);
+            }
+        }
     }
 
     /**
@@ -126,6 +237,7 @@ public class Reader {
      */
     public void setCardNumber(int cardNumber) {
         this.cardNumber = cardNumber;
+        readOnlyCopy = null;
     }
 
     /**
@@ -144,6 +256,7 @@ public class Reader {
      */
     public void setName(String name) {
         this.name = name;
+        readOnlyCopy = null;
     }
 
     /**
@@ -162,28 +275,89 @@ public class Reader {
      */
     public void setPhone(String phone) {
         this.phone = phone;
+        readOnlyCopy = null;
     }
 
     /**
      * Retrieves a List containing information about books checked out by the reader.
+     * The list is a copy in checkout order and can't be changed; use {@link #addBook(Book)} and
+     * {@link #removeBook(Book)} to change the reader's loans.
      *
-     * @return A List of Book objects representing the books checked out by the reader.
+     * @return An unmodifiable List of Book objects representing the books checked out by the reader.
      */
     public List<Book> getBooks() {
-        return books;
+        List<Book> list = new ArrayList<>(books.count);
+        forEachLoan((book, dueDay) -> list.add(book));
+        return Collections.unmodifiableList(list);
     }
 
     /**
-     * Sets the list of books checked out by the reader.
+     * Retrieves the reader's loans with their due dates.
+     * The map is a copy; use {@link #forEachLoan(ObjIntConsumer)} to go through the loans without copying them.
+     *
+     * @return An unmodifiable Map, in checkout order, of each checked-out book to its due date
+     *         in days since 1970-01-01.
+     */
+    public Map<Book, Integer> getLoans() {
+        Map<Book, Integer> loans = new LinkedHashMap<>();
+        forEachLoan(loans::put);
+        return Collections.unmodifiableMap(loans);
+    }
+
+    /**
+     * Sets the list of books checked out by the reader. The books are copied, so later changes to the list
+     * don't change the reader's loans and later checkouts and returns don't change the list.
+     * Books the reader already has keep their loan's due date; other books are due on the book's own due date.
      *
      * @param books A List representing the books checked out by the reader.
      */
     public void setBooks(List<Book> books) {
-        this.books = books;
+        LoanTable loans = new LoanTable();
+        for (Book book : books) {
+            int index = this.books.indexOf(book);
+            loans.add(book, (index >= 0) ? this.books.dueDays[index] : book.getDueEpochDay());
+        }
+        this.books = loans;
+        readOnlyCopy = null;
+    }
+
+    /**
+     * Retrieves the reader's tier, which decides the lending policy used for checkouts.
+     *
+     * @return The ReaderTier of the reader. New readers are {@link ReaderTier#STUDENT}.
+     */
+    public ReaderTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Sets the reader's tier.
+     *
+     * @param tier The ReaderTier to be set for the reader.
+     */
+    public void setTier(ReaderTier tier) {
+        this.tier = tier;
+        readOnlyCopy = null;
+    }
+
+    /**
+     * Retrieves a read-only copy of the reader and its loans. The copy is shared until the reader changes,
+     * so snapshots taken between changes don't copy the reader again.
+     *
+     * @return A ReadOnlyReader with the reader's current information and loans.
+     */
+    ReadOnlyReader readOnlyCopy() {
+        ReadOnlyReader copy = readOnlyCopy;
+        if (copy == null) {
+            copy = new ReadOnlyReader(this);
+            readOnlyCopy = copy;
+        }
+        return copy;
     }
 
     /**
      * Indicates whether the provided reader is the same as this reader.
+     * Read-only copies are equal to the reader they were copied from.
      *
      * @param o The reader with which to compare.
      * @return true if this reader has same name, card number, and phone number as the provided reader, false otherwise.
@@ -191,7 +365,7 @@ public class Reader {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Reader)) return false;
 
         Reader reader = (Reader) o;
 
@@ -212,4 +386,180 @@ public class Reader {
         result = 31 * result + (getPhone() != null ? getPhone().hashCode() : 0);
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Loans kept in checkout order in parallel arrays of books and unboxed due dates, with an open addressing
+     * hash table of array positions for constant time lookups and returns.
+     * Returned books leave a {@code null} gap in the arrays, which is closed up the next time the arrays fill.
+     */
+    private static final class LoanTable {
+        /**
+         * Table entry that was never used and one whose loan was returned. Other entries are array position + 1.
+         */
+        private static final int EMPTY = 0;
+        private static final int REMOVED = -1;
+
+        /**
+         * Number of array positions the table starts with.
+         */
+        private static final int INITIAL_CAPACITY = 4;
+
+        /**
+         * Checked-out books and their due dates in checkout order, {@code null} where a book was returned.
+         */
+        Book[] books;
+        int[] dueDays;
+
+        /**
+         * Number of array positions used, including gaps, and number of books checked out.
+         */
+        int size;
+        int count;
+
+        /**
+         * Subject and the number of checked-out books with it, counted as loans are added and removed.
+         */
+        final HashMap<String, int[]> subjectCounts;
+
+        /**
+         * Hash table of array positions. Always at least twice as long as the arrays, so it never fills.
+         */
+        private int[] table;
+
+        LoanTable() {
+            books = new Book[INITIAL_CAPACITY];
+            dueDays = new int[INITIAL_CAPACITY];
+            table = new int[INITIAL_CAPACITY * 2];
+            subjectCounts = new HashMap<>();
+        }
+
+        LoanTable(LoanTable loans) {
+            books = loans.books.clone();
+            dueDays = loans.dueDays.clone();
+            table = loans.table.clone();
+            size = loans.size;
+            count = loans.count;
+            subjectCounts = new HashMap<>();
+            for (Map.Entry<String, int[]> entry : loans.subjectCounts.entrySet()) {
+                subjectCounts.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+
+        /**
+         * Finds the array position of a book.
+         *
+         * @param book The book to find.
+         * @return The position in {@code books} and {@code dueDays}, or -1 if the book isn't checked out.
+         */
+        int indexOf(Book book) {
+            int mask = table.length - 1;
+            for (int slot = spread(book.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+                int entry = table[slot];
+                if (entry == EMPTY) {
+                    return -1;
+                }
+                if (entry != REMOVED && book.equals(books[entry - 1])) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        /**
+         * Adds a loan after the others unless the book is already checked out.
+         *
+         * @param book   The book checked out.
+         * @param dueDay The loan's due date.
+         * @return {@code true} if the loan was added; {@code false} if the book was already checked out.
+         */
+        boolean add(Book book, int dueDay) {
+            if (indexOf(book) >= 0) {
+                return false;
+            }
+            if (size == books.length) {
+                // Close the gaps left by returns, and grow only if that doesn't free a position.
+                rehash((count < books.length / 2) ? books.length : books.length * 2);
+            }
+            books[size] = book;
+            dueDays[size] = dueDay;
+            insert(book, size);
+            size++;
+            count++;
+            subjectCounts.computeIfAbsent(book.getSubject(), subject -> new int[1])[0]++;
+            return true;
+        }
+
+        /**
+         * Removes the loan of a book.
+         *
+         * @param book The book returned.
+         * @return {@code true} if the loan was removed; {@code false} if the book wasn't checked out.
+         */
+        boolean remove(Book book) {
+            int mask = table.length - 1;
+            for (int slot = spread(book.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+                int entry = table[slot];
+                if (entry == EMPTY) {
+                    return false;
+                }
+                if (entry != REMOVED && book.equals(books[entry - 1])) {
+                    table[slot] = REMOVED;
+                    books[entry - 1] = null;
+                    count--;
+                    int[] subjectCount = subjectCounts.get(book.getSubject());
+                    if (subjectCount != null && --subjectCount[0] == 0) {
+                        subjectCounts.remove(book.getSubject());
+                    }
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Moves the loans to new arrays of the given length without gaps and rebuilds the hash table.
+         *
+         * @param capacity The length of the new arrays.
+         */
+        private void rehash(int capacity) {
+            Book[] oldBooks = books;
+            int[] oldDueDays = dueDays;
+            int oldSize = size;
+            books = new Book[capacity];
+            dueDays = new int[capacity];
+            table = new int[capacity * 2];
+            size = 0;
+            for (int i = 0; i < oldSize; i++) {
+                if (oldBooks[i] != null) {
+                    books[size] = oldBooks[i];
+                    dueDays[size] = oldDueDays[i];
+                    insert(books[size], size);
+                    size++;
+                }
+            }
+        }
+
+        /**
+         * Records a book's array position in the first free hash table entry.
+         *
+         * @param book  The book at the position.
+         * @param index The position in {@code books} and {@code dueDays}.
+         */
+        private void insert(Book book, int index) {
+            int mask = table.length - 1;
+            int slot = spread(book.hashCode()) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+
+        /**
+         * Mixes the high bits of a hash code into the low bits used to pick a table entry.
+         *
+         * @param hash The book's hash code.
+         * @return The mixed hash.
+         */
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Kind of library account a reader has. Each tier has its own {@link LendingPolicy}.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public enum ReaderTier {
+    STUDENT,
+    FACULTY,
+    INSTITUTIONAL
+}
@@ -0,0 +1,175 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index over the words in book titles and authors.
+ * Every word is stored lower case in a sorted map, so a query word matches
+ * all indexed words that start with it.
+ * Searches may run on any number of threads while books are added and removed; changes must come
+ * from one thread at a time, which the library ensures by making them while it is locked.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class SearchIndex {
+    /**
+     * Indexed word and the books whose title or author contains it.
+     * Replaced as a whole by {@link #rebuild(Collection)} so searches never see a half-built index.
+     */
+    private volatile ConcurrentSkipListMap<String, Set<Book>> words;
+
+    /**
+     * Constructs an empty search index.
+     */
+    public SearchIndex() {
+        words = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Adds the words in a book's title and author to the index.
+     *
+     * @param book The book to index.
+     */
+    public void add(Book book) {
+        add(words, book);
+    }
+
+    /**
+     * Removes a book from the index. Words no other book uses are dropped.
+     *
+     * @param book The book to remove.
+     */
+    public void remove(Book book) {
+        ConcurrentSkipListMap<String, Set<Book>> words = this.words;
+        List<String> bookWords = tokenize(book.getTitle());
+        bookWords.addAll(tokenize(book.getAuthor()));
+        for (String word : bookWords) {
+            Set<Book> wordBooks = words.get(word);
+            if (wordBooks != null && wordBooks.remove(book) && wordBooks.isEmpty()) {
+                words.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Removes every book from the index and indexes the given books instead.
+     *
+     * @param books The books to index.
+     */
+    public void rebuild(Collection<Book> books) {
+        ConcurrentSkipListMap<String, Set<Book>> newWords = new ConcurrentSkipListMap<>();
+        for (Book book : books) {
+            add(newWords, book);
+        }
+        words = newWords;
+    }
+
+    /**
+     * Finds books whose title or author contains every word in the query.
+     * Each query word matches any indexed word it is a prefix of, so "hitch gal" finds
+     * "Hitchhikers Guide To the Galaxy".
+     *
+     * @param query One or more words separated by spaces or punctuation.
+     * @return A list of matching books. Empty if the query has no words or nothing matches.
+     */
+    public List<Book> search(String query) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Collect matches for each word and start intersecting from the smallest set.
+        List<Set<Book>> matches = new ArrayList<>(queryWords.size());
+        for (String word : queryWords) {
+            Set<Book> wordMatches = prefixMatches(word);
+            if (wordMatches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            matches.add(wordMatches);
+        }
+        matches.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Book> result = new LinkedHashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+            result.retainAll(matches.get(i));
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Retrieves the number of distinct words in the index.
+     *
+     * @return The count of indexed words.
+     */
+    public int getWordCount() {
+        return words.size();
+    }
+
+    /**
+     * Adds the words in a book's title and author to the given word map.
+     *
+     * @param words The word map to add to.
+     * @param book  The book to index.
+     */
+    private static void add(ConcurrentSkipListMap<String, Set<Book>> words, Book book) {
+        List<String> bookWords = tokenize(book.getTitle());
+        bookWords.addAll(tokenize(book.getAuthor()));
+        for (String word : bookWords) {
+            words.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(book);
+        }
+    }
+
+    /**
+     * Collects the books for every indexed word starting with the given prefix.
+     *
+     * @param prefix The lower case prefix to look up.
+     * @return The books indexed under any word starting with the prefix.
+     */
+    private Set<Book> prefixMatches(String prefix) {
+        ConcurrentSkipListMap<String, Set<Book>> words = this.words;
+        Set<Book> exact = words.get(prefix);
+        String nextWord = words.higherKey(prefix);
+        if (exact != null && (nextWord == null || !nextWord.startsWith(prefix))) {
+            // Only the exact word matches, no need to copy.
+            return exact;
+        }
+
+        Map<String, Set<Book>> range = words.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Set<Book> result = new LinkedHashSet<>();
+        for (Set<Book> books : range.values()) {
+            result.addAll(books);
+        }
+        return result;
+    }
+
+    /**
+     * Splits text into lower case words on anything that is not a letter or digit.
+     *
+     * @param text The text to split.
+     * @return The words in the text, in order. Empty if text is null or has no words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            }
+            else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,5 +1,6 @@
 import Utilities.Code;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,6 +23,15 @@ public class Shelf {
     private int shelfNumber;
     private String subject;
 
+    /**
+     * Running total of all copies on the shelf, the cached output of {@link #listBooks()}, and the cached
+     * read-only copy of the books from {@link #readOnlyBooks()}.
+     * The listing and copy are {@code null} until they are built and are cleared whenever the shelf changes.
+     */
+    private int totalBookCount;
+    private String listing;
+    private Map<Book, Integer> bookCopy;
+
     /**
      * Default constructor for creating a Shelf.<br>
      * Per Shelf.java doc: "The no parameter constructor does nothing
@@ -68,11 +78,17 @@ public class Shelf {
             // Book already exists on the shelf, increment the count.
             int newBookCount = books.get(book) + 1;
             books.put(book, newBookCount);
+            totalBookCount++;
+            listing = null;
+            bookCopy = null;
             return Code.SUCCESS;
         }
         else if (book.getSubject().equals(this.subject)) {
             // Book doesn't exist on the shelf but subject matches, add the book with a count of 1.
             books.put(book, 1);
+            totalBookCount++;
+            listing = null;
+            bookCopy = null;
             System.out.println(book + " added to shelf " + this);
             return Code.SUCCESS;
         }
@@ -108,11 +124,69 @@ public class Shelf {
         // Book is present, and there are more than 0 copies.
         int newBookCount = bookCount - 1;
         books.put(book, newBookCount);
+        totalBookCount--;
+        listing = null;
+        bookCopy = null;
         System.out.println(bookTitle + " successfully removed from shelf " + shelfSubject);
 
         return Code.SUCCESS;
     }
 
+    /**
+     * Adds several copies of a book to the shelf at once.
+     *
+     * @param book   The book to add to the shelf.
+     * @param copies The number of copies to add.
+     * @return A code indicating the result of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the copies are added.<br>
+     *         Returns {@code Code.BOOK_RECORD_COUNT_ERROR} if copies is less than 1.<br>
+     *         Returns {@code Code.SHELF_SUBJECT_MISMATCH_ERROR} if the book isn't on the shelf and its subject doesn't match.
+     */
+    public Code addBooks(Book book, int copies) {
+        if (copies < 1) {
+            return Code.BOOK_RECORD_COUNT_ERROR;
+        }
+        if (!books.containsKey(book) && !book.getSubject().equals(this.subject)) {
+            return Code.SHELF_SUBJECT_MISMATCH_ERROR;
+        }
+
+        books.merge(book, copies, Integer::sum);
+        totalBookCount += copies;
+        listing = null;
+        bookCopy = null;
+        System.out.println(copies + " copies of " + book.getTitle() + " added to shelf " + this);
+        return Code.SUCCESS;
+    }
+
+    /**
+     * Removes several copies of a book from the shelf at once. Nothing is removed unless every copy can be.
+     *
+     * @param book   The book to remove from the shelf.
+     * @param copies The number of copies to remove.
+     * @return A code indicating the result of the operation.<br>
+     *         Returns {@code Code.SUCCESS} if the copies are removed.<br>
+     *         Returns {@code Code.BOOK_RECORD_COUNT_ERROR} if copies is less than 1.<br>
+     *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the shelf has fewer copies than requested.
+     */
+    public Code removeBooks(Book book, int copies) {
+        if (copies < 1) {
+            return Code.BOOK_RECORD_COUNT_ERROR;
+        }
+
+        Integer bookCount = books.get(book);
+        if (bookCount == null || bookCount < copies) {
+            System.out.println("Fewer than " + copies + " copies of " + book.getTitle() + " on shelf " + subject);
+            return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+        }
+
+        books.put(book, bookCount - copies);
+        totalBookCount -= copies;
+        listing = null;
+        bookCopy = null;
+        System.out.println(copies + " copies of " + book.getTitle() + " removed from shelf " + subject);
+        return Code.SUCCESS;
+    }
+
     /**
      * Retrieves the count of a specific book on this shelf.
      *
@@ -124,41 +198,49 @@ public class Shelf {
         return (bookCount != null) ? bookCount : -1;
     }
 
+    /**
+     * Retrieves the total number of copies of all books on this shelf.
+     *
+     * @return The sum of the counts of every book on the shelf.
+     */
+    public int getTotalBookCount() {
+        return totalBookCount;
+    }
+
     /**
      * Generates a formatted list of books and their details on the bookshelf, including the shelf's information.
+     * The list is built once and reused until a book is added or removed or the shelf details change.
      *
      * @return A string containing information about the books on the shelf, along with shelf number and subject.
      */
     public String listBooks() {
-        StringBuilder bookList = new StringBuilder();
-
-        // Compute quantity of all books on shelf
-        int numBooksOnShelf = 0;
-        for (int num : books.values()) {
-            numBooksOnShelf += num;
+        if (listing != null) {
+            return listing;
         }
 
+        StringBuilder bookList = new StringBuilder();
+
         // Determine 'book' or 'books' for correct output grammar
-        String bookGrammar = (numBooksOnShelf == 1) ? "book" : "books";
+        String bookGrammar = (totalBookCount == 1) ? "book" : "books";
 
         // Format and generate info about shelf
-        String shelfInfo = numBooksOnShelf + " " + bookGrammar + " on shelf: " + shelfNumber + " : " + subject + "\n";
-        bookList.append(shelfInfo);
+        bookList.append(totalBookCount).append(' ').append(bookGrammar).append(" on shelf: ")
+                .append(shelfNumber).append(" : ").append(subject).append('\n');
 
-        // Generate and format output about each book on shelf then append to bookList
+        // Append info about each book on shelf to bookList
         for (Map.Entry<Book, Integer> book : books.entrySet()) {
-            String bookTitle = book.getKey().getTitle();
-            String bookAuthor = book.getKey().getAuthor();
-            String bookIsbn = book.getKey().getISBN();
-            int numBooks = book.getValue();
-            String bookInfo = bookTitle + " by " + bookAuthor + " ISBN: " + bookIsbn + " " + numBooks + "\n";
-            bookList.append(bookInfo);
+            Book shelfBook = book.getKey();
+            bookList.append(shelfBook.getTitle()).append(" by ").append(shelfBook.getAuthor())
+                    .append(" ISBN: ").append(shelfBook.getISBN()).append(' ').append(book.getValue()).append('\n');
         }
-        return bookList.toString();
+        listing = bookList.toString();
+        return listing;
     }
 
     /**
      * Retrieves a HashMap containing information about books and their corresponding quantities.
+     * Change the shelf through {@link #addBook(Book)}, {@link #removeBook(Book)}, or {@link #setBooks(HashMap)}
+     * so the total count and cached listing stay up to date.
      *
      * @return A HashMap where the keys are Book objects, and the values are integers representing the quantities of each book.
      */
@@ -166,6 +248,21 @@ public class Shelf {
         return books;
     }
 
+    /**
+     * Retrieves a read-only copy of the books on the shelf and their quantities.
+     * The copy is shared until the shelf changes, so snapshots taken between changes don't copy the shelf again.
+     *
+     * @return An unmodifiable Map of Book objects to the number of copies on the shelf.
+     */
+    Map<Book, Integer> readOnlyBooks() {
+        Map<Book, Integer> copy = bookCopy;
+        if (copy == null) {
+            copy = Collections.unmodifiableMap(new HashMap<>(books));
+            bookCopy = copy;
+        }
+        return copy;
+    }
+
     /**
      * Sets the collection of books and their corresponding quantities.
      *
@@ -173,6 +270,12 @@ public class Shelf {
      */
     public void setBooks(HashMap<Book, Integer> books) {
         this.books = books;
+        totalBookCount = 0;
+        for (int num : books.values()) {
+            totalBookCount += num;
+        }
+        listing = null;
+        bookCopy = null;
     }
 
     /**
@@ -191,6 +294,8 @@ public class Shelf {
      */
     public void setShelfNumber(int shelfNumber) {
         this.shelfNumber = shelfNumber;
+        listing = null;
+        bookCopy = null;
     }
 
     /**
@@ -209,6 +314,8 @@ public class Shelf {
      */
     public void setSubject(String subject) {
         this.subject = subject;
+        listing = null;
+        bookCopy = null;
     }
 
     /**
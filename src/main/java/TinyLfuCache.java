@@ -0,0 +1,309 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache with W-TinyLFU admission.
+ * New entries go into a small LRU window. When an entry leaves the window it only replaces the main area's
+ * least recently used entry if it has been requested more often, as estimated by a count-min sketch of recent
+ * lookups. One-off lookups therefore can't flush popular entries out of the cache.
+ * Values are loaded without the cache's lock, so a slow load only holds up lookups of the same key,
+ * which wait for that load instead of starting their own.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class TinyLfuCache<K, V> {
+    /**
+     * Share of the capacity given to the window, in percent.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Most recently used entries that haven't been admitted to the main area yet, and the main area.
+     * Both are in access order, least recently used first.
+     */
+    private final LinkedHashMap<K, V> window;
+    private final LinkedHashMap<K, V> main;
+    private final int windowCapacity;
+    private final int mainCapacity;
+
+    /**
+     * Estimated lookup counts for recently requested keys.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Loads in progress, by key. Removing a key's load, as {@link #invalidate(Object)} does,
+     * stops the loaded value from being cached.
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading;
+
+    /**
+     * Lookups answered from the cache, lookups that went to the loader, and entries dropped.
+     */
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The largest number of entries to keep. Must be at least 2.
+     */
+    public TinyLfuCache(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Cache capacity must be at least 2, was " + capacity);
+        }
+        windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+        mainCapacity = capacity - windowCapacity;
+        window = new LinkedHashMap<>(16, 0.75f, true);
+        main = new LinkedHashMap<>(16, 0.75f, true);
+        sketch = new FrequencySketch(capacity);
+        loading = new ConcurrentHashMap<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Looks up a key, loading and caching its value on a miss. {@code null} values are not cached.
+     * The loader runs without the cache's lock. Lookups of a key that is already being loaded wait
+     * for that load and count as hits.
+     *
+     * @param key    The key to look up.
+     * @param loader Loads the value for a key that isn't cached. Must not look up the same key in this cache.
+     * @return The cached or loaded value, or {@code null} if the loader returned {@code null}.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pending = loading.putIfAbsent(key, load);
+        if (pending != null) {
+            hits.increment();
+            return await(pending);
+        }
+
+        misses.increment();
+        try {
+            value = loader.apply(key);
+            if (value != null) {
+                synchronized (this) {
+                    // Not cached if the key was invalidated while it loaded.
+                    if (loading.get(key) == load) {
+                        put(key, value);
+                    }
+                }
+            }
+            load.complete(value);
+            return value;
+        }
+        catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Removes a key from the cache.
+     *
+     * @param key The key to remove.
+     */
+    public synchronized void invalidate(K key) {
+        loading.remove(key);
+        if (main.remove(key) == null) {
+            window.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry from the cache. Hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        loading.clear();
+        window.clear();
+        main.clear();
+    }
+
+    /**
+     * Retrieves the number of cached entries.
+     *
+     * @return The entry count.
+     */
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /**
+     * Retrieves the largest number of entries the cache keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return windowCapacity + mainCapacity;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Retrieves the share of lookups answered from the cache.
+     *
+     * @return The hit rate from 0 to 1, or 0 if nothing has been looked up.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Counts a lookup of a key in the sketch and finds its cached value.
+     *
+     * @param key The key to look up.
+     * @return The cached value, or {@code null} if the key isn't cached.
+     */
+    private synchronized V lookup(K key) {
+        sketch.increment(key.hashCode());
+        V value = main.get(key);
+        return (value != null) ? value : window.get(key);
+    }
+
+    /**
+     * Waits for another thread's load of a key.
+     *
+     * @param load The load in progress.
+     * @return The loaded value, or {@code null} if the loader returned {@code null}.
+     */
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        }
+        catch (CompletionException e) {
+            // Rethrow what the loader threw, as if this thread had run it.
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a loaded entry to the window, moving the window's oldest entry toward the main area if the window is full.
+     *
+     * @param key   The key to add.
+     * @param value The value to add.
+     */
+    private void put(K key, V value) {
+        window.put(key, value);
+        if (window.size() <= windowCapacity) {
+            return;
+        }
+
+        Iterator<Map.Entry<K, V>> windowEntries = window.entrySet().iterator();
+        Map.Entry<K, V> candidate = windowEntries.next();
+        windowEntries.remove();
+
+        if (main.size() < mainCapacity) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        // Main area is full. Keep whichever of the candidate and main's LRU entry is requested more often.
+        Iterator<Map.Entry<K, V>> mainEntries = main.entrySet().iterator();
+        Map.Entry<K, V> victim = mainEntries.next();
+        if (sketch.frequency(candidate.getKey().hashCode()) > sketch.frequency(victim.getKey().hashCode())) {
+            mainEntries.remove();
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+        evictions.increment();
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters. Every counter is halved once enough lookups have been counted,
+     * so the estimates follow recent popularity.
+     */
+    private static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final long[] table;
+        private final int counterMask;
+        private final int sampleSize;
+        private int samples;
+
+        private FrequencySketch(int capacity) {
+            // Sixteen 4-bit counters per long, about one counter per cached entry in each row.
+            int counters = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+            table = new long[counters * DEPTH / 16];
+            counterMask = counters - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        private void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = counterIndex(hash, row);
+                int shift = (index & 15) << 2;
+                long count = (table[index >>> 4] >>> shift) & 0xF;
+                if (count < MAX_COUNT) {
+                    table[index >>> 4] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++samples >= sampleSize) {
+                halve();
+            }
+        }
+
+        private int frequency(int hash) {
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = counterIndex(hash, row);
+                int count = (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 0xF);
+                min = Math.min(min, count);
+            }
+            return min;
+        }
+
+        private int counterIndex(int hash, int row) {
+            int h = (hash ^ (hash >>> 16)) * SEEDS[row];
+            h ^= h >>> 15;
+            return row * (counterMask + 1) + (h & counterMask);
+        }
+
+        private void halve() {
+            for (int i = 0; i < table.length; i++) {
+                // Shift every counter right by one and clear the bit shifted in from its neighbor.
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            samples /= 2;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import Utilities.Code;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves copies of books between libraries and suggests moves that send spare copies where readers are waiting.
+ * A transfer locks both libraries, always in the same order, and checks everything before changing anything,
+ * so other threads never see copies that have left one library but not arrived at the other.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+public class TransferEngine {
+    /**
+     * A move of copies of one book from one library to another.
+     */
+    public static class Transfer {
+        private final Library from;
+        private final Library to;
+        private final Book book;
+        private final int copies;
+
+        /**
+         * Constructs a transfer.
+         *
+         * @param from   The library giving the copies.
+         * @param to     The library receiving the copies.
+         * @param book   The book to move.
+         * @param copies The number of copies to move.
+         */
+        public Transfer(Library from, Library to, Book book, int copies) {
+            this.from = from;
+            this.to = to;
+            this.book = book;
+            this.copies = copies;
+        }
+
+        public Library getFrom() {
+            return from;
+        }
+
+        public Library getTo() {
+            return to;
+        }
+
+        public Book getBook() {
+            return book;
+        }
+
+        public int getCopies() {
+            return copies;
+        }
+
+        @Override
+        public String toString() {
+            return copies + " copies of " + book.getTitle() + " from " + from.getName() + " to " + to.getName();
+        }
+    }
+
+    /**
+     * Moves copies of a book from one library's shelf to another library in one step.
+     * Readers waiting for the book at the receiving library get copies first; the rest go on its shelf.
+     *
+     * @param from   The library giving the copies.
+     * @param to     The library receiving the copies.
+     * @param book   The book to move.
+     * @param copies The number of copies to move.
+     * @return A {@code Code} object indicating the success or failure of the transfer.<br>
+     *         Returns {@code Code.SUCCESS} if the copies were moved.<br>
+     *         Returns {@code Code.BOOK_RECORD_COUNT_ERROR} if copies is less than 1.<br>
+     *         Returns {@code Code.LIBRARY_ERROR} if both libraries are the same.<br>
+     *         Returns {@code Code.BOOK_NOT_IN_INVENTORY_ERROR} if the giving library has fewer copies on its shelf.<br>
+     *         Returns {@code Code.SHELF_EXISTS_ERROR} if the receiving library has no shelf for the book's subject.
+     */
+    public static Code transfer(Library from, Library to, Book book, int copies) {
+        if (copies < 1) {
+            return Code.BOOK_RECORD_COUNT_ERROR;
+        }
+        if (from == to) {
+            return Code.LIBRARY_ERROR;
+        }
+
+        Library first = (from.getLockOrder() < to.getLockOrder()) ? from : to;
+        Library second = (first == from) ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (from.getShelvedCopies(book) < copies) {
+                    System.out.println(from.getName() + " has fewer than " + copies + " copies of " + book.getTitle() + " on the shelf");
+                    return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+                }
+                if (to.getShelf(book.getSubject()) == null) {
+                    System.out.println(to.getName() + " has no shelf for " + book.getSubject() + " books");
+                    return Code.SHELF_EXISTS_ERROR;
+                }
+
+                Code removeCode = from.removeCopies(book, copies);
+                if (removeCode != Code.SUCCESS) {
+                    return removeCode;
+                }
+                return to.receiveCopies(book, copies);
+            }
+        }
+    }
+
+    /**
+     * Carries out transfers in order, stopping at the first one that fails.
+     * Each transfer is atomic on its own; transfers before a failure stay done.
+     *
+     * @param transfers The transfers to carry out.
+     * @return {@code Code.SUCCESS} if every transfer succeeded, otherwise the code of the first failure.
+     */
+    public static Code transferAll(List<Transfer> transfers) {
+        for (Transfer transfer : transfers) {
+            Code code = transfer(transfer.getFrom(), transfer.getTo(), transfer.getBook(), transfer.getCopies());
+            if (code != Code.SUCCESS) {
+                return code;
+            }
+        }
+        return Code.SUCCESS;
+    }
+
+    /**
+     * Suggests transfers that send spare copies of a book to libraries where readers are waiting for it.
+     * A library needs as many copies as it has holds. A library with no holds can spare the copies on its
+     * shelf beyond a reserve: one copy, or as many as it has checked out if the book is busy there.
+     * Libraries with the most holds are served first, from the libraries with the most spare copies.
+     *
+     * @param libraries The libraries to balance.
+     * @param book      The book to balance.
+     * @return The suggested transfers. Empty if no library is waiting or none has copies to spare.
+     */
+    public static List<Transfer> suggestMoves(List<Library> libraries, Book book) {
+        int[] need = new int[libraries.size()];
+        int[] spare = new int[libraries.size()];
+        List<Integer> needing = new ArrayList<>();
+        List<Integer> giving = new ArrayList<>();
+
+        for (int i = 0; i < libraries.size(); i++) {
+            Library library = libraries.get(i);
+            int holds = library.getHoldCount(book);
+            if (holds > 0) {
+                need[i] = holds;
+                needing.add(i);
+            }
+            else {
+                int reserve = Math.max(1, library.getLoanedCopies(book));
+                spare[i] = Math.max(0, library.getShelvedCopies(book) - reserve);
+                if (spare[i] > 0) {
+                    giving.add(i);
+                }
+            }
+        }
+        needing.sort((a, b) -> Integer.compare(need[b], need[a]));
+        giving.sort((a, b) -> Integer.compare(spare[b], spare[a]));
+
+        List<Transfer> transfers = new ArrayList<>();
+        int giver = 0;
+        for (int to : needing) {
+            while (need[to] > 0 && giver < giving.size()) {
+                int from = giving.get(giver);
+                int copies = Math.min(need[to], spare[from]);
+                transfers.add(new Transfer(libraries.get(from), libraries.get(to), book, copies));
+                need[to] -= copies;
+                spare[from] -= copies;
+                if (spare[from] == 0) {
+                    giver++;
+                }
+            }
+        }
+        return transfers;
+    }
+}
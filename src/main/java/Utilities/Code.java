@@ -15,6 +15,8 @@ public enum Code {
     BOOK_LIMIT_REACHED_ERROR(-22, "Book limit reached"),
     BOOK_NOT_IN_INVENTORY_ERROR(-23, "book not in stacks or library"),
     BOOK_RECORD_COUNT_ERROR(-24, "The count of records for the book doesn't make sense"),
+    BOOK_HOLD_EXISTS_ERROR(-25, "Reader already has a hold on the book"),
+    BOOK_HOLD_NOT_FOUND_ERROR(-26, "Reader doesn't have a hold on the book"),
     READER_COUNT_ERROR(-4, "Reader Count Error"),
     READER_CARD_NUMBER_ERROR(-41, "Reader Card number error"),
     READER_PHONE_NUMBER_ERROR(-43,"Reader Phone number error"),
@@ -23,6 +25,8 @@ public enum Code {
     READER_COULD_NOT_REMOVE_BOOK_ERROR(-46, "Reader won't let go of the book"),
     READER_ALREADY_EXISTS_ERROR(-47, "Reader already exists!"),
     READER_STILL_HAS_BOOKS_ERROR(-48, "Must return all books."),
+    READER_OVERDUE_ERROR(-49, "Too many overdue books"),
+    LENDING_POLICY_ERROR(-5, "Lending policy error"),
     SHELF_COUNT_ERROR(-6,"Shelf count error"),
     SHELF_NUMBER_PARSE_ERROR(-61,"Shelf Number parse error"),
     SHELF_EXISTS_ERROR(-62,"shelf exists error"),
@@ -34,6 +38,17 @@ public enum Code {
     UNKNOWN_ERROR(-999, "Unknown Error");
 
 
+    /**
+     * Code for each code number, indexed by the negated number. Code numbers run from 0 down to -999.
+     */
+    private static final Code[] BY_NUMBER = new Code[1000];
+
+    static {
+        for (Code code : values()) {
+            BY_NUMBER[-code.code] = code;
+        }
+    }
+
     private final int code;
     private final String message;
 
@@ -42,6 +57,20 @@ public enum Code {
         this.message = message;
     }
 
+    /**
+     * Looks up the Code with a code number in a precomputed table, without scanning or copying {@code values()}.
+     *
+     * @param number The code number, e.g. from {@link #getCode()}.
+     * @return The Code with that number, or {@code UNKNOWN_ERROR} if no Code has it.
+     */
+    public static Code fromNumber(int number) {
+        if (number > 0 || number <= -BY_NUMBER.length) {
+            return UNKNOWN_ERROR;
+        }
+        Code code = BY_NUMBER[-number];
+        return (code != null) ? code : UNKNOWN_ERROR;
+    }
+
     public int getCode() {
         return code;
     }
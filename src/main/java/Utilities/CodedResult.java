@@ -0,0 +1,77 @@
+package Utilities;
+
+/**
+ * Packs a {@link Code} and an int value into one {@code long}, so hot paths and bulk operations can
+ * return both without allocating. The value is in the high 32 bits and the code number in the low 32 bits,
+ * and {@link #code(long)} converts back through the table behind {@link Code#fromNumber(int)}.
+ */
+public final class CodedResult {
+    /**
+     * {@code Code.SUCCESS} with a value of 0.
+     */
+    public static final long SUCCESS = of(Code.SUCCESS, 0);
+
+    private CodedResult() {
+    }
+
+    /**
+     * Packs a code and a value.
+     *
+     * @param code  The result code.
+     * @param value The value, e.g. a count or the index of a failed item.
+     * @return The packed result.
+     */
+    public static long of(Code code, int value) {
+        return ((long) value << 32) | (code.getCode() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a successful result with a value.
+     *
+     * @param value The value.
+     * @return The packed result.
+     */
+    public static long success(int value) {
+        return of(Code.SUCCESS, value);
+    }
+
+    /**
+     * Retrieves the code of a packed result.
+     *
+     * @param result A result from {@link #of(Code, int)}.
+     * @return The Code, or {@code Code.UNKNOWN_ERROR} if the code number isn't known.
+     */
+    public static Code code(long result) {
+        return Code.fromNumber(codeNumber(result));
+    }
+
+    /**
+     * Retrieves the code number of a packed result, for writing to a stream without looking up the Code.
+     *
+     * @param result A result from {@link #of(Code, int)}.
+     * @return The code number.
+     */
+    public static int codeNumber(long result) {
+        return (int) result;
+    }
+
+    /**
+     * Retrieves the value of a packed result.
+     *
+     * @param result A result from {@link #of(Code, int)}.
+     * @return The value.
+     */
+    public static int value(long result) {
+        return (int) (result >> 32);
+    }
+
+    /**
+     * Checks if a packed result holds {@code Code.SUCCESS}.
+     *
+     * @param result A result from {@link #of(Code, int)}.
+     * @return {@code true} if the code is {@code Code.SUCCESS}.
+     */
+    public static boolean isSuccess(long result) {
+        return codeNumber(result) == Code.SUCCESS.getCode();
+    }
+}
@@ -0,0 +1,137 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify asynchronous requests run in order and complete their futures.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class AsyncLibraryTest {
+
+    Library csumb = null;
+    AsyncLibrary async = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        // Own card allocator so readers added here don't change other tests' card numbers.
+        csumb = new Library("CSUMB", new CardNumberAllocator());
+        csumb.init(library00);
+        async = new AsyncLibrary(csumb, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+        async = null;
+        csumb = null;
+    }
+
+    @Test
+    void checkOutAndReturnAsync() throws ExecutionException, InterruptedException {
+        Reader jennifer = csumb.getReaderByCard(2);
+
+        // Pipeline many requests before waiting for any answers. Requests run in the order they were sent.
+        List<CompletableFuture<Code>> checkOuts = new ArrayList<>();
+        List<CompletableFuture<Code>> returns = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            checkOuts.add(async.checkOutBookAsync(jennifer, duneBook));
+            returns.add(async.returnBookAsync(jennifer, duneBook));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Code.SUCCESS, checkOuts.get(i).get());
+            assertEquals(Code.SUCCESS, returns.get(i).get());
+        }
+        assertEquals(1, csumb.getShelf("sci-fi").getBookCount(duneBook));
+    }
+
+    @Test
+    void errorCodesAsync() throws ExecutionException, InterruptedException {
+        Reader jordan = new Reader(23, "Jordan", "555-555-5555");
+        assertEquals(Code.READER_NOT_IN_LIBRARY_ERROR, async.checkOutBookAsync(jordan, duneBook).get());
+        assertEquals(Code.SUCCESS, async.addReaderAsync(jordan).get());
+        assertEquals(Code.SUCCESS, async.checkOutBookAsync(jordan, duneBook).get());
+    }
+
+    @Test
+    void callback_waitsForRequests() throws Exception {
+        Reader jennifer = csumb.getReaderByCard(2);
+        CompletableFuture<Code> chained;
+        synchronized (csumb) {
+            // The checkout can't finish while the library is locked, so the callback runs when the writer completes it.
+            chained = async.checkOutBookAsync(jennifer, duneBook).thenApply(code -> {
+                // More requests than the queue holds, sent and waited for from the callback.
+                CompletableFuture<Code> last = null;
+                for (int i = 0; i < 10; i++) {
+                    last = async.returnBookAsync(jennifer, duneBook);
+                }
+                return last.join();
+            });
+        }
+        assertEquals(Code.READER_DOESNT_HAVE_BOOK_ERROR, chained.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void close() {
+        Reader jennifer = csumb.getReaderByCard(2);
+        CompletableFuture<Code> beforeClose = async.checkOutBookAsync(jennifer, duneBook);
+        async.close();
+
+        // Requests queued before closing still finish.
+        assertTrue(beforeClose.isDone());
+        assertFalse(beforeClose.isCompletedExceptionally());
+
+        CompletableFuture<Code> afterClose = async.returnBookAsync(jennifer, duneBook);
+        assertTrue(afterClose.isCompletedExceptionally());
+    }
+
+    @Test
+    void close_fullQueue() throws InterruptedException {
+        Reader jennifer = csumb.getReaderByCard(2);
+        List<CompletableFuture<Code>> results = new ArrayList<>();
+
+        // Callers keep sending while the library is closed; none of them may block or be left waiting.
+        Thread sender = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                CompletableFuture<Code> result = async.placeHoldAsync(jennifer, duneBook);
+                synchronized (results) {
+                    results.add(result);
+                }
+            }
+        });
+        synchronized (csumb) {
+            // The writer can't run requests while the library is locked, so the queue fills up.
+            sender.start();
+            while (async.getQueuedCount() < 4) {
+                Thread.sleep(1);
+            }
+            new Thread(async::close).start();
+            Thread.sleep(50);
+        }
+        sender.join(5000);
+        assertFalse(sender.isAlive());
+        async.close();
+
+        synchronized (results) {
+            assertEquals(1000, results.size());
+            for (CompletableFuture<Code> result : results) {
+                assertTrue(result.isDone());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify available copies are kept up to date by checkouts, returns, and new books.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class AvailabilityIndexTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    // Romance book (Romance shelf doesn't exist)
+    Book romanceBook = new Book("4eva", "The Journal", "Romance", 143, "Nicholas Jolts", LocalDate.of(2007, 2, 14));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void getAvailableCopies_checkOutAndReturn() {
+        assertEquals(1, csumb.getAvailableCopies("34-w-34"));
+
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+        assertEquals(0, csumb.getAvailableCopies("34-w-34"));
+
+        assertEquals(Code.SUCCESS, csumb.returnBook(jennifer, duneBook));
+        assertEquals(1, csumb.getAvailableCopies("34-w-34"));
+    }
+
+    @Test
+    void getAvailableCopies_notInLibrary() {
+        assertEquals(-1, csumb.getAvailableCopies("0000"));
+
+        // Book registered without a shelf has no available copies.
+        csumb.addBook(romanceBook);
+        assertEquals(0, csumb.getAvailableCopies("4eva"));
+    }
+
+    @Test
+    void mightContain() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        int isbnCount = 10000;
+        for (int i = 0; i < isbnCount; i++) {
+            index.register("isbn-" + i);
+        }
+
+        // Registered ISBNs are never rejected, even after the filter grows.
+        for (int i = 0; i < isbnCount; i++) {
+            assertTrue(index.mightContain("isbn-" + i));
+            assertEquals(0, index.getAvailableCopies("isbn-" + i));
+        }
+
+        // Unknown ISBNs are mostly rejected by the filter.
+        int falsePositives = 0;
+        for (int i = 0; i < isbnCount; i++) {
+            if (index.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < isbnCount / 20);
+    }
+
+    @Test
+    void shelvedAndUnshelved() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        index.shelved("5297");
+        index.shelved("5297");
+        assertEquals(2, index.getAvailableCopies("5297"));
+        index.unshelved("5297");
+        index.unshelved("5297");
+        index.unshelved("5297");
+        assertEquals(0, index.getAvailableCopies("5297"));
+    }
+
+    @Test
+    void getAvailableCopies_hyphenated() {
+        AvailabilityIndex index = new AvailabilityIndex();
+        index.shelved("9780306406157");
+        assertEquals(1, index.getAvailableCopies("978-0-306-40615-7"));
+        assertEquals(1, index.getAvailableCopies("978 0 306 40615 7"));
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify the on-disk B+tree.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class BPlusTreeTest {
+
+    Path treeFile = null;
+
+    BPlusTree tree = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        treeFile = Files.createTempFile("tree", ".db");
+        tree = new BPlusTree(treeFile, BPlusTree.MIN_POOL_PAGES);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tree.close();
+        tree = null;
+        Files.deleteIfExists(treeFile);
+    }
+
+    byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    String text(byte[] bytes) {
+        return (bytes != null) ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    @Test
+    void putAndGet() throws IOException {
+        tree.put(bytes("42-w-87"), bytes("Hitchhikers"));
+        tree.put(bytes("e1337"), bytes("Headfirst"));
+        assertEquals("Hitchhikers", text(tree.get(bytes("42-w-87"))));
+        assertNull(tree.get(bytes("5297")));
+
+        // Putting an existing key replaces its value.
+        tree.put(bytes("e1337"), bytes("Headfirst Java"));
+        assertEquals("Headfirst Java", text(tree.get(bytes("e1337"))));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void putAndGet_manyPagesSmallPool() throws IOException {
+        // Far more pages than the pool holds, inserted in random order.
+        int count = 20000;
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(338));
+        for (int i : order) {
+            tree.put(bytes(String.format("isbn-%08d", i)), bytes("book " + i));
+        }
+
+        assertEquals(count, tree.size());
+        assertTrue(tree.getPageCount() > 10 * BPlusTree.MIN_POOL_PAGES);
+        for (int i = 0; i < count; i += 97) {
+            assertEquals("book " + i, text(tree.get(bytes(String.format("isbn-%08d", i)))));
+        }
+        assertTrue(tree.getPageReads() > 0);
+
+        // Everything is still there after reopening the file.
+        tree.close();
+        tree = new BPlusTree(treeFile, BPlusTree.MIN_POOL_PAGES);
+        assertEquals(count, tree.size());
+        assertEquals("book 12345", text(tree.get(bytes("isbn-00012345"))));
+    }
+
+    @Test
+    void scanPrefix() throws IOException {
+        for (int i = 0; i < 3000; i++) {
+            tree.put(bytes(String.format("%04d", i)), bytes("value " + i));
+        }
+
+        List<String> keys = new ArrayList<>();
+        long visited = tree.scanPrefix(bytes("12"), (key, value) -> keys.add(text(key)));
+        assertEquals(100, visited);
+        assertEquals("1200", keys.get(0));
+        assertEquals("1299", keys.get(99));
+
+        // Visitor can stop the scan early.
+        assertEquals(5, tree.scanPrefix(bytes(""), (key, value) -> !text(key).equals("0004")));
+        assertEquals(0, tree.scanPrefix(bytes("9"), (key, value) -> true));
+    }
+
+    @Test
+    void remove() throws IOException {
+        tree.put(bytes("a"), bytes("1"));
+        tree.put(bytes("b"), bytes("2"));
+        assertTrue(tree.remove(bytes("a")));
+        assertFalse(tree.remove(bytes("a")));
+        assertNull(tree.get(bytes("a")));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void put_tooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> tree.put(bytes("key"), new byte[BPlusTree.MAX_ENTRY_SIZE]));
+    }
+
+    @Test
+    void open_notTreeFile() throws IOException {
+        Path other = Files.createTempFile("other", ".db");
+        Files.write(other, new byte[BPlusTree.PAGE_SIZE]);
+        assertThrows(IOException.class, () -> new BPlusTree(other, BPlusTree.MIN_POOL_PAGES));
+        Files.delete(other);
+    }
+}
@@ -170,6 +170,16 @@ class BookTest {
         assertEquals(book2.getDueDate(), book3.getDueDate());
     }
 
+    @Test
+    void getDueEpochDay() {
+        assertEquals(DueDate.toEpochDay(), book1.getDueEpochDay());
+        book1.setDueEpochDay(0);
+        assertEquals(LocalDate.of(1970, 1, 1), book1.getDueDate());
+        book1.setDueDate(null);
+        assertEquals(Book.NO_DUE_DATE, book1.getDueEpochDay());
+        assertNull(book1.getDueDate());
+    }
+
     @Test
     void setDueDate() {
         book4.setDueDate(DueDate_);
@@ -0,0 +1,135 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify card numbers are unique across threads and restarts.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class CardNumberAllocatorTest {
+
+    CardNumberAllocator allocator = null;
+
+    Path stateFile = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        allocator = new CardNumberAllocator();
+        stateFile = Files.createTempFile("cards", ".txt");
+        Files.delete(stateFile);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        allocator = null;
+        Files.deleteIfExists(stateFile);
+    }
+
+    @Test
+    void allocate() {
+        assertEquals(1, allocator.allocate());
+        assertEquals(2, allocator.allocate());
+        assertEquals(CardNumberAllocator.DEFAULT_BLOCK_SIZE, allocator.getHighWaterMark());
+    }
+
+    @Test
+    void allocate_concurrent() throws InterruptedException {
+        Set<Integer> issued = ConcurrentHashMap.newKeySet();
+        int perThread = 1000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    assertTrue(issued.add(allocator.allocate()));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8 * perThread, issued.size());
+    }
+
+    @Test
+    void observe() {
+        assertEquals(1, allocator.allocate());
+
+        // A number this allocator issued, e.g. registered with a library, doesn't cost the block anything.
+        allocator.observe(1);
+        assertEquals(2, allocator.allocate());
+
+        // 10 is inside this thread's block and wasn't issued yet, so the block skips past it.
+        allocator.observe(10);
+        assertEquals(11, allocator.allocate());
+        assertEquals(CardNumberAllocator.DEFAULT_BLOCK_SIZE, allocator.getHighWaterMark());
+
+        // Numbers above the high-water mark move it up.
+        CardNumberAllocator fresh = new CardNumberAllocator();
+        fresh.observe(1000);
+        assertEquals(1000, fresh.getHighWaterMark());
+        assertEquals(1001, fresh.allocate());
+    }
+
+    @Test
+    void observe_otherThreadsBlock() throws InterruptedException {
+        assertEquals(1, allocator.allocate());
+
+        // Another thread's block starts after this one; using a number in it only skips that number.
+        int[] issued = new int[2];
+        Thread other = new Thread(() -> issued[0] = allocator.allocate());
+        other.start();
+        other.join();
+        int otherStart = CardNumberAllocator.DEFAULT_BLOCK_SIZE + 1;
+        assertEquals(otherStart, issued[0]);
+
+        allocator.observe(otherStart + 1);
+        assertEquals(2, allocator.allocate());
+        assertEquals(2 * CardNumberAllocator.DEFAULT_BLOCK_SIZE, allocator.getHighWaterMark());
+    }
+
+    @Test
+    void allocate_saveFails() {
+        // Numbers are only handed out once the high-water mark is on disk.
+        Path missing = stateFile.resolveSibling("missing-directory").resolve("cards.txt");
+        CardNumberAllocator unsaved = new CardNumberAllocator(1, Integer.MAX_VALUE, 16, missing);
+        assertEquals(-1, unsaved.allocate());
+    }
+
+    @Test
+    void allocate_rangeUsedUp() {
+        CardNumberAllocator small = new CardNumberAllocator(5, 7, 2, null);
+        assertEquals(5, small.allocate());
+        assertEquals(6, small.allocate());
+        assertEquals(7, small.allocate());
+        assertEquals(-1, small.allocate());
+    }
+
+    @Test
+    void save_restart() {
+        CardNumberAllocator persisted = new CardNumberAllocator(1, Integer.MAX_VALUE, 16, stateFile);
+        assertEquals(1, persisted.allocate());
+        assertTrue(Files.exists(stateFile));
+
+        // A restart never reissues numbers from a reserved block.
+        CardNumberAllocator restarted = new CardNumberAllocator(1, Integer.MAX_VALUE, 16, stateFile);
+        assertEquals(17, restarted.allocate());
+
+        restarted.observe(500);
+        assertEquals(Code.SUCCESS, restarted.save());
+        assertEquals(501, new CardNumberAllocator(1, Integer.MAX_VALUE, 16, stateFile).allocate());
+    }
+}
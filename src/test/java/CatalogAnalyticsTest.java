@@ -0,0 +1,71 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify parallel catalog reports.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class CatalogAnalyticsTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void copiesPerSubject() {
+        Map<String, Integer> copies = csumb.getAnalytics().copiesPerSubject();
+        assertEquals(5, (int) copies.get("sci-fi"));
+        assertEquals(3, (int) copies.get("education"));
+        assertEquals(1, (int) copies.get("Adventure"));
+    }
+
+    @Test
+    void pagesPerAuthor() {
+        Map<String, Long> pages = csumb.getAnalytics().pagesPerAuthor();
+        assertEquals(4 * 42L, (long) pages.get("Douglas Adams"));
+        assertEquals(3 * 1337L, (long) pages.get("Grady Booch"));
+    }
+
+    @Test
+    void loansPerReader() {
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+
+        Map<Integer, Integer> loans = csumb.getAnalytics().loansPerReader();
+        assertEquals(4, loans.size());
+        assertEquals(1, (int) loans.get(1));
+        assertEquals(2, (int) loans.get(2));
+    }
+
+    @Test
+    void overduePerSubject() {
+        // Every reader has a copy of Hitchhikers due in the past.
+        Map<String, Long> overdue = csumb.getAnalytics().overduePerSubject(LocalDate.of(2030, 1, 1));
+        assertEquals(4L, (long) overdue.get("sci-fi"));
+        assertNull(overdue.get("education"));
+
+        assertTrue(csumb.getAnalytics().overduePerSubject(LocalDate.of(1900, 1, 1)).isEmpty());
+    }
+}
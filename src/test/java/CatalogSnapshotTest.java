@@ -0,0 +1,103 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify snapshots are consistent and never change after they are published.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class CatalogSnapshotTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void getSnapshot_unchangedLibrary() {
+        // Same snapshot is reused while nothing changes.
+        CatalogSnapshot snapshot = csumb.getSnapshot();
+        assertSame(snapshot, csumb.getSnapshot());
+        assertEquals(3, snapshot.getShelves().size());
+        assertEquals(4, snapshot.getReaders().size());
+        assertEquals(4, snapshot.getBookCount(csumb.getBookByISBN("42-w-87")));
+    }
+
+    @Test
+    void getSnapshot_afterCheckout() {
+        CatalogSnapshot before = csumb.getSnapshot();
+        Reader jennifer = csumb.getReaderByCard(2);
+        int booksBefore = before.getReaders().get(1).getBookCount();
+        int duneOnShelf = before.getShelf("sci-fi").get(duneBook);
+
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+
+        // Old snapshot is untouched by the checkout.
+        assertEquals(booksBefore, before.getReaders().get(1).getBookCount());
+        assertEquals(duneOnShelf, (int) before.getShelf("sci-fi").get(duneBook));
+
+        // New snapshot sees the checkout.
+        CatalogSnapshot after = csumb.getSnapshot();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(booksBefore + 1, after.getReaders().get(1).getBookCount());
+        assertEquals(duneOnShelf - 1, (int) after.getShelf("sci-fi").get(duneBook));
+    }
+
+    @Test
+    void getSnapshot_readOnly() {
+        CatalogSnapshot snapshot = csumb.getSnapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getBooks().put(duneBook, 99));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getReaders().clear());
+
+        // Reader copies can't have their books changed.
+        Reader drewCopy = snapshot.getReaders().get(0);
+        assertEquals(Code.READER_COULD_NOT_REMOVE_BOOK_ERROR, drewCopy.removeBook(csumb.getBookByISBN("42-w-87")));
+        assertEquals(Code.BOOK_LIMIT_REACHED_ERROR, drewCopy.addBook(duneBook));
+        assertEquals(1, drewCopy.getBookCount());
+        assertThrows(UnsupportedOperationException.class, () -> drewCopy.setName("Someone Else"));
+
+        // Copies are still equal to the readers they were copied from.
+        assertEquals(csumb.getReaderByCard(1), drewCopy);
+    }
+
+    @Test
+    void getSnapshot_sharesUnchangedCopies() {
+        CatalogSnapshot before = csumb.getSnapshot();
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+        CatalogSnapshot after = csumb.getSnapshot();
+
+        // Only the reader and shelf the checkout changed are copied again.
+        assertSame(before.getReaders().get(0), after.getReaders().get(0));
+        assertNotSame(before.getReaders().get(1), after.getReaders().get(1));
+        assertSame(before.getShelf("education"), after.getShelf("education"));
+        assertNotSame(before.getShelf("sci-fi"), after.getShelf("sci-fi"));
+        assertSame(before.getBooks(), after.getBooks());
+    }
+
+    @Test
+    void getShelfNumber() {
+        CatalogSnapshot snapshot = csumb.getSnapshot();
+        assertEquals(1, snapshot.getShelfNumber("sci-fi"));
+        assertEquals(-1, snapshot.getShelfNumber("Romance"));
+    }
+}
@@ -0,0 +1,30 @@
+import Utilities.Code;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify looking up result codes by number.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class CodeTest {
+
+    @Test
+    void fromNumber() {
+        for (Code code : Code.values()) {
+            assertSame(code, Code.fromNumber(code.getCode()));
+        }
+        assertSame(Code.SUCCESS, Code.fromNumber(0));
+        assertSame(Code.DATE_CONVERSION_ERROR, Code.fromNumber(-101));
+    }
+
+    @Test
+    void fromNumber_unknown() {
+        assertSame(Code.UNKNOWN_ERROR, Code.fromNumber(-7));
+        assertSame(Code.UNKNOWN_ERROR, Code.fromNumber(1));
+        assertSame(Code.UNKNOWN_ERROR, Code.fromNumber(-1000));
+        assertSame(Code.UNKNOWN_ERROR, Code.fromNumber(Integer.MIN_VALUE));
+        assertSame(Code.UNKNOWN_ERROR, Code.fromNumber(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,41 @@
+import Utilities.Code;
+import Utilities.CodedResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify packing result codes and values into longs.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class CodedResultTest {
+
+    @Test
+    void of() {
+        long result = CodedResult.of(Code.BOOK_LIMIT_REACHED_ERROR, 42);
+        assertSame(Code.BOOK_LIMIT_REACHED_ERROR, CodedResult.code(result));
+        assertEquals(-22, CodedResult.codeNumber(result));
+        assertEquals(42, CodedResult.value(result));
+        assertFalse(CodedResult.isSuccess(result));
+    }
+
+    @Test
+    void of_negativeValue() {
+        long result = CodedResult.of(Code.UNKNOWN_ERROR, -5);
+        assertSame(Code.UNKNOWN_ERROR, CodedResult.code(result));
+        assertEquals(-5, CodedResult.value(result));
+
+        result = CodedResult.of(Code.SUCCESS, Integer.MIN_VALUE);
+        assertTrue(CodedResult.isSuccess(result));
+        assertEquals(Integer.MIN_VALUE, CodedResult.value(result));
+    }
+
+    @Test
+    void success() {
+        assertTrue(CodedResult.isSuccess(CodedResult.SUCCESS));
+        assertEquals(0, CodedResult.value(CodedResult.SUCCESS));
+        assertEquals(7, CodedResult.value(CodedResult.success(7)));
+        assertSame(Code.SUCCESS, CodedResult.code(CodedResult.success(7)));
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify the column-oriented catalog matches the books it was built from.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class ColumnarCatalogTest {
+
+    LinkedHashMap<Book, Integer> books;
+    ColumnarCatalog catalog;
+
+    Book hitchhikersBook = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi", 42, "Douglas Adams", LocalDate.of(2020, 10, 12));
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(2021, 1, 2));
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", null);
+
+    @BeforeEach
+    void setUp() {
+        // Insertion order keeps rows predictable.
+        books = new LinkedHashMap<>();
+        books.put(hitchhikersBook, 4);
+        books.put(duneBook, 1);
+        books.put(headfirstBook, 3);
+        catalog = new ColumnarCatalog(books);
+    }
+
+    @AfterEach
+    void tearDown() {
+        books = null;
+        catalog = null;
+    }
+
+    @Test
+    void columns() {
+        assertEquals(3, catalog.size());
+        assertEquals("34-w-34", catalog.getISBN(1));
+        assertEquals("Dune", catalog.getTitle(1));
+        assertEquals("Frank Herbert", catalog.getAuthor(1));
+        assertEquals("sci-fi", catalog.getSubject(1));
+        assertEquals(235, catalog.getPageCount(1));
+        assertEquals(1, catalog.getCopies(1));
+        assertEquals(0, catalog.getLoanCount());
+
+        // Subjects share dictionary ids.
+        assertEquals(0, catalog.getSubjectId("sci-fi"));
+        assertEquals(1, catalog.getSubjectId("education"));
+        assertEquals(-1, catalog.getSubjectId("Romance"));
+    }
+
+    @Test
+    void findByISBN() {
+        assertEquals(1, catalog.findByISBN("34-w-34"));
+        assertEquals(Isbn.NONE, catalog.getIsbnKey(1));
+        assertEquals(-1, catalog.findByISBN("never-packed-code"));
+    }
+
+    @Test
+    void scans() {
+        assertArrayEquals(new int[] {0, 1}, catalog.findBySubjectWithPagesOver("sci-fi", 10));
+        assertArrayEquals(new int[] {1}, catalog.findBySubjectWithPagesOver("sci-fi", 100));
+        assertArrayEquals(new int[0], catalog.findBySubjectWithPagesOver("Romance", 0));
+
+        assertEquals(5, catalog.countCopies("sci-fi"));
+        assertEquals(0, catalog.countCopies("Romance"));
+    }
+
+    @Test
+    void findDueBefore_loans() {
+        // Due dates come from the loans, not from the books.
+        Reader drew = new Reader(1, "Drew Clinkenbeard", "831-582-4007");
+        drew.addBook(duneBook, (int) LocalDate.of(2020, 5, 1).toEpochDay());
+        drew.addBook(headfirstBook, ColumnarCatalog.NO_DUE_DATE);
+        Reader jennifer = new Reader(2, "Jennifer Clinkenbeard", "831-555-6284");
+        jennifer.addBook(duneBook, (int) LocalDate.of(2025, 1, 1).toEpochDay());
+        ColumnarCatalog loanCatalog = new ColumnarCatalog(books, List.of(drew, jennifer));
+
+        assertEquals(3, loanCatalog.getLoanCount());
+        assertArrayEquals(new int[] {0}, loanCatalog.findDueBefore(LocalDate.of(2021, 1, 1)));
+        assertArrayEquals(new int[] {0, 2}, loanCatalog.findDueBefore(LocalDate.of(2030, 1, 1)));
+        assertEquals(1, loanCatalog.getLoanRow(2));
+        assertEquals(2, loanCatalog.getLoanCardNumber(2));
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), loanCatalog.getLoanDueEpochDay(2));
+    }
+
+    @Test
+    void toBook() {
+        for (int row = 0; row < catalog.size(); row++) {
+            Book book = catalog.toBook(row);
+            assertTrue(books.containsKey(book));
+        }
+        assertNull(catalog.toBook(0).getDueDate());
+    }
+
+    @Test
+    void snapshotColumnarCatalog() {
+        Library csumb = new Library("CSUMB");
+        csumb.init("Library00.csv");
+        CatalogSnapshot snapshot = csumb.getSnapshot();
+        ColumnarCatalog libraryCatalog = snapshot.getColumnarCatalog();
+        assertSame(libraryCatalog, snapshot.getColumnarCatalog());
+        assertEquals(4, libraryCatalog.size());
+        assertEquals(5, libraryCatalog.countCopies("sci-fi"));
+
+        // Every reader has Hitchhikers; only Jennifer's and Laurence's loans are due before June 2020.
+        assertEquals(4, libraryCatalog.getLoanCount());
+        assertEquals(2, libraryCatalog.findDueBefore(LocalDate.of(2020, 6, 1)).length);
+    }
+}
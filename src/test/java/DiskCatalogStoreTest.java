@@ -0,0 +1,133 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify storing books and readers on disk.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class DiskCatalogStoreTest {
+
+    Library csumb = null;
+
+    Path storeFile = null;
+
+    DiskCatalogStore store = null;
+
+    String library00 = "Library00.csv";
+
+    // "Headfirst Java" book
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+        storeFile = Files.createTempFile("catalog", ".db");
+        store = new DiskCatalogStore(storeFile, DiskCatalogStore.DEFAULT_POOL_PAGES);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        store = null;
+        csumb = null;
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Test
+    void putLibrary_reopen() throws IOException {
+        assertEquals(Code.SUCCESS, store.putLibrary(csumb));
+        // 4 books, 4 readers, and a loan record for each reader.
+        assertEquals(4 + 4 + 4, store.size());
+        store.close();
+
+        store = new DiskCatalogStore(storeFile, DiskCatalogStore.DEFAULT_POOL_PAGES);
+        assertEquals(headfirstBook, store.loadBook("e1337"));
+        assertEquals(3, store.loadCopies("e1337"));
+        assertNull(store.loadBook("1337"));
+        assertEquals(-1, store.loadCopies("1337"));
+
+        Reader jennifer = store.loadReader(2);
+        assertEquals("Jennifer Clinkenbeard", jennifer.getName());
+        assertEquals(1, jennifer.getBookCount());
+        assertEquals("42-w-87", jennifer.getBooks().get(0).getISBN());
+        assertNull(store.loadReader(99));
+    }
+
+    @Test
+    void putReader_manyLoans() {
+        // An institutional reader's loans don't fit in one record.
+        Reader library = new Reader(7, "Monterey Public Library", "831-646-3932");
+        library.setTier(ReaderTier.INSTITUTIONAL);
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book("978-0-" + i, "Title " + i, "sci-fi", 100, "Author", LocalDate.of(1970, 1, 1));
+            assertEquals(Code.SUCCESS, store.putBook(book, 1));
+            library.addBook(book, i);
+        }
+        assertEquals(Code.SUCCESS, store.putReader(library));
+
+        Reader loaded = store.loadReader(7);
+        assertEquals(ReaderTier.INSTITUTIONAL, loaded.getTier());
+        assertEquals(library.getBooks(), loaded.getBooks());
+        assertEquals(99, loaded.getDueEpochDay(store.loadBook("978-0-99")));
+
+        // Loan records no longer needed are removed.
+        long size = store.size();
+        for (Book book : library.getBooks().subList(1, 100)) {
+            library.removeBook(book);
+        }
+        assertEquals(Code.SUCCESS, store.putReader(library));
+        assertEquals(1, store.loadReader(7).getBookCount());
+        assertTrue(store.size() < size);
+    }
+
+    @Test
+    void putBook_tooLarge() {
+        Book book = new Book("1", "x".repeat(BPlusTree.MAX_ENTRY_SIZE), "sci-fi", 100, "Author", LocalDate.of(1970, 1, 1));
+        assertEquals(Code.LIBRARY_ERROR, store.putBook(book, 1));
+        assertNull(store.loadBook("1"));
+    }
+
+    @Test
+    void findByIsbnPrefix() {
+        store.putLibrary(csumb);
+        List<Book> found = store.findByIsbnPrefix("e13", 10);
+        assertEquals(1, found.size());
+        assertEquals(headfirstBook, found.get(0));
+        assertEquals(1, store.findByIsbnPrefix("", 1).size());
+
+        // Valid ISBNs are stored without hyphens, and lookups and prefixes may have them.
+        Book isbnBook = new Book("978-0-306-40615-7", "Signals", "sci-fi", 100, "Author", LocalDate.of(1970, 1, 1));
+        store.putBook(isbnBook, 1);
+        assertEquals(isbnBook, store.loadBook("978-0-306-40615-7"));
+        assertEquals(1, store.loadCopies("978 0 306 40615 7"));
+        assertEquals(isbnBook, store.findByIsbnPrefix("978-0-306", 10).get(0));
+    }
+
+    @Test
+    void removeBook() {
+        store.putLibrary(csumb);
+        assertEquals(Code.SUCCESS, store.removeBook("e1337"));
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, store.removeBook("e1337"));
+        assertNull(store.loadBook("e1337"));
+    }
+
+    @Test
+    void library_catalogStore() {
+        Library branch = new Library("Branch");
+        store.putLibrary(csumb);
+        branch.setCatalogStore(store);
+        assertEquals(headfirstBook, branch.getBookByISBN("e1337"));
+    }
+}
@@ -0,0 +1,284 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify logging library commands and rebuilding libraries from logs and snapshots.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class EventLogTest {
+
+    Library csumb = null;
+
+    // Card numbers registered by a test are reset so they don't reach other tests' libraries.
+    int libraryCard = Library.getLibraryCard();
+    ByteArrayOutputStream logBytes = null;
+    EventLog eventLog = null;
+
+    String library00 = "Library00.csv";
+
+    // Books from Library00.csv
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        logBytes = new ByteArrayOutputStream();
+        eventLog = new EventLog(logBytes);
+        csumb = new Library("CSUMB");
+        csumb.setEventLog(eventLog);
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+        logBytes = null;
+        eventLog = null;
+        Library.setLibraryCard(libraryCard);
+    }
+
+    /**
+     * Copies what has been logged so far.
+     */
+    ByteArrayInputStream logged() {
+        assertEquals(Code.SUCCESS, eventLog.flush());
+        return new ByteArrayInputStream(logBytes.toByteArray());
+    }
+
+    void assertSameState(Library expected, Library actual) {
+        CatalogSnapshot expectedSnapshot = expected.getSnapshot();
+        CatalogSnapshot actualSnapshot = actual.getSnapshot();
+        assertEquals(expectedSnapshot.getBooks(), actualSnapshot.getBooks());
+        assertEquals(expectedSnapshot.getShelves(), actualSnapshot.getShelves());
+        assertEquals(expected.getReaders(), actual.getReaders());
+        for (Reader reader : expected.getReaders()) {
+            assertEquals(reader.getBooks(), actual.getReaderByCard(reader.getCardNumber()).getBooks());
+        }
+        assertEquals(expected.getInventoryStats().getCopiesOnShelf(), actual.getInventoryStats().getCopiesOnShelf());
+        assertEquals(expected.getInventoryStats().getCopiesOnLoan(), actual.getInventoryStats().getCopiesOnLoan());
+    }
+
+    @Test
+    void init_logsCommands() {
+        // 4 titles, 3 shelves, 4 readers, and 4 checkouts of Hitchhikers.
+        assertEquals(15, eventLog.getSequence());
+    }
+
+    @Test
+    void replay() {
+        Reader drew = csumb.getReaderByCard(1);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, headfirstBook));
+        assertEquals(Code.SUCCESS, csumb.addReader(new Reader(5, "Ada Lovelace", "555-555-1815")));
+        assertEquals(Code.SUCCESS, csumb.addShelf("history"));
+
+        Library replica = new Library("Replica");
+        assertEquals(eventLog.getSequence(), EventLog.replay(logged(), replica, 0));
+        assertSameState(csumb, replica);
+        assertEquals(0, replica.getShelvedCopies(csumb.getBookByISBN("42-w-87")));
+        assertEquals(2, replica.getShelvedCopies(headfirstBook));
+        assertEquals(4, replica.getShelf("history").getShelfNumber());
+    }
+
+    @Test
+    void returnBook_logsOneEvent() {
+        Reader drew = csumb.getReaderByCard(1);
+        Book hitchhikers = csumb.getBookByISBN("42-w-87");
+        long sequence = eventLog.getSequence();
+
+        // Shelving the returned copy is part of the return and isn't logged on its own.
+        assertEquals(Code.SUCCESS, csumb.returnBook(drew, hitchhikers));
+        assertEquals(sequence + 1, eventLog.getSequence());
+
+        Library replica = new Library("Replica");
+        EventLog.replay(logged(), replica, 0);
+        assertSameState(csumb, replica);
+        assertEquals(1, replica.getShelvedCopies(hitchhikers));
+    }
+
+    @Test
+    void failedCommands_notLogged() {
+        long sequence = eventLog.getSequence();
+        Reader drew = csumb.getReaderByCard(1);
+
+        assertEquals(Code.SHELF_EXISTS_ERROR, csumb.addShelf("sci-fi"));
+        assertEquals(Code.READER_STILL_HAS_BOOKS_ERROR, csumb.removeReader(drew));
+        assertEquals(Code.READER_DOESNT_HAVE_BOOK_ERROR, csumb.returnBook(drew, duneBook));
+        assertEquals(Code.BOOK_HOLD_NOT_FOUND_ERROR, csumb.cancelHold(drew, duneBook));
+        assertEquals(Code.BOOK_RECORD_COUNT_ERROR, csumb.addBooks(duneBook, 0));
+        assertEquals(sequence, eventLog.getSequence());
+    }
+
+    @Test
+    void replay_holds() {
+        Reader drew = csumb.getReaderByCard(1);
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, duneBook));
+        assertEquals(Code.SUCCESS, csumb.placeHold(jennifer, duneBook));
+        assertEquals(Code.SUCCESS, csumb.returnBook(drew, duneBook));
+        assertTrue(jennifer.hasBook(duneBook));
+
+        Library replica = new Library("Replica");
+        EventLog.replay(logged(), replica, 0);
+        assertSameState(csumb, replica);
+        assertTrue(replica.getReaderByCard(2).hasBook(duneBook));
+        assertFalse(replica.getReaderByCard(1).hasBook(duneBook));
+    }
+
+    @Test
+    void replay_policiesNotCheckedAgain() {
+        assertEquals(Code.SUCCESS, csumb.initPolicies("LendingPolicies.csv"));
+        Reader ada = new Reader(5, "Ada Lovelace", "555-555-1815");
+        ada.setTier(ReaderTier.FACULTY);
+        assertEquals(Code.SUCCESS, csumb.addReader(ada));
+
+        // Faculty may borrow more books than the replica's default policy allows.
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(ada, duneBook));
+        for (int i = 0; i < 6; i++) {
+            Book book = new Book("sf-" + i, "Sci-fi " + i, "sci-fi", 100, "Anonymous", LocalDate.of(1970, 1, 1));
+            assertEquals(Code.SUCCESS, csumb.addBook(book));
+            assertEquals(Code.SUCCESS, csumb.checkOutBook(ada, book));
+        }
+        assertEquals(7, ada.getBookCount());
+
+        Library replica = new Library("Replica");
+        EventLog.replay(logged(), replica, 0);
+        assertSameState(csumb, replica);
+        assertEquals(7, replica.getReaderByCard(5).getBookCount());
+    }
+
+    @Test
+    void replay_holdDueDates() {
+        Reader drew = csumb.getReaderByCard(1);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, duneBook));
+        assertEquals(Code.SUCCESS, csumb.initPolicies("LendingPolicies.csv"));
+        Reader ada = new Reader(5, "Ada Lovelace", "555-555-1815");
+        ada.setTier(ReaderTier.FACULTY);
+        assertEquals(Code.SUCCESS, csumb.addReader(ada));
+        assertEquals(Code.SUCCESS, csumb.placeHold(ada, duneBook));
+        assertEquals(Code.SUCCESS, csumb.returnBook(drew, duneBook));
+
+        // The replica's loan period is shorter, but the loan keeps the due date it was given.
+        Library replica = new Library("Replica");
+        EventLog.replay(logged(), replica, 0);
+        assertSameState(csumb, replica);
+        assertEquals(ada.getDueEpochDay(duneBook), replica.getReaderByCard(5).getDueEpochDay(duneBook));
+    }
+
+    @Test
+    void replay_transfers() {
+        Library monterey = new Library("Monterey");
+        monterey.addShelf("education");
+        ByteArrayOutputStream montereyBytes = new ByteArrayOutputStream();
+        EventLog montereyLog = new EventLog(montereyBytes);
+        monterey.setEventLog(montereyLog);
+
+        assertEquals(Code.SUCCESS, TransferEngine.transfer(csumb, monterey, headfirstBook, 2));
+
+        Library csumbReplica = new Library("CSUMB replica");
+        EventLog.replay(logged(), csumbReplica, 0);
+        assertSameState(csumb, csumbReplica);
+
+        Library montereyReplica = new Library("Monterey replica");
+        montereyReplica.addShelf("education");
+        montereyLog.flush();
+        EventLog.replay(new ByteArrayInputStream(montereyBytes.toByteArray()), montereyReplica, 0);
+        assertSameState(monterey, montereyReplica);
+    }
+
+    @Test
+    void replay_skipsEarlierEvents() {
+        Library replica = new Library("Replica");
+        replica.addShelf("history");
+
+        // Books are skipped, so the checkouts that follow are skipped too.
+        assertEquals(15, EventLog.replay(logged(), replica, 4));
+        assertEquals(0, replica.getBooks().size());
+        assertEquals(4, replica.getShelves().size());
+        assertEquals(4, replica.getReaders().size());
+        assertTrue(replica.getReaderByCard(1).getBooks().isEmpty());
+    }
+
+    @Test
+    void replay_ignoresPartialFrame() {
+        byte[] log = logged().readAllBytes();
+        Library replica = new Library("Replica");
+        assertEquals(14, EventLog.replay(new ByteArrayInputStream(Arrays.copyOf(log, log.length - 3)), replica, 0));
+    }
+
+    @Test
+    void replay_notLoggedAgain() {
+        Library replica = new Library("Replica");
+        ByteArrayOutputStream replicaBytes = new ByteArrayOutputStream();
+        EventLog replicaLog = new EventLog(replicaBytes);
+        replica.setEventLog(replicaLog);
+
+        EventLog.replay(logged(), replica, 0);
+        assertEquals(0, replicaLog.getSequence());
+        assertSame(replicaLog, replica.getEventLog());
+    }
+
+    @Test
+    void snapshot() {
+        Reader drew = csumb.getReaderByCard(1);
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, duneBook));
+        assertEquals(Code.SUCCESS, csumb.placeHold(jennifer, duneBook));
+
+        ByteArrayOutputStream snapshotBytes = new ByteArrayOutputStream();
+        assertEquals(Code.SUCCESS, EventLog.writeSnapshot(csumb, snapshotBytes));
+        long snapshotSequence = eventLog.getSequence();
+
+        assertEquals(Code.SUCCESS, csumb.returnBook(drew, duneBook));
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, headfirstBook));
+
+        Library replica = new Library("Replica");
+        assertEquals(snapshotSequence, EventLog.readSnapshot(new ByteArrayInputStream(snapshotBytes.toByteArray()), replica));
+        assertEquals(1, replica.getHoldCount(duneBook));
+
+        assertEquals(eventLog.getSequence(), EventLog.replay(logged(), replica, snapshotSequence));
+        assertSameState(csumb, replica);
+        assertTrue(replica.getReaderByCard(2).hasBook(duneBook));
+        assertEquals(0, replica.getHoldCount(duneBook));
+    }
+
+    @Test
+    void snapshot_periodic() throws IOException {
+        Path directory = Files.createTempDirectory("eventlog");
+        Path snapshotFile = directory.resolve("library.snapshot");
+        eventLog.setSnapshotFile(snapshotFile, 10);
+
+        Reader drew = csumb.getReaderByCard(1);
+        csumb.checkOutBook(drew, duneBook);
+        csumb.checkOutBook(drew, headfirstBook);
+        csumb.returnBook(drew, duneBook);
+        csumb.addShelf("history");
+        assertFalse(Files.exists(snapshotFile));
+
+        // Event 20 writes a snapshot; event 21 is only in the log.
+        Reader ada = new Reader(5, "Ada Lovelace", "555-555-1815");
+        csumb.addReader(ada);
+        assertTrue(Files.exists(snapshotFile));
+        csumb.checkOutBook(ada, csumb.getBookByISBN("5297"));
+
+        Library replica = new Library("Replica");
+        assertEquals(21, EventLog.recover(replica, snapshotFile, logged()));
+        assertSameState(csumb, replica);
+        assertNotNull(replica.getShelf("history"));
+
+        Files.delete(snapshotFile);
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify overdue fine calculation.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class FineEngineTest {
+
+    FineEngine engine = null;
+
+    LocalDate asOf = LocalDate.of(2024, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        // 25 cents a day up to $10 per loan, education books 50 cents a day up to $5.
+        engine = new FineEngine(25, 1000);
+        engine.setSubjectRate("education", 50, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine = null;
+    }
+
+    Book loan(String isbn, String subject, LocalDate dueDate) {
+        return new Book(isbn, "Title " + isbn, subject, 100, "Author", dueDate);
+    }
+
+    @Test
+    void fineFor() {
+        long asOfDay = asOf.toEpochDay();
+        int today = (int) asOfDay;
+        Book sciFi = loan("1", "sci-fi", null);
+        Book education = loan("1", "education", null);
+        assertEquals(0, engine.fineFor(sciFi, today, asOfDay));
+        assertEquals(0, engine.fineFor(sciFi, Book.NO_DUE_DATE, asOfDay));
+        assertEquals(4 * 25, engine.fineFor(sciFi, today - 4, asOfDay));
+        assertEquals(1000, engine.fineFor(sciFi, today - 400, asOfDay));
+        assertEquals(4 * 50, engine.fineFor(education, today - 4, asOfDay));
+        assertEquals(500, engine.fineFor(education, today - 40, asOfDay));
+
+        // Only the loan's due date counts, not the book's.
+        assertEquals(0, engine.fineFor(loan("1", "sci-fi", asOf.minusDays(4)), today, asOfDay));
+    }
+
+    @Test
+    void assess() {
+        Reader drew = new Reader(7, "Drew Clinkenbeard", "831-582-4007");
+        drew.addBook(loan("1", "sci-fi", asOf.minusDays(2)));
+        drew.addBook(loan("2", "education", asOf.minusDays(3)));
+        Reader jennifer = new Reader(2, "Jennifer Clinkenbeard", "831-555-6284");
+        jennifer.addBook(loan("3", "sci-fi", asOf.plusDays(10)));
+        Reader monte = new Reader(3, "Monte Ray", "555-555-4444");
+        monte.addBook(loan("4", "Adventure", asOf.minusDays(1000)));
+
+        FineLedger ledger = engine.assess(Arrays.asList(drew, jennifer, monte), asOf);
+        assertEquals(2, ledger.size());
+        assertEquals(3, ledger.getCardNumber(0));
+        assertEquals(7, ledger.getCardNumber(1));
+        assertEquals(2 * 25 + 3 * 50, ledger.getFine(7));
+        assertEquals(1000, ledger.getFine(3));
+        assertEquals(0, ledger.getFine(2));
+        assertEquals(1000 + 2 * 25 + 3 * 50, ledger.getTotalCents());
+    }
+
+    @Test
+    void assess_manyReaders() {
+        List<Reader> readers = new ArrayList<>();
+        for (int card = 1; card <= 10000; card++) {
+            Reader reader = new Reader(card, "Reader " + card, "555-555-5555");
+            reader.addBook(loan("a" + card, "sci-fi", asOf.minusDays(card % 3)));
+            readers.add(reader);
+        }
+
+        // Readers with card % 3 == 0 aren't overdue.
+        FineLedger ledger = engine.assess(readers, asOf);
+        assertEquals(6667, ledger.size());
+        assertEquals(25, ledger.getFine(1));
+        assertEquals(50, ledger.getFine(2));
+        assertEquals(0, ledger.getFine(3));
+    }
+
+    @Test
+    void assess_snapshot() {
+        Library csumb = new Library("CSUMB");
+        csumb.init("Library00.csv");
+
+        // Every reader in Library00.csv has an overdue copy of Hitchhikers.
+        FineLedger ledger = engine.assess(csumb.getSnapshot(), asOf);
+        assertEquals(4, ledger.size());
+        assertEquals(4 * 1000, ledger.getTotalCents());
+    }
+
+    @Test
+    void assess_loanDueDates() {
+        Library csumb = new Library("CSUMB");
+        csumb.init("Library00.csv");
+
+        // Readers share one Hitchhikers Book, but each loan has the due date from the file.
+        // Jennifer's loan is 27 days late and Laurence's is over the cap; Drew's and Monte's aren't due yet.
+        FineLedger ledger = engine.assess(csumb.getSnapshot(), LocalDate.of(2020, 6, 1));
+        assertEquals(2, ledger.size());
+        assertEquals(0, ledger.getFine(1));
+        assertEquals(27 * 25, ledger.getFine(2));
+        assertEquals(0, ledger.getFine(3));
+        assertEquals(1000, ledger.getFine(4));
+
+        Reader drew = csumb.getReaderByCard(1);
+        Book hitchhikers = csumb.getBookByISBN("42-w-87");
+        assertEquals(0, engine.fineFor(drew, hitchhikers, LocalDate.of(2020, 6, 1).toEpochDay()));
+        assertEquals(2 * 25, engine.fineFor(drew, hitchhikers, LocalDate.of(2020, 10, 14).toEpochDay()));
+    }
+}
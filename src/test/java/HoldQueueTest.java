@@ -0,0 +1,158 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify holds are served in order when copies are returned.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class HoldQueueTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book, only one copy in Library00
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    // Romance book (not in library)
+    Book romanceBook = new Book("4eva", "The Journal", "Romance", 143, "Nicholas Jolts", LocalDate.of(2007, 2, 14));
+
+    Reader jennifer;
+    Reader monte;
+    Reader laurence;
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+        jennifer = csumb.getReaderByCard(2);
+        monte = csumb.getReaderByCard(3);
+        laurence = csumb.getReaderByCard(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void placeHold() {
+        assertEquals(Code.READER_NOT_IN_LIBRARY_ERROR, csumb.placeHold(new Reader(23, "Jordan", "555-555-5555"), duneBook));
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, csumb.placeHold(monte, romanceBook));
+
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+        assertEquals(Code.BOOK_ALREADY_CHECKED_OUT_ERROR, csumb.placeHold(jennifer, duneBook));
+
+        assertEquals(Code.SUCCESS, csumb.placeHold(monte, duneBook));
+        assertEquals(Code.BOOK_HOLD_EXISTS_ERROR, csumb.placeHold(monte, duneBook));
+        assertEquals(1, csumb.getHoldCount(duneBook));
+    }
+
+    @Test
+    void returnBook_goesToNextHold() {
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, csumb.checkOutBook(monte, duneBook));
+        csumb.placeHold(monte, duneBook);
+        csumb.placeHold(laurence, duneBook);
+
+        // Returned copy skips the shelf and goes to the first reader in line.
+        assertEquals(Code.SUCCESS, csumb.returnBook(jennifer, duneBook));
+        assertTrue(monte.hasBook(duneBook));
+        assertFalse(laurence.hasBook(duneBook));
+        assertEquals(0, csumb.getShelf("sci-fi").getBookCount(duneBook));
+        assertEquals(0, csumb.getAvailableCopies("34-w-34"));
+        assertEquals(1, csumb.getHoldCount(duneBook));
+
+        assertEquals(Code.SUCCESS, csumb.returnBook(monte, duneBook));
+        assertTrue(laurence.hasBook(duneBook));
+        assertEquals(0, csumb.getHoldCount(duneBook));
+
+        // Nobody waiting, so the copy goes back on the shelf.
+        assertEquals(Code.SUCCESS, csumb.returnBook(laurence, duneBook));
+        assertEquals(1, csumb.getShelf("sci-fi").getBookCount(duneBook));
+    }
+
+    @Test
+    void returnBook_skipsReadersWhoLeft() {
+        csumb.checkOutBook(jennifer, duneBook);
+        csumb.placeHold(laurence, duneBook);
+        csumb.placeHold(monte, duneBook);
+
+        // Laurence returns everything and closes the account.
+        for (Book book : laurence.getBooks()) {
+            laurence.removeBook(book);
+        }
+        assertEquals(Code.SUCCESS, csumb.removeReader(laurence));
+
+        assertEquals(Code.SUCCESS, csumb.returnBook(jennifer, duneBook));
+        assertFalse(laurence.hasBook(duneBook));
+        assertTrue(monte.hasBook(duneBook));
+    }
+
+    @Test
+    void addBooks_goesToNextHold() {
+        csumb.checkOutBook(jennifer, duneBook);
+        csumb.placeHold(monte, duneBook);
+        csumb.placeHold(laurence, duneBook);
+
+        // New copies go to waiting readers before the stacks.
+        assertEquals(Code.SUCCESS, csumb.addBook(duneBook));
+        assertTrue(monte.hasBook(duneBook));
+        assertEquals(1, csumb.getHoldCount(duneBook));
+
+        // So does a copy shelved without a reader returning it.
+        assertEquals(Code.SUCCESS, csumb.returnBook(duneBook));
+        assertTrue(laurence.hasBook(duneBook));
+        assertEquals(0, csumb.getHoldCount(duneBook));
+        assertEquals(0, csumb.getShelvedCopies(duneBook));
+    }
+
+    @Test
+    void addShelf_goesToNextHold() {
+        Library monterey = new Library("Monterey");
+        Reader ada = new Reader(1, "Ada Lovelace", "555-555-1815");
+        monterey.addReader(ada);
+        monterey.addBook(duneBook);
+        assertEquals(Code.SUCCESS, monterey.placeHold(ada, duneBook));
+
+        // The copy waiting in the stacks goes to Ada when its shelf is added.
+        assertEquals(Code.SUCCESS, monterey.addShelf("sci-fi"));
+        assertTrue(ada.hasBook(duneBook));
+        assertEquals(0, monterey.getShelvedCopies(duneBook));
+    }
+
+    @Test
+    void cancelHold() {
+        csumb.checkOutBook(jennifer, duneBook);
+        assertEquals(Code.BOOK_HOLD_NOT_FOUND_ERROR, csumb.cancelHold(monte, duneBook));
+        csumb.placeHold(monte, duneBook);
+        assertEquals(Code.SUCCESS, csumb.cancelHold(monte, duneBook));
+        assertEquals(0, csumb.getHoldCount(duneBook));
+
+        csumb.returnBook(jennifer, duneBook);
+        assertFalse(monte.hasBook(duneBook));
+        assertEquals(1, csumb.getShelf("sci-fi").getBookCount(duneBook));
+    }
+
+    @Test
+    void holdQueue_order() {
+        HoldQueue queue = new HoldQueue();
+        assertNull(queue.poll());
+        assertTrue(queue.add(jennifer));
+        assertTrue(queue.add(monte));
+        assertFalse(queue.add(jennifer));
+        assertTrue(queue.add(laurence));
+        assertTrue(queue.remove(monte));
+        assertFalse(queue.contains(monte));
+        assertEquals(jennifer, queue.poll());
+        assertEquals(laurence, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify running inventory totals match the library's contents.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class InventoryStatsTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    // Romance book (Romance shelf doesn't exist)
+    Book romanceBook = new Book("4eva", "The Journal", "Romance", 143, "Nicholas Jolts", LocalDate.of(2007, 2, 14));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void afterInit() {
+        InventoryStats stats = csumb.getInventoryStats();
+        assertEquals(csumb.listBooks(), stats.getTotalCopies());
+        assertEquals(9, stats.getTotalCopies());
+        assertEquals(4, stats.getDistinctTitles());
+        assertEquals(5, stats.getSubjectCopies("sci-fi"));
+        assertEquals(3, stats.getSubjectCopies("education"));
+        assertEquals(0, stats.getSubjectCopies("Romance"));
+
+        // Every reader checked out a copy of Hitchhikers.
+        assertEquals(4, stats.getCopiesOnLoan());
+        int onShelf = 0;
+        for (Shelf shelf : csumb.getShelves().values()) {
+            onShelf += shelf.getTotalBookCount();
+        }
+        assertEquals(onShelf, stats.getCopiesOnShelf());
+    }
+
+    @Test
+    void checkOutAndReturn() {
+        InventoryStats stats = csumb.getInventoryStats();
+        int onShelf = stats.getCopiesOnShelf();
+        int onLoan = stats.getCopiesOnLoan();
+
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+        assertEquals(onShelf - 1, stats.getCopiesOnShelf());
+        assertEquals(onLoan + 1, stats.getCopiesOnLoan());
+
+        assertEquals(Code.SUCCESS, csumb.returnBook(jennifer, duneBook));
+        assertEquals(onShelf, stats.getCopiesOnShelf());
+        assertEquals(onLoan, stats.getCopiesOnLoan());
+    }
+
+    @Test
+    void addBook() {
+        InventoryStats stats = csumb.getInventoryStats();
+        csumb.addBook(romanceBook);
+        csumb.addBook(romanceBook);
+        assertEquals(11, stats.getTotalCopies());
+        assertEquals(5, stats.getDistinctTitles());
+        assertEquals(2, stats.getSubjectCopies("Romance"));
+    }
+
+    @Test
+    void setBooks_rebuilds() {
+        InventoryStats stats = csumb.getInventoryStats();
+        csumb.setBooks(new HashMap<>());
+        assertEquals(0, stats.getTotalCopies());
+        assertEquals(0, stats.getDistinctTitles());
+        assertTrue(stats.getSubjectCopies().isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify packing ISBNs into keys.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class IsbnTest {
+
+    @Test
+    void pack_isbn13() {
+        long key = Isbn.pack("9780306406157");
+        assertTrue(Isbn.isValid(key));
+        assertEquals("9780306406157", Isbn.unpack(key));
+
+        // Wrong check digit isn't a valid ISBN-13.
+        long badKey = Isbn.pack("9780306406158");
+        assertFalse(Isbn.isValid(badKey));
+        assertEquals(Isbn.NONE, badKey);
+    }
+
+    @Test
+    void pack_hyphenated() {
+        assertEquals(Isbn.pack("9780306406157"), Isbn.pack("978-0-306-40615-7"));
+        assertEquals(Isbn.pack("0306406152"), Isbn.pack("0 306 40615 2"));
+        assertEquals("9780306406157", Isbn.unpack(Isbn.pack("978-0-306-40615-7")));
+    }
+
+    @Test
+    void pack_isbn10() {
+        long key = Isbn.pack("0306406152");
+        assertTrue(Isbn.isValid(key));
+        assertEquals("0306406152", Isbn.unpack(key));
+
+        long xKey = Isbn.pack("080442957X");
+        assertTrue(Isbn.isValid(xKey));
+        assertEquals("080442957X", Isbn.unpack(xKey));
+
+        // Same digits as an ISBN-13 prefix never share a key.
+        assertNotEquals(key, Isbn.pack("0000306406152"));
+    }
+
+    @Test
+    void pack_legacy() {
+        assertEquals(Isbn.NONE, Isbn.pack("42-w-87"));
+        assertEquals(Isbn.NONE, Isbn.pack(null));
+        assertNull(Isbn.unpack(Isbn.NONE));
+    }
+
+    @Test
+    void normalize() {
+        String isbn = "9780306406157";
+        assertSame(isbn, Isbn.normalize(isbn));                         //already normalized, nothing copied
+        assertEquals(isbn, Isbn.normalize("978-0-306-40615-7"));
+        assertEquals("080442957X", Isbn.normalize("0-8044-2957-X"));
+        assertEquals("42-w-87", Isbn.normalize("42-w-87"));              //other codes keep their hyphens
+        assertEquals("978-0-306-40615-8", Isbn.normalize("978-0-306-40615-8"));
+        assertNull(Isbn.normalize(null));
+    }
+
+    @Test
+    void normalizePrefix() {
+        assertEquals("9780306", Isbn.normalizePrefix("978-0-306"));
+        assertEquals("080442957X", Isbn.normalizePrefix("0 8044 2957 X"));
+        assertEquals("42-w", Isbn.normalizePrefix("42-w"));
+        assertEquals("", Isbn.normalizePrefix(""));
+    }
+
+    @Test
+    void book_usesKey() {
+        Book dune = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+        Book otherDune = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(2020, 1, 1));
+        assertEquals(Isbn.NONE, dune.getIsbnKey());
+        assertEquals("34-w-34", dune.getISBN());
+        assertEquals(dune, otherDune);
+        assertEquals(dune.hashCode(), otherDune.hashCode());
+        assertNotEquals(dune, new Book("42-w-87", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1)));
+
+        // Valid ISBNs are kept only as keys, and the same ISBN with hyphens is the same book.
+        otherDune.setISBN("9780441013593");
+        assertNotEquals(dune, otherDune);
+        assertEquals(Isbn.pack("9780441013593"), otherDune.getIsbnKey());
+        dune.setISBN("978-0-441-01359-3");
+        assertEquals(dune, otherDune);
+        assertEquals(dune.hashCode(), otherDune.hashCode());
+        assertEquals("9780441013593", dune.getISBN());
+        assertTrue(dune.hasISBN("978-0441013593", Isbn.pack("978-0441013593")));
+    }
+}
@@ -0,0 +1,134 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify lending policies are loaded and enforced per reader tier.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class LendingPolicyTest {
+
+    Library csumb = null;
+
+    // Card numbers registered by a test are reset so they don't reach other tests' libraries.
+    int libraryCard = Library.getLibraryCard();
+
+    String library00 = "Library00.csv";
+    String lendingPolicies = "LendingPolicies.csv";
+
+    // "Headfirst Java" book
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+        Library.setLibraryCard(libraryCard);
+    }
+
+    @Test
+    void defaultPolicies() {
+        for (ReaderTier tier : ReaderTier.values()) {
+            LendingPolicy policy = csumb.getLendingPolicy(tier);
+            assertEquals(Library.LENDING_LIMIT, policy.getLendingLimit());
+            assertEquals(LendingPolicy.NO_OVERDUE_LIMIT, policy.getMaxOverdue());
+        }
+    }
+
+    @Test
+    void initPolicies() {
+        assertEquals(Code.FILE_NOT_FOUND_ERROR, csumb.initPolicies("nope.csv"));
+        // Not a policy file, first line count is fine but lines aren't policies.
+        assertEquals(Code.LENDING_POLICY_ERROR, csumb.initPolicies(library00));
+        assertEquals(Library.LENDING_LIMIT, csumb.getLendingPolicy(ReaderTier.FACULTY).getLendingLimit());
+
+        assertEquals(Code.SUCCESS, csumb.initPolicies(lendingPolicies));
+        LendingPolicy faculty = csumb.getLendingPolicy(ReaderTier.FACULTY);
+        assertEquals(25, faculty.getLendingLimit());
+        assertEquals(60, faculty.getLoanPeriod());
+        assertEquals(3, faculty.getMaxOverdue());
+        assertEquals(10, faculty.getSubjectLimit("education"));
+        assertEquals(-1, faculty.getSubjectLimit("sci-fi"));
+    }
+
+    @Test
+    void checkOutBook_overdueLimit() {
+        csumb.initPolicies(lendingPolicies);
+
+        // Drew's book was due in 2020 and students can't have any overdue books.
+        Reader drew = csumb.getReaderByCard(1);
+        assertEquals(Code.READER_OVERDUE_ERROR, csumb.checkOutBook(drew, duneBook));
+
+        // Faculty can have up to 3 overdue books.
+        drew.setTier(ReaderTier.FACULTY);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, duneBook));
+    }
+
+    @Test
+    void checkOutBook_loanPeriod() {
+        csumb.initPolicies(lendingPolicies);
+        Reader ada = new Reader(5, "Ada Lovelace", "555-555-1815");
+        csumb.addReader(ada);
+
+        // Loans are due after the policy's loan period, so a new student's books aren't overdue.
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(ada, duneBook));
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(ada, headfirstBook));
+        assertEquals(LocalDate.now().plusDays(14).toEpochDay(), ada.getDueEpochDay(duneBook));
+
+        Reader drew = csumb.getReaderByCard(1);
+        drew.setTier(ReaderTier.FACULTY);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, headfirstBook));
+        assertEquals(LocalDate.now().plusDays(60).toEpochDay(), drew.getDueEpochDay(headfirstBook));
+    }
+
+    @Test
+    void checkOutBook_subjectLimit() {
+        LendingPolicy student = new LendingPolicy(ReaderTier.STUDENT, 5, 14, LendingPolicy.NO_OVERDUE_LIMIT);
+        student.setSubjectLimit("sci-fi", 1);
+        csumb.setLendingPolicy(student);
+
+        // Jennifer already has a sci-fi book.
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.BOOK_LIMIT_REACHED_ERROR, csumb.checkOutBook(jennifer, duneBook));
+
+        // Other subjects are only limited by the lending limit.
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, headfirstBook));
+    }
+
+    @Test
+    void checkOutBook_tierLimit() {
+        csumb.setLendingPolicy(new LendingPolicy(ReaderTier.STUDENT, 0, 14, LendingPolicy.NO_OVERDUE_LIMIT));
+        Reader jennifer = csumb.getReaderByCard(2);
+        assertEquals(Code.BOOK_LIMIT_REACHED_ERROR, csumb.checkOutBook(jennifer, duneBook));
+
+        jennifer.setTier(ReaderTier.INSTITUTIONAL);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(jennifer, duneBook));
+    }
+
+    @Test
+    void fromFields() {
+        LendingPolicy policy = LendingPolicy.fromFields("Institutional,100,90,-1,sci-fi,20".split(","));
+        assertNotNull(policy);
+        assertEquals(ReaderTier.INSTITUTIONAL, policy.getTier());
+        assertEquals(20, policy.getSubjectLimit("sci-fi"));
+
+        assertNull(LendingPolicy.fromFields("alumni,5,14,0".split(",")));
+        assertNull(LendingPolicy.fromFields("student,five,14,0".split(",")));
+        assertNull(LendingPolicy.fromFields("student,5,14,0,sci-fi".split(",")));
+        assertNull(LendingPolicy.fromFields("student,5,14".split(",")));
+    }
+}
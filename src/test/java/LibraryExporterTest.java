@@ -0,0 +1,79 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify exporting a library back to its CSV format.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class LibraryExporterTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    Path exportFile = null;
+    Path reexportFile = null;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+        exportFile = Files.createTempFile("library", ".csv");
+        reexportFile = Files.createTempFile("library", ".csv");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        csumb = null;
+        Files.deleteIfExists(exportFile);
+        Files.deleteIfExists(reexportFile);
+    }
+
+    @Test
+    void export_writesInitFormat() throws IOException {
+        assertEquals(Code.SUCCESS, LibraryExporter.export(csumb, exportFile.toString()));
+
+        List<String> lines = Files.readAllLines(exportFile);
+        assertEquals("9", lines.get(0));
+        assertEquals("3", lines.get(10));
+        assertEquals("1,sci-fi", lines.get(11));
+        assertEquals("2,education", lines.get(12));
+        assertEquals("3,Adventure", lines.get(13));
+        assertEquals("4", lines.get(14));
+        assertTrue(lines.get(16).startsWith("2,Jennifer Clinkenbeard,831-555-6284,1,42-w-87,"));
+        assertEquals(19, lines.size());
+    }
+
+    @Test
+    void export_roundTrip() throws IOException {
+        assertEquals(Code.SUCCESS, LibraryExporter.export(csumb, exportFile.toString()));
+
+        Library copy = new Library("copy");
+        assertEquals(Code.SUCCESS, copy.init(exportFile.toString()));
+        assertEquals(csumb.getBooks(), copy.getBooks());
+        assertEquals(csumb.getShelves().keySet(), copy.getShelves().keySet());
+        assertEquals(csumb.getReaders(), copy.getReaders());
+        for (Reader reader : csumb.getReaders()) {
+            assertEquals(reader.getBooks(), copy.getReaderByCard(reader.getCardNumber()).getBooks());
+        }
+
+        // Exporting the imported copy writes the same file again.
+        assertEquals(Code.SUCCESS, LibraryExporter.export(copy, reexportFile.toString()));
+        assertEquals(Files.readAllLines(exportFile), Files.readAllLines(reexportFile));
+    }
+
+    @Test
+    void export_badPath() {
+        assertEquals(Code.FILE_NOT_FOUND_ERROR, LibraryExporter.export(csumb, "no/such/dir/library.csv"));
+    }
+}
@@ -0,0 +1,119 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify multi-branch card allocation and lookups.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class LibraryFederationTest {
+
+    LibraryFederation federation = null;
+    Library csumb = null;
+    Library monterey = null;
+
+    String library00 = "Library00.csv";
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+        monterey = new Library("Monterey");
+        monterey.addShelf("sci-fi");
+
+        federation = new LibraryFederation();
+        federation.addBranch("CSUMB", csumb);
+        federation.addBranch("Monterey", monterey);
+    }
+
+    @AfterEach
+    void tearDown() {
+        federation = null;
+        csumb = null;
+        monterey = null;
+    }
+
+    @Test
+    void addBranch() {
+        assertEquals(Code.LIBRARY_ERROR, federation.addBranch("CSUMB", new Library("CSUMB")));
+        assertEquals(Arrays.asList("CSUMB", "Monterey"), federation.getBranchNames());
+        assertSame(monterey, federation.getBranch("Monterey"));
+        assertNull(federation.getBranch("Salinas"));
+    }
+
+    @Test
+    void nextCardNumber() {
+        assertEquals(LibraryFederation.CARDS_PER_BRANCH + 1, federation.nextCardNumber("CSUMB"));
+        assertEquals(LibraryFederation.CARDS_PER_BRANCH + 2, federation.nextCardNumber("CSUMB"));
+        assertEquals(2 * LibraryFederation.CARDS_PER_BRANCH + 1, federation.nextCardNumber("Monterey"));
+        assertEquals(-1, federation.nextCardNumber("Salinas"));
+    }
+
+    @Test
+    void registerReader() {
+        int libraryCard = Library.getLibraryCard();
+        Reader reader = federation.registerReader("Monterey", "Ada Lovelace", "831-555-1815");
+        assertNotNull(reader);
+
+        // Federation cards stay in the branch's block and don't reach the allocator shared by other libraries.
+        assertEquals(libraryCard, Library.getLibraryCard());
+        assertEquals("Monterey", federation.getHomeBranch(monterey.issueLibraryCard()));
+
+        // Registering a reader doesn't throw away the rest of the branch's block.
+        Reader next = federation.registerReader("Monterey", "Grace Hopper", "831-555-1906");
+        assertEquals(reader.getCardNumber() + 2, next.getCardNumber());
+        assertSame(reader, monterey.getReaderByCard(reader.getCardNumber()));
+        assertSame(reader, federation.findReader(reader.getCardNumber()));
+        assertEquals("Monterey", federation.getHomeBranch(reader.getCardNumber()));
+
+        // Readers loaded before the branch joined are in the directory too.
+        assertEquals("Jennifer Clinkenbeard", federation.findReader(2).getName());
+        assertNull(federation.getHomeBranch(2));
+    }
+
+    @Test
+    void branchesWithAvailable() {
+        assertEquals(Collections.singletonList("CSUMB"), federation.branchesWithAvailable("34-w-34"));
+
+        monterey.addBook(duneBook);
+        assertEquals(Arrays.asList("CSUMB", "Monterey"), federation.branchesWithAvailable("34-w-34"));
+        assertEquals(1, (int) federation.availableCopies("34-w-34").get("Monterey"));
+
+        assertTrue(federation.branchesWithAvailable("no-such-isbn").isEmpty());
+
+        // Valid ISBNs are found however they are written.
+        Book isbnBook = new Book("9780306406157", "Signals", "sci-fi", 100, "Author", LocalDate.of(1970, 1, 1));
+        monterey.addBook(isbnBook);
+        assertEquals(Collections.singletonList("Monterey"), federation.branchesWithAvailable("978-0-306-40615-7"));
+        assertEquals(1, (int) federation.availableCopies("978-0-306-40615-7").get("Monterey"));
+    }
+
+    @Test
+    void branchesWithAvailable_parallel() {
+        for (int i = 0; i < 20; i++) {
+            Library branch = new Library("Branch " + i);
+            branch.addShelf("sci-fi");
+            if (i % 2 == 0) {
+                branch.addBook(duneBook);
+            }
+            federation.addBranch("Branch " + i, branch);
+        }
+
+        List<String> available = federation.branchesWithAvailable("34-w-34");
+        assertEquals(11, available.size());
+        assertEquals("CSUMB", available.get(0));
+        assertEquals("Branch 18", available.get(10));
+    }
+}
@@ -0,0 +1,100 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify operation counts, result codes, and latency histograms.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class LibraryMetricsTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // Romance book (Romance shelf doesn't exist)
+    Book romanceBook = new Book("4eva", "The Journal", "Romance", 143, "Nicholas Jolts", LocalDate.of(2007, 2, 14));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void record_initAndOperations() {
+        assertEquals(Code.SUCCESS, csumb.init(library00));
+        LibraryMetrics metrics = csumb.getMetrics();
+
+        // init adds 4 distinct books (9 copies) and checks out books for each reader.
+        assertEquals(1, metrics.getInitCount());
+        assertEquals(4, metrics.getAddBookCount());
+        assertTrue(metrics.getCheckOutCount() > 0);
+
+        long addBookErrors = metrics.getCount(Code.SHELF_EXISTS_ERROR);
+        assertEquals(Code.SHELF_EXISTS_ERROR, csumb.addBook(romanceBook));
+        assertEquals(addBookErrors + 1, metrics.getCount(Code.SHELF_EXISTS_ERROR));
+        assertEquals(addBookErrors + 1, (long) metrics.getCodeCounts().get("SHELF_EXISTS_ERROR"));
+
+        Reader drew = csumb.getReaderByCard(1);
+        assertEquals(Code.READER_DOESNT_HAVE_BOOK_ERROR, csumb.returnBook(drew, romanceBook));
+        assertEquals(1, metrics.getReturnCount());
+        assertEquals(1, metrics.getCount(Code.READER_DOESNT_HAVE_BOOK_ERROR));
+
+        metrics.reset();
+        assertEquals(0, metrics.getInitCount());
+        assertTrue(metrics.getCodeCounts().isEmpty());
+    }
+
+    @Test
+    void registerMBean() {
+        LibraryMetrics metrics = csumb.getMetrics();
+        assertEquals(Code.SUCCESS, metrics.registerMBean("metrics-test"));
+
+        // Name is already taken.
+        assertEquals(Code.LIBRARY_ERROR, new LibraryMetrics().registerMBean("metrics-test"));
+
+        assertEquals(Code.SUCCESS, metrics.unregisterMBean("metrics-test"));
+        assertEquals(Code.LIBRARY_ERROR, metrics.unregisterMBean("metrics-test"));
+    }
+
+    @Test
+    void latencyHistogram_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+
+        // Percentiles are within 12.5% of the exact value.
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.125, "p50 was " + p50);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 was " + p99);
+    }
+
+    @Test
+    void latencyHistogram_buckets() {
+        // Every bucket's highest value maps back to the same bucket, and the next value to the next bucket.
+        for (int i = 0; i < 487; i++) {
+            long highest = LatencyHistogram.highestValueInBucket(i);
+            assertEquals(i, LatencyHistogram.bucketIndex(highest));
+            assertEquals(i + 1, LatencyHistogram.bucketIndex(highest + 1));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueInBucket(487));
+    }
+}
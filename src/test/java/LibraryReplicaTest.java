@@ -0,0 +1,202 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify read replicas kept up to date from a primary library's events.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class LibraryReplicaTest {
+
+    Library csumb = null;
+
+    // Card numbers registered by a test are reset so they don't reach other tests' libraries.
+    int libraryCard = Library.getLibraryCard();
+    EventLog eventLog = null;
+    LibraryReplica replica = null;
+
+    String library00 = "Library00.csv";
+
+    // Books from Library00.csv
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        eventLog = new EventLog(OutputStream.nullOutputStream());
+        csumb.setEventLog(eventLog);
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (replica != null) {
+            replica.close();
+        }
+        csumb = null;
+        eventLog = null;
+        replica = null;
+        Library.setLibraryCard(libraryCard);
+    }
+
+    void assertCaughtUp() throws InterruptedException {
+        assertTrue(replica.awaitSequence(eventLog.getSequence(), 5000));
+        Library follower = replica.getLibrary();
+        CatalogSnapshot expected = csumb.getSnapshot();
+        CatalogSnapshot actual = follower.getSnapshot();
+        assertEquals(expected.getBooks(), actual.getBooks());
+        assertEquals(expected.getShelves(), actual.getShelves());
+        assertEquals(csumb.getReaders(), follower.getReaders());
+        for (Reader reader : csumb.getReaders()) {
+            assertEquals(reader.getBooks(), follower.getReaderByCard(reader.getCardNumber()).getBooks());
+        }
+    }
+
+    @Test
+    void connect() throws InterruptedException {
+        replica = LibraryReplica.connect(csumb, "CSUMB replica");
+        assertNotNull(replica);
+        assertEquals(1, eventLog.getFollowerCount());
+
+        // State before connecting arrives in the snapshot, and later commands as events.
+        Reader drew = csumb.getReaderByCard(1);
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, duneBook));
+        assertEquals(Code.SUCCESS, csumb.addReader(new Reader(5, "Ada Lovelace", "555-555-1815")));
+        assertEquals(Code.SUCCESS, csumb.returnBook(drew, duneBook));
+
+        assertCaughtUp();
+        assertEquals(0, replica.getLag());
+        assertEquals(1, replica.getLibrary().searchBooks("dune").size());
+        assertEquals(1, replica.getLibrary().getAvailableCopies("34-w-34"));
+    }
+
+    @Test
+    void connect_policiesAndCards() throws InterruptedException {
+        assertEquals(Code.SUCCESS, csumb.initPolicies("LendingPolicies.csv"));
+        replica = LibraryReplica.connect(csumb, "CSUMB replica");
+        Library follower = replica.getLibrary();
+
+        // The replica keeps the primary's card numbers in its own allocator.
+        assertNotSame(csumb.getCardAllocator(), follower.getCardAllocator());
+        assertEquals(Code.SUCCESS, csumb.addReader(new Reader(500, "Ada Lovelace", "555-555-1815")));
+
+        // Policies arrive in the snapshot, and later changes as events.
+        LendingPolicy student = new LendingPolicy(ReaderTier.STUDENT, 2, 7, 0);
+        csumb.setLendingPolicy(student);
+        assertCaughtUp();
+        assertEquals(500, follower.getCardAllocator().getHighWaterMark());
+        assertEquals(25, follower.getLendingPolicy(ReaderTier.FACULTY).getLendingLimit());
+        assertEquals(10, follower.getLendingPolicy(ReaderTier.FACULTY).getSubjectLimit("education"));
+        assertEquals(7, follower.getLendingPolicy(ReaderTier.STUDENT).getLoanPeriod());
+    }
+
+    @Test
+    void connect_manyEvents() throws InterruptedException {
+        replica = LibraryReplica.connect(csumb, "CSUMB replica");
+        Reader drew = csumb.getReaderByCard(1);
+        for (int i = 0; i < 2000; i++) {
+            csumb.checkOutBook(drew, headfirstBook);
+            csumb.returnBook(drew, headfirstBook);
+        }
+        assertCaughtUp();
+        assertEquals(eventLog.getSequence(), replica.getAppliedSequence());
+    }
+
+    @Test
+    void serve_socket() throws IOException, InterruptedException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(0, 1, loopback);
+             Socket client = new Socket(loopback, server.getLocalPort());
+             Socket accepted = server.accept()) {
+            assertEquals(Code.SUCCESS, LibraryReplica.serve(csumb, accepted.getOutputStream()));
+            replica = new LibraryReplica(new Library("Socket replica", new CardNumberAllocator()), client.getInputStream());
+            replica.start();
+
+            assertEquals(Code.SUCCESS, csumb.placeHold(csumb.getReaderByCard(2), headfirstBook));
+            assertCaughtUp();
+            assertEquals(1, replica.getLibrary().getHoldCount(headfirstBook));
+            assertEquals(0, replica.getLag(eventLog.getSequence()));
+        }
+    }
+
+    @Test
+    void getLag() {
+        replica = new LibraryReplica(new Library("Unconnected"), new ByteArrayInputStream(new byte[0]));
+        assertEquals(-1, replica.getLag());
+        assertEquals(15, replica.getLag(15));
+    }
+
+    @Test
+    void close_dropsFollower() throws IOException, InterruptedException {
+        replica = LibraryReplica.connect(csumb, "CSUMB replica");
+        assertTrue(replica.awaitSequence(eventLog.getSequence(), 5000));
+        replica.close();
+        assertFalse(replica.awaitSequence(eventLog.getSequence() + 1, 5000));
+        assertFalse(replica.isConnected());
+
+        // The primary keeps working and stops sending to the closed replica.
+        assertEquals(Code.SUCCESS, csumb.checkOutBook(csumb.getReaderByCard(1), duneBook));
+        assertTrue(awaitFollowerCount(0));
+    }
+
+    @Test
+    void serve_stalledReplicaDropped() throws InterruptedException {
+        // A replica that stops reading must not hold up the primary's commands.
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream stalled = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        assertEquals(Code.SUCCESS, LibraryReplica.serve(csumb, stalled));
+        assertEquals(1, eventLog.getFollowerCount());
+
+        // The sender buffers some frames before it blocks, so log twice as many events as the queue holds.
+        Reader drew = csumb.getReaderByCard(1);
+        for (int i = 0; i < EventLog.FOLLOWER_QUEUE_CAPACITY; i++) {
+            assertEquals(Code.SUCCESS, csumb.checkOutBook(drew, headfirstBook));
+            assertEquals(Code.SUCCESS, csumb.returnBook(drew, headfirstBook));
+        }
+        assertEquals(0, eventLog.getFollowerCount());
+        release.countDown();
+    }
+
+    boolean awaitFollowerCount(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (eventLog.getFollowerCount() != count) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @Test
+    void serve_withoutEventLog() {
+        Library monterey = new Library("Monterey");
+        assertEquals(Code.LIBRARY_ERROR, LibraryReplica.serve(monterey, new ByteArrayOutputStream()));
+        assertNull(LibraryReplica.connect(monterey, "Monterey replica"));
+    }
+}
@@ -3,6 +3,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,6 +18,9 @@ class LibraryTest {
 
     Library csumb = null;
 
+    // Card numbers registered by a test are reset so they don't reach other tests' libraries.
+    int libraryCard = Library.getLibraryCard();
+
     String library00 = "Library00.csv";
     String library01 = "Library01.csv";
     String badBooks0 = "badBooks0.csv";
@@ -58,6 +62,7 @@ class LibraryTest {
     @AfterEach
     void tearDown() {
         csumb = null;
+        Library.setLibraryCard(libraryCard);
     }
 
     @Test
@@ -91,6 +96,24 @@ class LibraryTest {
         assertEquals(Code.SHELF_EXISTS_ERROR, csumb.addBook(romanceBook));
     }
 
+    @Test
+    void addBooks() {
+        csumb.init(library00);
+
+        // New book gets all copies in the stacks and one on the shelf.
+        assertEquals(Code.SUCCESS, csumb.addBooks(sciFiBook, 50));
+        assertEquals(50, (int) csumb.getBooks().get(sciFiBook));
+        assertEquals(1, csumb.getShelf("sci-fi").getBookCount(sciFiBook));
+
+        // Existing book only increases the count in the stacks.
+        assertEquals(Code.SUCCESS, csumb.addBooks(hitchhikersBook, 10));
+        assertEquals(14, (int) csumb.getBooks().get(hitchhikersBook));
+        assertEquals(9 + 50 + 10, csumb.getInventoryStats().getTotalCopies());
+
+        assertEquals(Code.BOOK_RECORD_COUNT_ERROR, csumb.addBooks(duneBook, 0));
+        assertEquals(Code.SHELF_EXISTS_ERROR, csumb.addBooks(romanceBook, 3));
+    }
+
     @Test
     void returnBook() {
         // Creates sci-fi shelf.
@@ -182,6 +205,34 @@ class LibraryTest {
 
         // Book doesn't exist in library.
         assertNull(csumb.getBookByISBN("0000"));
+
+        // Valid ISBNs are found with or without hyphens.
+        Book foundation = new Book("9780553293357", "Foundation", "sci-fi", 255, "Isaac Asimov", LocalDate.of(1970, 1, 1));
+        assertEquals(Code.SUCCESS, csumb.addBook(foundation));
+        assertEquals(foundation, csumb.getBookByISBN("978-0-553-29335-7"));
+    }
+
+    @Test
+    void getBookByISBN_whileBooksChange() throws InterruptedException {
+        csumb.init(library00);
+
+        // Lookups that miss the cache search the books without the library's lock while titles come and go.
+        Thread changer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                Book book = new Book("new-" + i, "New Book " + i, "sci-fi", 100, "Anonymous", LocalDate.of(1970, 1, 1));
+                synchronized (csumb) {
+                    csumb.addBook(book);
+                    csumb.removeCopies(book, 1);
+                }
+            }
+        });
+        changer.start();
+        while (changer.isAlive()) {
+            assertNull(csumb.getBookByISBN("0000"));
+        }
+        changer.join();
+        assertEquals(hitchhikersBook, csumb.getBookByISBN("42-w-87"));
+        assertNull(csumb.getBookByISBN("new-0"));
     }
 
     @Test
@@ -359,6 +410,34 @@ class LibraryTest {
         assertEquals(date, Library.convertDate("2023-11-19", defaultCode));
     }
 
+    @Test
+    void convertEpochDay() {
+        assertEquals(0, Library.convertEpochDay("0000"));
+        assertEquals(0, Library.convertEpochDay("2020-01"));
+        assertEquals(LocalDate.of(2023, 11, 19).toEpochDay(), Library.convertEpochDay("2023-11-19"));
+        assertEquals(LocalDate.of(2020, 11, 1).toEpochDay(), Library.convertEpochDay("2020-11-1"));
+
+        // Dates before 1970, leap days, and the end of a century.
+        assertEquals(LocalDate.of(1592, 3, 14).toEpochDay(), Library.convertEpochDay("1592-03-14"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), Library.convertEpochDay("2024-02-29"));
+        assertEquals(LocalDate.of(2000, 12, 31).toEpochDay(), Library.convertEpochDay("2000-12-31"));
+
+        // Out of range values fail the same way LocalDate.of does.
+        assertThrows(DateTimeException.class, () -> Library.convertEpochDay("2023-02-29"));
+        assertThrows(DateTimeException.class, () -> Library.convertEpochDay("2023-13-01"));
+    }
+
+    @Test
+    void init_loanDueDates() {
+        csumb.init(library00);
+
+        // Each reader's loan of Hitchhikers keeps the due date from the file, and the shared Book isn't changed.
+        Book hitchhikers = csumb.getBookByISBN("42-w-87");
+        assertEquals(LocalDate.of(2020, 10, 12).toEpochDay(), csumb.getReaderByCard(1).getDueEpochDay(hitchhikers));
+        assertEquals(LocalDate.of(2019, 2, 18).toEpochDay(), csumb.getReaderByCard(4).getDueEpochDay(hitchhikers));
+        assertEquals(0, hitchhikers.getDueEpochDay());
+    }
+
     @Test
     void getLibraryCardNumber() {
         csumb.init(library00);
@@ -372,4 +451,28 @@ class LibraryTest {
         csumb.addReader(jordan);
         assertEquals(24, Library.getLibraryCardNumber());
     }
+
+    @Test
+    void issueLibraryCard() {
+        csumb = new Library("CSUMB", new CardNumberAllocator());
+        csumb.init(library00);
+
+        // Issued numbers are never handed to a reader already in the library.
+        int cardNumber = csumb.issueLibraryCard();
+        assertNull(csumb.getReaderByCard(cardNumber));
+        assertEquals(Code.SUCCESS, csumb.addReader(new Reader(cardNumber, "Jordan", "555-555-5555")));
+        assertNotEquals(cardNumber, csumb.issueLibraryCard());
+
+    }
+
+    @Test
+    void cardAllocator_perLibrary() {
+        int libraryCard = Library.getLibraryCard();
+        Library monterey = new Library("Monterey", new CardNumberAllocator());
+        assertEquals(Code.SUCCESS, monterey.addReader(new Reader(libraryCard + 100, "Jordan", "555-555-5555")));
+
+        // Libraries with their own allocator don't change the card numbers shared by other libraries.
+        assertEquals(libraryCard, Library.getLibraryCard());
+        assertEquals(libraryCard + 100, monterey.getCardAllocator().getHighWaterMark());
+    }
 }
\ No newline at end of file
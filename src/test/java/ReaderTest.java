@@ -141,7 +141,8 @@ class ReaderTest {
         read4.setBooks(books_);                   //assign books_ to read4
         read4.addBook(bookTest);                  //add a book to list
         assertNotEquals(books, read4.getBooks()); //has (0,1)
-        assertEquals(books_, read4.getBooks());   //has (1,1)
+        assertTrue(books_.isEmpty());             //the list is copied, so checkouts don't change it
+        assertEquals(List.of(bookTest), read4.getBooks());
     }
 
     //OTHER FUNCTIONS----------------------------------------------------------
@@ -179,4 +180,87 @@ class ReaderTest {
         reader.removeBook(bookTest);
         assert reader.getBookCount() == 0;
     }
-}
\ No newline at end of file
+
+    @Test
+    void removeBook_keepsOrder() {
+        Reader reader = new Reader(0, "", "");
+        Book book1 = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(2021, 2, 10));
+        Book book2 = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi", 42, "Douglas Adams", LocalDate.of(2021, 2, 10));
+        reader.addBook(book1);
+        reader.addBook(bookTest);
+        reader.addBook(book2);
+        assertEquals(reader.removeBook(bookTest), Code.SUCCESS);
+        assertFalse(reader.hasBook(bookTest));
+        assertEquals(List.of(book1, book2), reader.getBooks());     //checkout order is kept
+    }
+
+    @Test
+    void getDueEpochDay() {
+        Reader reader = new Reader(0, "", "");
+        assertEquals(Book.NO_DUE_DATE, reader.getDueEpochDay(bookTest));
+        reader.addBook(bookTest, 100);
+        assertEquals(100, reader.getDueEpochDay(bookTest));
+        assertEquals(100, (int) reader.getLoans().get(bookTest));
+        assertNotEquals(100, bookTest.getDueEpochDay());               //due date belongs to the loan, not the book
+        reader.removeBook(bookTest);
+        assertEquals(Book.NO_DUE_DATE, reader.getDueEpochDay(bookTest));
+    }
+
+    @Test
+    void getBooks_unmodifiable() {
+        Reader reader = new Reader(0, "", "");
+        reader.addBook(bookTest);
+        assertThrows(UnsupportedOperationException.class, () -> reader.getBooks().clear());
+        assertTrue(reader.hasBook(bookTest));                       //loans only change through addBook and removeBook
+        List<Book> books_ = new ArrayList<>();
+        reader.setBooks(books_);
+        books_.add(bookTest);                                       //changing the set list doesn't check out the book
+        assertFalse(reader.hasBook(bookTest));
+    }
+
+    @Test
+    void addBook_manyLoans() {
+        Reader reader = new Reader(0, "", "");
+        List<Book> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book("isbn" + i, "Title " + i, "sci-fi", 10, "Author", LocalDate.of(1970, 1, 1));
+            assertEquals(Code.SUCCESS, reader.addBook(book, i));
+            expected.add(book);
+            if (i % 3 == 0) {
+                assertEquals(Code.SUCCESS, reader.removeBook(book));  //returns leave gaps that are closed later
+                expected.remove(book);
+            }
+        }
+        assertEquals(expected, reader.getBooks());                      //still in checkout order
+        assertEquals(expected.size(), reader.getBookCount());
+        assertTrue(reader.hasBooks());
+        assertEquals(Code.BOOK_ALREADY_CHECKED_OUT_ERROR, reader.addBook(expected.get(0), 0));
+        assertEquals(1, reader.getDueEpochDay(expected.get(0)));
+
+        for (Book book : expected) {
+            assertEquals(Code.SUCCESS, reader.removeBook(book));
+        }
+        assertFalse(reader.hasBooks());
+        assertEquals(Code.READER_DOESNT_HAVE_BOOK_ERROR, reader.removeBook(expected.get(0)));
+    }
+
+    @Test
+    void getSubjectAndOverdueCount() {
+        Reader reader = new Reader(0, "", "");
+        Book dune = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+        Book headfirst = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+        reader.addBook(bookTest, 10);
+        reader.addBook(dune, 20);
+        reader.addBook(headfirst, Book.NO_DUE_DATE);
+
+        assertEquals(1, reader.getSubjectCount("education"));
+        assertEquals(0, reader.getSubjectCount("Romance"));
+        assertEquals(1, reader.getOverdueCount(15));                    //loans without a due date are never overdue
+        assertEquals(2, reader.getOverdueCount(25));
+
+        reader.removeBook(headfirst);
+        assertEquals(0, reader.getSubjectCount("education"));
+        reader.removeBook(bookTest);
+        assertEquals(1, reader.getOverdueCount(25));
+    }
+}
@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify title and author searches.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class SearchIndexTest {
+
+    Library csumb = null;
+
+    String library00 = "Library00.csv";
+
+    // "Hitchhikers Guide To the Galaxy" book
+    Book hitchhikersBook = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi", 42, "Douglas Adams", LocalDate.of(1970, 1, 1));
+
+    // "Dune" book
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+    }
+
+    @Test
+    void searchBooks_singleWord() {
+        List<Book> results = csumb.searchBooks("Dune");
+        assertEquals(1, results.size());
+        assertEquals(duneBook, results.get(0));
+
+        // Author words are searchable and case doesn't matter.
+        assertEquals(hitchhikersBook, csumb.searchBooks("ADAMS").get(0));
+    }
+
+    @Test
+    void searchBooks_prefixAndMultipleWords() {
+        // Prefixes match whole words.
+        assertEquals(hitchhikersBook, csumb.searchBooks("hitch").get(0));
+
+        // Every word must match.
+        assertEquals(1, csumb.searchBooks("gal doug").size());
+        assertTrue(csumb.searchBooks("galaxy herbert").isEmpty());
+    }
+
+    @Test
+    void searchBooks_noMatch() {
+        assertTrue(csumb.searchBooks("romance").isEmpty());
+        assertTrue(csumb.searchBooks("").isEmpty());
+        assertTrue(csumb.searchBooks("   ,  ").isEmpty());
+    }
+
+    @Test
+    void searchBooks_afterAddBook() {
+        Book romanceBook = new Book("4eva", "The Journal", "Romance", 143, "Nicholas Jolts", LocalDate.of(2007, 2, 14));
+        assertTrue(csumb.searchBooks("journal").isEmpty());
+
+        // Index is updated even when there's no shelf for the book.
+        csumb.addBook(romanceBook);
+        assertEquals(romanceBook, csumb.searchBooks("journal jolts").get(0));
+    }
+
+    @Test
+    void searchBooks_libraryLocked() throws InterruptedException {
+        int[] results = new int[2];
+        Thread reader = new Thread(() -> {
+            results[0] = csumb.searchBooks("dune").size();
+            results[1] = csumb.getAvailableCopies("34-w-34");
+        });
+        synchronized (csumb) {
+            // Searches and availability lookups don't wait for the library's lock.
+            reader.start();
+            reader.join(5000);
+            assertFalse(reader.isAlive());
+        }
+        assertEquals(1, results[0]);
+        assertEquals(1, results[1]);
+    }
+
+    @Test
+    void tokenize() {
+        assertEquals(List.of("count", "of", "monte", "cristo"), SearchIndex.tokenize("Count of Monte-Cristo"));
+        assertTrue(SearchIndex.tokenize(null).isEmpty());
+    }
+}
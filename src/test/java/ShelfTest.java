@@ -172,4 +172,58 @@ class ShelfTest {
         assertEquals(listBook.trim(), shelf.listBooks().trim());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void listBooks_updatesAfterChange() {
+        shelf.setSubject("sci-fi");
+        shelf.setShelfNumber(1);
+        shelf.addBook(book);
+        String listBook = shelf.listBooks();
+        assertSame(listBook, shelf.listBooks());                        //unchanged shelf reuses listing
+        shelf.addBook(book);
+        assertEquals("2 books on shelf: 1 : sci-fi\n" + book + " 2", shelf.listBooks().trim());
+        shelf.removeBook(book);
+        assertEquals(listBook, shelf.listBooks());
+        shelf.setShelfNumber(2);
+        assertTrue(shelf.listBooks().startsWith("1 book on shelf: 2 : sci-fi"));
+    }
+
+    @Test
+    void getTotalBookCount() {
+        shelf.setSubject("sci-fi");
+        assertEquals(0, shelf.getTotalBookCount());
+        shelf.addBook(book);
+        shelf.addBook(book);
+        assertEquals(2, shelf.getTotalBookCount());
+        shelf.removeBook(book);
+        assertEquals(1, shelf.getTotalBookCount());
+        HashMap<Book, Integer> books1 = new HashMap<>();
+        books1.put(book, 3);
+        books1.put(book1, 4);
+        shelf.setBooks(books1);
+        assertEquals(7, shelf.getTotalBookCount());
+    }
+
+    @Test
+    void addBooks() {
+        shelf.setSubject("sci-fi");
+        assertEquals(Code.SUCCESS, shelf.addBooks(book, 5));
+        assertEquals(5, shelf.getBookCount(book));
+        assertEquals(5, shelf.getTotalBookCount());
+        assertEquals(Code.SHELF_SUBJECT_MISMATCH_ERROR, shelf.addBooks(book1, 2));
+        assertEquals(Code.BOOK_RECORD_COUNT_ERROR, shelf.addBooks(book, 0));
+    }
+
+    @Test
+    void removeBooks() {
+        shelf.setSubject("sci-fi");
+        shelf.addBooks(book, 5);
+        assertEquals(Code.SUCCESS, shelf.removeBooks(book, 3));
+        assertEquals(2, shelf.getBookCount(book));
+
+        // Nothing is removed when there aren't enough copies.
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, shelf.removeBooks(book, 3));
+        assertEquals(2, shelf.getTotalBookCount());
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, shelf.removeBooks(book1, 1));
+    }
+}
@@ -0,0 +1,156 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify the bounded lookup cache and its admission policy.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class TinyLfuCacheTest {
+
+    TinyLfuCache<String, String> cache = null;
+
+    AtomicInteger loads = null;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TinyLfuCache<>(100);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache = null;
+        loads = null;
+    }
+
+    String load(String key) {
+        loads.incrementAndGet();
+        return key.startsWith("missing") ? null : "value " + key;
+    }
+
+    @Test
+    void get_hitsAndMisses() {
+        assertEquals("value a", cache.get("a", this::load));
+        assertEquals("value a", cache.get("a", this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+
+        // Missing values are not cached.
+        assertNull(cache.get("missing", this::load));
+        assertNull(cache.get("missing", this::load));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_boundedSize() {
+        for (int i = 0; i < 1000; i++) {
+            cache.get("key" + i, this::load);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictionCount());
+    }
+
+    @Test
+    void get_keepsPopularEntries() {
+        // Popular keys keep being requested while a long run of one-off keys passes through the cache.
+        for (int i = 0; i < 5000; i++) {
+            cache.get("hot" + (i % 50), this::load);
+            cache.get("cold" + i, this::load);
+        }
+
+        int loadsBefore = loads.get();
+        for (int i = 0; i < 50; i++) {
+            cache.get("hot" + i, this::load);
+        }
+        assertEquals(loadsBefore, loads.get());
+    }
+
+    @Test
+    void invalidate() {
+        cache.get("a", this::load);
+        cache.invalidate("a");
+        assertEquals(0, cache.size());
+        cache.get("a", this::load);
+        assertEquals(2, loads.get());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_loadsOutsideLock() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        Function<String, String> slowLoader = key -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                finishLoad.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "value " + key;
+        };
+        String[] results = new String[2];
+        Thread first = new Thread(() -> results[0] = cache.get("slow", slowLoader));
+        first.start();
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // Other keys are served while the slow key loads.
+        assertEquals("value a", cache.get("a", this::load));
+
+        // A second lookup of the slow key waits for the same load instead of loading again.
+        Thread second = new Thread(() -> results[1] = cache.get("slow", slowLoader));
+        second.start();
+        while (cache.getHitCount() == 0) {
+            Thread.sleep(1);
+        }
+        finishLoad.countDown();
+        first.join(5000);
+        second.join(5000);
+        assertEquals("value slow", results[0]);
+        assertEquals("value slow", results[1]);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_duringLoad() {
+        // A key invalidated while its value loads isn't cached with the old value.
+        assertEquals("value a", cache.get("a", key -> {
+            cache.invalidate(key);
+            return load(key);
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void library_getBookByISBN() {
+        Library csumb = new Library("CSUMB");
+        csumb.init("Library00.csv");
+        TinyLfuCache<String, Book> bookCache = csumb.getBookCache();
+        long hits = bookCache.getHitCount();
+
+        Book hitchhikers = csumb.getBookByISBN("42-w-87");
+        assertSame(hitchhikers, csumb.getBookByISBN("42-w-87"));
+        assertTrue(bookCache.getHitCount() > hits);
+
+        // Books the library doesn't hold can come from a catalog store.
+        Book sciFiBook = new Book("3-141592", "Intro to Pi", "sci-fi", 1234, "Archimedes of Syracuse", LocalDate.of(1592, 3, 14));
+        assertNull(csumb.getBookByISBN("3-141592"));
+        csumb.setCatalogStore(isbn -> isbn.equals("3-141592") ? sciFiBook : null);
+        assertSame(sciFiBook, csumb.getBookByISBN("3-141592"));
+    }
+}
@@ -0,0 +1,125 @@
+import Utilities.Code;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests to verify moving copies between libraries and rebalancing suggestions.
+ * @author Brian Yoon
+ * @since 2026-10-19
+ */
+class TransferEngineTest {
+
+    Library csumb = null;
+    Library monterey = null;
+
+    // Card numbers registered by a test are reset so they don't reach other tests' libraries.
+    int libraryCard = Library.getLibraryCard();
+
+    String library00 = "Library00.csv";
+
+    // Books from Library00.csv
+    Book headfirstBook = new Book("e1337", "Headfirst Java", "education", 1337, "Grady Booch", LocalDate.of(1970, 1, 1));
+    Book monteCristoBook = new Book("5297", "Count of Monte Cristo", "Adventure", 999, "Alexandre Dumas", LocalDate.of(1970, 1, 1));
+    Book duneBook = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", LocalDate.of(1970, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        csumb = new Library("CSUMB");
+        csumb.init(library00);
+        monterey = new Library("Monterey");
+        monterey.addShelf("education");
+        monterey.addShelf("sci-fi");
+    }
+
+    @AfterEach
+    void tearDown() {
+        csumb = null;
+        monterey = null;
+        Library.setLibraryCard(libraryCard);
+    }
+
+    @Test
+    void transfer() {
+        assertEquals(Code.SUCCESS, TransferEngine.transfer(csumb, monterey, headfirstBook, 2));
+
+        assertEquals(1, (int) csumb.getBooks().get(headfirstBook));
+        assertEquals(1, csumb.getShelvedCopies(headfirstBook));
+        assertEquals(1, csumb.getAvailableCopies("e1337"));
+        assertEquals(7, csumb.getInventoryStats().getTotalCopies());
+
+        assertEquals(2, (int) monterey.getBooks().get(headfirstBook));
+        assertEquals(2, monterey.getAvailableCopies("e1337"));
+        assertEquals(2, monterey.getInventoryStats().getCopiesOnShelf());
+        assertEquals(1, monterey.searchBooks("headfirst").size());
+    }
+
+    @Test
+    void transfer_failsWithoutChanges() {
+        assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, TransferEngine.transfer(csumb, monterey, headfirstBook, 4));
+        assertEquals(Code.SHELF_EXISTS_ERROR, TransferEngine.transfer(csumb, monterey, monteCristoBook, 1));
+        assertEquals(Code.BOOK_RECORD_COUNT_ERROR, TransferEngine.transfer(csumb, monterey, headfirstBook, 0));
+        assertEquals(Code.LIBRARY_ERROR, TransferEngine.transfer(csumb, csumb, headfirstBook, 1));
+
+        assertEquals(3, csumb.getShelvedCopies(headfirstBook));
+        assertEquals(1, csumb.getShelvedCopies(monteCristoBook));
+        assertEquals(9, csumb.getInventoryStats().getTotalCopies());
+        assertTrue(monterey.getBooks().isEmpty());
+    }
+
+    @Test
+    void transfer_lastCopy() {
+        assertEquals(Code.SUCCESS, TransferEngine.transfer(csumb, monterey, duneBook, 1));
+        assertNull(csumb.getBooks().get(duneBook));
+        assertEquals(-1, csumb.getAvailableCopies("34-w-34"));
+        assertTrue(csumb.searchBooks("dune").isEmpty());
+        assertEquals(3, csumb.getInventoryStats().getDistinctTitles());
+    }
+
+    @Test
+    void transfer_servesHolds() {
+        TransferEngine.transfer(csumb, monterey, headfirstBook, 1);
+        Reader ada = new Reader(900, "Ada Lovelace", "831-555-1815");
+        monterey.addReader(ada);
+        Reader alan = new Reader(901, "Alan Turing", "831-555-1912");
+        monterey.addReader(alan);
+        monterey.checkOutBook(ada, headfirstBook);
+        assertEquals(Code.SUCCESS, monterey.placeHold(alan, headfirstBook));
+
+        assertEquals(Code.SUCCESS, TransferEngine.transfer(csumb, monterey, headfirstBook, 2));
+        assertTrue(alan.hasBook(headfirstBook));
+        assertEquals(0, monterey.getHoldCount(headfirstBook));
+        assertEquals(1, monterey.getShelvedCopies(headfirstBook));
+    }
+
+    @Test
+    void suggestMoves() {
+        TransferEngine.transfer(csumb, monterey, headfirstBook, 1);
+        Reader ada = new Reader(900, "Ada Lovelace", "831-555-1815");
+        monterey.addReader(ada);
+        Reader alan = new Reader(901, "Alan Turing", "831-555-1912");
+        monterey.addReader(alan);
+        Reader grace = new Reader(902, "Grace Hopper", "831-555-1906");
+        monterey.addReader(grace);
+        monterey.checkOutBook(ada, headfirstBook);
+        monterey.placeHold(alan, headfirstBook);
+        monterey.placeHold(grace, headfirstBook);
+
+        // CSUMB has 2 copies on the shelf and keeps 1.
+        List<TransferEngine.Transfer> moves = TransferEngine.suggestMoves(Arrays.asList(csumb, monterey), headfirstBook);
+        assertEquals(1, moves.size());
+        assertSame(csumb, moves.get(0).getFrom());
+        assertSame(monterey, moves.get(0).getTo());
+        assertEquals(1, moves.get(0).getCopies());
+
+        assertEquals(Code.SUCCESS, TransferEngine.transferAll(moves));
+        assertTrue(alan.hasBook(headfirstBook));
+        assertEquals(1, monterey.getHoldCount(headfirstBook));
+    }
+}